@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files.bench;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.files.FileProxySlice;
+import com.artipie.files.Freshness;
+import com.artipie.files.RevalidatingCache;
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsFull;
+import com.artipie.http.rs.RsStatus;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link FileProxySlice} over local stub remote.
+ * <p>
+ * Hit requests are served from fresh cached file, miss requests load the
+ * file from remote and write it to cache every time.
+ * </p>
+ * @since 1.0
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileProxySliceBench {
+
+    /**
+     * File URI.
+     */
+    private static final String URI = "/bench/file.bin";
+
+    /**
+     * File size in bytes.
+     */
+    @Param({"1024", "1048576"})
+    public int size;
+
+    /**
+     * Client of proxy with fresh cache.
+     */
+    private SliceClient fresh;
+
+    /**
+     * Client of proxy which revalidates every request.
+     */
+    private SliceClient stale;
+
+    /**
+     * Create proxies and warm up the cache of hit proxy.
+     */
+    @Setup
+    public void setup() {
+        final byte[] data = new byte[this.size];
+        new Random(0).nextBytes(data);
+        final Slice remote = (line, headers, body) -> new RsFull(
+            RsStatus.OK,
+            new Headers.From("Content-Length", String.valueOf(data.length)),
+            new Content.From(data)
+        );
+        this.fresh = new SliceClient(
+            new FileProxySlice(
+                remote,
+                new RevalidatingCache(
+                    new InMemoryStorage(), new Freshness.MaxAge(Duration.ofDays(1))
+                )
+            )
+        );
+        this.fresh.send(RqMethod.GET, FileProxySliceBench.URI);
+        this.stale = new SliceClient(
+            new FileProxySlice(
+                remote,
+                new RevalidatingCache(new InMemoryStorage(), new Freshness.MaxAge(Duration.ZERO))
+            )
+        );
+    }
+
+    /**
+     * Download cached file.
+     * @return Bytes read
+     */
+    @Benchmark
+    public long hit() {
+        return this.fresh.send(RqMethod.GET, FileProxySliceBench.URI);
+    }
+
+    /**
+     * Download file from remote and cache it.
+     * @return Bytes read
+     */
+    @Benchmark
+    public long miss() {
+        return this.stale.send(RqMethod.GET, FileProxySliceBench.URI);
+    }
+}
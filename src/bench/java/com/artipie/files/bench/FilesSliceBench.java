@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files.bench;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.fs.FileStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.files.FilesSlice;
+import com.artipie.files.MappedFileStorage;
+import com.artipie.http.rq.RqMethod;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link FilesSlice} downloads.
+ * @since 1.0
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilesSliceBench {
+
+    /**
+     * File URI.
+     */
+    private static final String URI = "/bench/file.bin";
+
+    /**
+     * Storage type: in memory, file system or memory-mapped file system.
+     */
+    @Param({"memory", "file", "mapped"})
+    public String storage;
+
+    /**
+     * File size in bytes.
+     */
+    @Param({"1024", "1048576"})
+    public int size;
+
+    /**
+     * Temporary directory of file storage.
+     */
+    private Path dir;
+
+    /**
+     * Client of files slice.
+     */
+    private SliceClient client;
+
+    /**
+     * Create storage with the file.
+     * @throws IOException If fails
+     */
+    @Setup
+    public void setup() throws IOException {
+        final Storage asto;
+        if ("memory".equals(this.storage)) {
+            asto = new InMemoryStorage();
+        } else {
+            this.dir = Files.createTempDirectory("files-bench");
+            if ("mapped".equals(this.storage)) {
+                asto = new MappedFileStorage(this.dir);
+            } else {
+                asto = new FileStorage(this.dir);
+            }
+        }
+        final byte[] data = new byte[this.size];
+        new Random(0).nextBytes(data);
+        asto.save(new Key.From(FilesSliceBench.URI.substring(1)), new Content.From(data)).join();
+        this.client = new SliceClient(new FilesSlice(asto));
+    }
+
+    /**
+     * Remove temporary directory.
+     * @throws IOException If fails
+     */
+    @TearDown
+    public void cleanup() throws IOException {
+        if (this.dir != null) {
+            try (Stream<Path> files = Files.walk(this.dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Download file.
+     * @return Bytes read
+     */
+    @Benchmark
+    public long get() {
+        return this.client.send(RqMethod.GET, FilesSliceBench.URI);
+    }
+
+    /**
+     * Request file headers.
+     * @return Bytes read
+     */
+    @Benchmark
+    public long head() {
+        return this.client.send(RqMethod.HEAD, FilesSliceBench.URI);
+    }
+
+    /**
+     * Request file metadata with {@code meta=true} query.
+     * @return Bytes read
+     */
+    @Benchmark
+    public long meta() {
+        return this.client.send(
+            RqMethod.GET, String.format("%s?meta=true", FilesSliceBench.URI)
+        );
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files.bench;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.files.FilesSlice;
+import com.artipie.http.Headers;
+import com.artipie.http.rq.RqMethod;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link FilesSlice} listings in each format.
+ * @since 1.0
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListingBench {
+
+    /**
+     * Amount of listed keys.
+     */
+    @Param({"1000", "100000", "1000000"})
+    public int keys;
+
+    /**
+     * Media type of listing.
+     */
+    @Param({"text/plain", "application/json", "text/html"})
+    public String accept;
+
+    /**
+     * Client of files slice.
+     */
+    private SliceClient client;
+
+    /**
+     * Request headers.
+     */
+    private Headers headers;
+
+    /**
+     * Create storage with keys.
+     */
+    @Setup
+    public void setup() {
+        final Storage asto = new InMemoryStorage();
+        for (int num = 0; num < this.keys; num += 1) {
+            asto.save(
+                new Key.From("repo", String.format("dir%d", num % 100), String.format("f%d", num)),
+                Content.EMPTY
+            ).join();
+        }
+        this.client = new SliceClient(new FilesSlice(asto));
+        this.headers = new Headers.From("Accept", this.accept);
+    }
+
+    /**
+     * List all keys.
+     * @return Bytes read
+     */
+    @Benchmark
+    public long list() {
+        return this.client.send(RqMethod.GET, "/repo", this.headers);
+    }
+}
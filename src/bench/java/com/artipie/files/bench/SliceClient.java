@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files.bench;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client which sends requests to slice in benchmarks.
+ * @since 1.0
+ */
+final class SliceClient {
+
+    /**
+     * Slice.
+     */
+    private final Slice slice;
+
+    /**
+     * Ctor.
+     * @param slice Slice
+     */
+    SliceClient(final Slice slice) {
+        this.slice = slice;
+    }
+
+    /**
+     * Send request and read response body.
+     * @param method Request method
+     * @param uri Request URI
+     * @return Amount of body bytes read
+     */
+    long send(final RqMethod method, final String uri) {
+        return this.send(method, uri, Headers.EMPTY);
+    }
+
+    /**
+     * Send request with headers and read response body.
+     * @param method Request method
+     * @param uri Request URI
+     * @param headers Request headers
+     * @return Amount of body bytes read
+     */
+    long send(final RqMethod method, final String uri, final Headers headers) {
+        final AtomicLong read = new AtomicLong();
+        this.slice.response(
+            new RequestLine(method, uri).toString(), headers, Flowable.empty()
+        ).send(
+            (status, rsheaders, body) -> {
+                final CompletableFuture<Void> res = new CompletableFuture<>();
+                Flowable.fromPublisher(body)
+                    .map(ByteBuffer::remaining)
+                    .subscribe(
+                        read::addAndGet, res::completeExceptionally, () -> res.complete(null)
+                    );
+                return res;
+            }
+        ).toCompletableFuture().join();
+        return read.get();
+    }
+}
@@ -0,0 +1,10 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+
+/**
+ * Benchmarks for files adapter.
+ * @since 1.0
+ */
+package com.artipie.files.bench;
@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.cache.Cache;
+import com.artipie.asto.cache.CacheControl;
+import com.artipie.asto.cache.Remote;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Proxy cache over asto {@link Cache}.
+ * <p>
+ * Remote is asked for the file on each load with
+ * {@link CacheControl.Standard#ALWAYS} cache control, cache behaviour depends
+ * on the {@link Cache} implementation, e.g.
+ * {@link com.artipie.asto.cache.FromRemoteCache} returns cached content only
+ * if remote fails. Remote response headers are returned only if content was
+ * loaded from remote, headers of failed response don't describe cached content.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class AstoProxyCache implements ProxyCache {
+
+    /**
+     * Cache.
+     */
+    private final Cache cache;
+
+    /**
+     * Ctor.
+     * @param cache Cache
+     */
+    AstoProxyCache(final Cache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public CompletionStage<Optional<ProxiedFile>> load(final Key key,
+        final Function<Headers, Response> remote) {
+        final AtomicReference<Headers> headers = new AtomicReference<>(Headers.EMPTY);
+        return this.cache.load(
+            key,
+            new Remote.WithErrorHandling(
+                () -> {
+                    final CompletableFuture<Optional<? extends Content>> promise =
+                        new CompletableFuture<>();
+                    remote.apply(Headers.EMPTY).send(
+                        (rsstatus, rsheaders, rsbody) -> {
+                            final CompletableFuture<Void> term = new CompletableFuture<>();
+                            if (rsstatus.success()) {
+                                headers.set(rsheaders);
+                                final Flowable<ByteBuffer> body = Flowable.fromPublisher(rsbody)
+                                    .doOnError(term::completeExceptionally)
+                                    .doOnTerminate(() -> term.complete(null));
+                                promise.complete(Optional.of(new Content.From(body)));
+                            } else {
+                                promise.complete(Optional.empty());
+                            }
+                            return term;
+                        }
+                    );
+                    return promise;
+                }
+            ),
+            CacheControl.Standard.ALWAYS
+        ).thenApply(content -> content.map(cnt -> new ProxiedFile(headers.get(), cnt)));
+    }
+
+    @Override
+    public CompletionStage<Optional<ProxiedFile>> cached(final Key key) {
+        return this.cache.load(key, Remote.EMPTY, CacheControl.Standard.ALWAYS).handle(
+            (content, throwable) -> {
+                final Optional<ProxiedFile> res;
+                if (throwable == null) {
+                    res = content.map(cnt -> new ProxiedFile(Headers.EMPTY, cnt));
+                } else {
+                    res = Optional.empty();
+                }
+                return res;
+            }
+        );
+    }
+}
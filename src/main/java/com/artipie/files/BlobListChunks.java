@@ -0,0 +1,136 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+/**
+ * Blob list rendered as a stream of chunks.
+ * <p>
+ * Keys are rendered lazily in groups of limited size when subscriber
+ * requests next buffers, so the whole formatted listing is never kept in
+ * memory at once.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class BlobListChunks implements Publisher<ByteBuffer> {
+
+    /**
+     * Default amount of keys rendered into one chunk.
+     */
+    private static final int CHUNK = 1024;
+
+    /**
+     * Keys to render.
+     */
+    private final Collection<? extends Key> keys;
+
+    /**
+     * Text written before the first item.
+     */
+    private final String head;
+
+    /**
+     * Item renderer.
+     */
+    private final Function<Key, String> item;
+
+    /**
+     * Items delimiter.
+     */
+    private final String delim;
+
+    /**
+     * Text written after the last item.
+     */
+    private final String tail;
+
+    /**
+     * Amount of keys per chunk.
+     */
+    private final int size;
+
+    /**
+     * Ctor.
+     * @param keys Keys to render
+     * @param head Text written before the first item
+     * @param item Item renderer
+     * @param delim Items delimiter
+     * @param tail Text written after the last item
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    BlobListChunks(final Collection<? extends Key> keys, final String head,
+        final Function<Key, String> item, final String delim, final String tail) {
+        this(keys, head, item, delim, tail, BlobListChunks.CHUNK);
+    }
+
+    /**
+     * Primary ctor.
+     * @param keys Keys to render
+     * @param head Text written before the first item
+     * @param item Item renderer
+     * @param delim Items delimiter
+     * @param tail Text written after the last item
+     * @param size Amount of keys per chunk
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    BlobListChunks(final Collection<? extends Key> keys, final String head,
+        final Function<Key, String> item, final String delim, final String tail,
+        final int size) {
+        this.keys = keys;
+        this.head = head;
+        this.item = item;
+        this.delim = delim;
+        this.tail = tail;
+        this.size = size;
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        Flowable.defer(
+            () -> {
+                final AtomicBoolean first = new AtomicBoolean(true);
+                return Flowable.concat(
+                    Flowable.just(this.head),
+                    Flowable.<Key>fromIterable(this.keys)
+                        .buffer(this.size)
+                        .map(chunk -> this.render(chunk, first.getAndSet(false))),
+                    Flowable.just(this.tail)
+                );
+            }
+        ).filter(text -> !text.isEmpty())
+            .map(text -> ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)))
+            .subscribe(subscriber);
+    }
+
+    /**
+     * Render chunk of keys.
+     * @param chunk Keys
+     * @param first Is it the first chunk
+     * @return Rendered text
+     */
+    private String render(final List<Key> chunk, final boolean first) {
+        final StringBuilder text = new StringBuilder();
+        boolean delimited = !first;
+        for (final Key key : chunk) {
+            if (delimited) {
+                text.append(this.delim);
+            }
+            text.append(this.item.apply(key));
+            delimited = true;
+        }
+        return text.toString();
+    }
+}
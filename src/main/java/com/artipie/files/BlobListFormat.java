@@ -4,10 +4,15 @@
  */
 package com.artipie.files;
 
+import com.artipie.asto.Content;
 import com.artipie.asto.Key;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.json.Json;
+import org.reactivestreams.Publisher;
 
 /**
  * Format of a blob list.
@@ -20,7 +25,7 @@ interface BlobListFormat {
     /**
      * Stamdard format implementations.
      * @since 1.0
-     * @checkstyle IndentationCheck (30 lines)
+     * @checkstyle IndentationCheck (60 lines)
      */
     enum Standard implements BlobListFormat {
 
@@ -28,63 +33,88 @@ interface BlobListFormat {
          * Text format renders keys as a list of strings
          * separated by newline char {@code \n}.
          */
-        TEXT(
-            keys -> keys.stream().map(Key::string).collect(Collectors.joining("\n"))
-        ),
+        TEXT("", Key::string, "\n", ""),
 
         /**
          * Json format renders keys as JSON array with
          * keys items.
          */
-        JSON(
-            keys -> Json.createArrayBuilder(
-                keys.stream().map(Key::string).collect(Collectors.toList())
-            ).build().toString()
-        ),
+        JSON("[", key -> Json.createValue(key.string()).toString(), ",", "]"),
 
         /**
          * HTML format renders keys as simple markdown with ul, li and a tags.
          */
         HTML(
-            keys -> String.format(
-                String.join(
-                    "\n",
-                    "<!DOCTYPE html>",
-                    "<html>",
-                    "  <head><meta charset=\"utf-8\"/></head>",
-                    "  <body>",
-                    "    <ul>",
-                    "%s",
-                    "    </ul>",
-                    "  </body>",
-                    "</html>"
-                ),
-                keys.stream().map(
-                    key -> String.format(
-                        "      <li><a href=\"/%s\">%s</a></li>",
-                        key.string(),
-                        key.string()
-                    )
-                ).collect(Collectors.joining("\n"))
+            String.join(
+                "\n",
+                "<!DOCTYPE html>",
+                "<html>",
+                "  <head><meta charset=\"utf-8\"/></head>",
+                "  <body>",
+                "    <ul>",
+                ""
+            ),
+            key -> String.format(
+                "      <li><a href=\"/%s\">%s</a></li>",
+                key.string(),
+                key.string()
+            ),
+            "\n",
+            String.join(
+                "\n",
+                "",
+                "    </ul>",
+                "  </body>",
+                "</html>"
             )
         );
 
         /**
-         * Format.
+         * Text written before the first item.
          */
-        private final BlobListFormat fmt;
+        private final String head;
+
+        /**
+         * Item renderer.
+         */
+        private final Function<Key, String> item;
+
+        /**
+         * Items delimiter.
+         */
+        private final String delim;
+
+        /**
+         * Text written after the last item.
+         */
+        private final String tail;
 
         /**
          * Enum instance.
-         * @param fmt Format
+         * @param head Text written before the first item
+         * @param item Item renderer
+         * @param delim Items delimiter
+         * @param tail Text written after the last item
+         * @checkstyle ParameterNumberCheck (10 lines)
          */
-        Standard(final BlobListFormat fmt) {
-            this.fmt = fmt;
+        Standard(final String head, final Function<Key, String> item,
+            final String delim, final String tail) {
+            this.head = head;
+            this.item = item;
+            this.delim = delim;
+            this.tail = tail;
         }
 
         @Override
         public String apply(final Collection<? extends Key> blobs) {
-            return this.fmt.apply(blobs);
+            return blobs.stream().map(this.item).collect(
+                Collectors.joining(this.delim, this.head, this.tail)
+            );
+        }
+
+        @Override
+        public Publisher<ByteBuffer> publisher(final Collection<? extends Key> blobs) {
+            return new BlobListChunks(blobs, this.head, this.item, this.delim, this.tail);
         }
     }
 
@@ -94,4 +124,15 @@ interface BlobListFormat {
      * @return Text formatted
      */
     String apply(Collection<? extends Key> blobs);
+
+    /**
+     * Render the list of blobs as a stream of UTF-8 encoded chunks.
+     * Implementations may render items lazily, the default one renders
+     * the whole list with {@link #apply(Collection)}.
+     * @param blobs List of blobs
+     * @return Publisher of formatted text
+     */
+    default Publisher<ByteBuffer> publisher(final Collection<? extends Key> blobs) {
+        return new Content.From(this.apply(blobs).getBytes(StandardCharsets.UTF_8));
+    }
 }
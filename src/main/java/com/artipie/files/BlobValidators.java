@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Meta;
+import com.artipie.http.Headers;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RqHeaders;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Validators of blob representation built from storage {@link Meta}.
+ * <p>
+ * Entity tag is strong and equal to MD5 of the blob if storage knows it,
+ * otherwise it is weak and built from size and modification time. Last
+ * modification time is update time or, if absent, creation time of the blob.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class BlobValidators {
+
+    /**
+     * Entity tag header.
+     */
+    static final String ENTITY_TAG = "ETag";
+
+    /**
+     * Last modified header.
+     */
+    static final String LAST_MODIFIED = "Last-Modified";
+
+    /**
+     * Weak entity tag prefix.
+     */
+    private static final String WEAK = "W/";
+
+    /**
+     * Blob metadata.
+     */
+    private final Meta meta;
+
+    /**
+     * Ctor.
+     * @param meta Blob metadata
+     */
+    BlobValidators(final Meta meta) {
+        this.meta = meta;
+    }
+
+    /**
+     * Entity tag.
+     * @return Entity tag if it can be built from metadata
+     */
+    public Optional<String> etag() {
+        final Optional<String> strong = this.meta.read(Meta.OP_MD5)
+            .map(md5 -> String.format("\"%s\"", md5));
+        final Optional<String> res;
+        if (strong.isPresent()) {
+            res = strong;
+        } else {
+            final Optional<? extends Long> size = this.meta.read(Meta.OP_SIZE);
+            res = this.modified().flatMap(
+                time -> size.map(
+                    len -> String.format(
+                        "%s\"%x-%x\"", BlobValidators.WEAK, len, time.toEpochMilli()
+                    )
+                )
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Last modification time truncated to seconds.
+     * @return Time if known
+     */
+    public Optional<Instant> modified() {
+        final Optional<Instant> updated = this.meta.read(Meta.OP_UPDATED_AT)
+            .map(BlobValidators::seconds);
+        final Optional<Instant> res;
+        if (updated.isPresent()) {
+            res = updated;
+        } else {
+            res = this.meta.read(Meta.OP_CREATED_AT).map(BlobValidators::seconds);
+        }
+        return res;
+    }
+
+    /**
+     * Validator response headers.
+     * @return Headers with known validators
+     */
+    public Headers headers() {
+        final List<Map.Entry<String, String>> hdrs = new ArrayList<>(2);
+        this.etag().ifPresent(tag -> hdrs.add(new Header(BlobValidators.ENTITY_TAG, tag)));
+        this.modified().ifPresent(
+            time -> hdrs.add(
+                new Header(
+                    BlobValidators.LAST_MODIFIED, new HttpDate(time).toString()
+                )
+            )
+        );
+        return new Headers.From(hdrs);
+    }
+
+    /**
+     * Is representation not modified according to request preconditions.
+     * <p>
+     * {@code If-None-Match} is compared with weak comparison, if it's
+     * present {@code If-Modified-Since} is ignored as RFC 7232 requires.
+     * Invalid dates are ignored.
+     * </p>
+     * @param headers Request headers
+     * @return True if client has current representation
+     */
+    public boolean notModified(final Iterable<Map.Entry<String, String>> headers) {
+        final RqHeaders match = new RqHeaders(headers, "If-None-Match");
+        final boolean res;
+        if (match.isEmpty()) {
+            res = new RqHeaders(headers, "If-Modified-Since").stream().findFirst()
+                .flatMap(value -> new HttpDate(value).time())
+                .flatMap(since -> this.modified().map(time -> !time.isAfter(since)))
+                .orElse(false);
+        } else {
+            final Optional<String> etag = this.etag().map(BlobValidators::opaque);
+            res = match.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .anyMatch(
+                    tag -> "*".equals(tag)
+                        || etag.map(BlobValidators.opaque(tag)::equals).orElse(false)
+                );
+        }
+        return res;
+    }
+
+    /**
+     * Entity tag without weakness indicator.
+     * @param tag Entity tag
+     * @return Opaque tag
+     */
+    private static String opaque(final String tag) {
+        final String res;
+        if (tag.startsWith(BlobValidators.WEAK)) {
+            res = tag.substring(BlobValidators.WEAK.length());
+        } else {
+            res = tag;
+        }
+        return res;
+    }
+
+    /**
+     * Truncate time to seconds as HTTP dates do.
+     * @param time Time
+     * @return Truncated time
+     */
+    private static Instant seconds(final Instant time) {
+        return time.truncatedTo(ChronoUnit.SECONDS);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * In-memory cache with limited amount of entries and time to live.
+ * <p>
+ * Least recently used entry is evicted when cache is full, expired
+ * entries are evicted on access. All operations are synchronized.
+ * </p>
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ * @since 1.0
+ */
+final class BoundedCache<K, V> {
+
+    /**
+     * Initial capacity of the map.
+     */
+    private static final int CAPACITY = 16;
+
+    /**
+     * Load factor of the map.
+     */
+    private static final float LOAD = 0.75f;
+
+    /**
+     * Entries by key in access order.
+     */
+    private final Map<K, Expiring<V>> entries;
+
+    /**
+     * Max amount of entries.
+     */
+    private final int size;
+
+    /**
+     * Time to live in nanoseconds.
+     */
+    private final long ttl;
+
+    /**
+     * Ctor.
+     * @param size Max amount of entries
+     * @param ttl Time to live of entry
+     */
+    BoundedCache(final int size, final Duration ttl) {
+        this.entries = new LinkedHashMap<>(BoundedCache.CAPACITY, BoundedCache.LOAD, true);
+        this.size = size;
+        this.ttl = ttl.toNanos();
+    }
+
+    /**
+     * Get value.
+     * @param key Key
+     * @return Value if present and not expired
+     */
+    public Optional<V> get(final K key) {
+        synchronized (this.entries) {
+            final Optional<Expiring<V>> entry = Optional.ofNullable(this.entries.get(key));
+            final Optional<V> res;
+            if (entry.isPresent() && entry.get().expired()) {
+                this.entries.remove(key);
+                res = Optional.empty();
+            } else {
+                res = entry.map(item -> item.value);
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Put value.
+     * @param key Key
+     * @param value Value
+     */
+    public void put(final K key, final V value) {
+        synchronized (this.entries) {
+            this.entries.put(key, new Expiring<>(value, System.nanoTime() + this.ttl));
+            final Iterator<K> eldest = this.entries.keySet().iterator();
+            while (this.entries.size() > this.size) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove all entries with keys matching predicate.
+     * @param which Predicate of keys to remove
+     */
+    public void invalidate(final Predicate<? super K> which) {
+        synchronized (this.entries) {
+            this.entries.keySet().removeIf(which);
+        }
+    }
+
+    /**
+     * Value with expiration time.
+     * @param <V> Value type
+     * @since 1.0
+     */
+    private static final class Expiring<V> {
+
+        /**
+         * Value.
+         */
+        private final V value;
+
+        /**
+         * Expiration time in nanoseconds.
+         */
+        private final long deadline;
+
+        /**
+         * Ctor.
+         * @param value Value
+         * @param deadline Expiration time in nanoseconds
+         */
+        Expiring(final V value, final long deadline) {
+            this.value = value;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Is value expired.
+         * @return True if expired
+         */
+        boolean expired() {
+            return System.nanoTime() - this.deadline >= 0;
+        }
+    }
+}
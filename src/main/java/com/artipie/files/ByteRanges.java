@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Byte ranges of {@code Range} request header.
+ * <p>
+ * Parses {@code bytes} ranges set as defined by RFC 7233, e.g.
+ * {@code bytes=0-499}, {@code bytes=500-} or {@code bytes=-500}, several
+ * ranges are separated by comma.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class ByteRanges {
+
+    /**
+     * Bytes range unit prefix.
+     */
+    private static final String UNIT = "bytes=";
+
+    /**
+     * Single byte range spec.
+     */
+    private static final Pattern SPEC = Pattern.compile("^(\\d*)-(\\d*)$");
+
+    /**
+     * Max amount of digits in byte position which surely fits long.
+     */
+    private static final int DIGITS = 18;
+
+    /**
+     * Header value.
+     */
+    private final String header;
+
+    /**
+     * Ctor.
+     * @param header Range header value
+     */
+    ByteRanges(final String header) {
+        this.header = header;
+    }
+
+    /**
+     * Is header a valid bytes ranges set.
+     * @return True if header is valid
+     */
+    public boolean valid() {
+        return !this.specs().isEmpty();
+    }
+
+    /**
+     * Is any of the ranges satisfiable for representation of given length.
+     * @param length Representation length
+     * @return True if at least one range is satisfiable
+     */
+    public boolean satisfiable(final long length) {
+        boolean res = false;
+        for (final String[] spec : this.specs()) {
+            if (spec[0].isEmpty()) {
+                res = length > 0 && Long.parseLong(spec[1]) > 0;
+            } else {
+                res = Long.parseLong(spec[0]) < length;
+            }
+            if (res) {
+                break;
+            }
+        }
+        return res;
+    }
+
+    /**
+     * First and last positions of all ranges.
+     * @return Range specs or empty list if header is not valid
+     */
+    private List<String[]> specs() {
+        final String value = this.header.trim();
+        List<String[]> res = Collections.emptyList();
+        if (value.toLowerCase(Locale.US).startsWith(ByteRanges.UNIT)) {
+            final String[] items = value.substring(ByteRanges.UNIT.length()).split(",", -1);
+            final List<String[]> specs = new ArrayList<>(items.length);
+            for (final String item : items) {
+                final Matcher matcher = ByteRanges.SPEC.matcher(item.trim());
+                if (!matcher.matches() || ByteRanges.invalid(matcher.group(1), matcher.group(2))) {
+                    specs.clear();
+                    break;
+                }
+                specs.add(new String[] {matcher.group(1), matcher.group(2)});
+            }
+            res = specs;
+        }
+        return res;
+    }
+
+    /**
+     * Is single range spec invalid.
+     * @param first First byte position, may be empty
+     * @param last Last byte position, may be empty
+     * @return True if spec is invalid
+     */
+    private static boolean invalid(final String first, final String last) {
+        final boolean res;
+        if (first.isEmpty()) {
+            res = last.isEmpty() || last.length() > ByteRanges.DIGITS;
+        } else if (first.length() > ByteRanges.DIGITS || last.length() > ByteRanges.DIGITS) {
+            res = true;
+        } else {
+            res = !last.isEmpty() && Long.parseLong(last) < Long.parseLong(first);
+        }
+        return res;
+    }
+}
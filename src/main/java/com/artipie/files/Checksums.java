@@ -0,0 +1,226 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.http.Headers;
+import com.artipie.http.rq.RqHeaders;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Checksums of content announced by remote in response headers.
+ * <p>
+ * Checksums are taken from {@code X-Checksum-Sha256}, {@code X-Checksum-Sha1}
+ * and {@code X-Checksum-Md5} headers with hex values, which are sent by
+ * Maven Central, Artifactory and Nexus, from {@code Digest} header of
+ * RFC 3230 and from {@code Content-MD5} header with base64 values.
+ * Unknown algorithms and malformed values are ignored.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class Checksums {
+
+    /**
+     * MD5 digest algorithm.
+     */
+    private static final String MD5 = "MD5";
+
+    /**
+     * SHA-1 digest algorithm.
+     */
+    private static final String SHA_ONE = "SHA-1";
+
+    /**
+     * SHA-256 digest algorithm.
+     */
+    private static final String SHA_TWO = "SHA-256";
+
+    /**
+     * Digest algorithms by names of {@code Digest} header.
+     */
+    private static final Map<String, String> DIGESTS = new HashMap<>();
+
+    /**
+     * Digest algorithms by names of {@code X-Checksum-*} headers.
+     */
+    private static final Map<String, String> HEADERS = new LinkedHashMap<>();
+
+    static {
+        Checksums.DIGESTS.put("md5", Checksums.MD5);
+        Checksums.DIGESTS.put("sha", Checksums.SHA_ONE);
+        Checksums.DIGESTS.put("sha-256", Checksums.SHA_TWO);
+        Checksums.DIGESTS.put("sha-512", "SHA-512");
+        Checksums.HEADERS.put("X-Checksum-Sha256", Checksums.SHA_TWO);
+        Checksums.HEADERS.put("X-Checksum-Sha1", Checksums.SHA_ONE);
+        Checksums.HEADERS.put("X-Checksum-Md5", Checksums.MD5);
+    }
+
+    /**
+     * Expected hex checksums by digest algorithm.
+     */
+    private final Map<String, String> expected;
+
+    /**
+     * Ctor.
+     * @param headers Remote response headers
+     */
+    Checksums(final Headers headers) {
+        this.expected = Checksums.parse(headers);
+    }
+
+    /**
+     * Start checking content.
+     * @return Check to update with content bytes
+     */
+    Check check() {
+        return new Check(this.expected);
+    }
+
+    /**
+     * Expected checksums from headers.
+     * @param headers Response headers
+     * @return Hex checksums by digest algorithm
+     */
+    private static Map<String, String> parse(final Headers headers) {
+        final Map<String, String> res = new LinkedHashMap<>();
+        for (final Map.Entry<String, String> header : Checksums.HEADERS.entrySet()) {
+            new RqHeaders(headers, header.getKey()).stream()
+                .map(value -> value.trim().toLowerCase(Locale.US))
+                .filter(value -> value.matches("[0-9a-f]+"))
+                .findFirst()
+                .ifPresent(hex -> res.putIfAbsent(header.getValue(), hex));
+        }
+        for (final String value : new RqHeaders(headers, "Digest")) {
+            for (final String digest : value.split(",")) {
+                final String[] parts = digest.trim().split("=", 2);
+                if (parts.length == 2) {
+                    final Optional<String> alg = Optional.ofNullable(
+                        Checksums.DIGESTS.get(parts[0].toLowerCase(Locale.US))
+                    );
+                    alg.ifPresent(
+                        name -> Checksums.decoded(parts[1])
+                            .ifPresent(hex -> res.putIfAbsent(name, hex))
+                    );
+                }
+            }
+        }
+        new RqHeaders(headers, "Content-MD5").stream().findFirst()
+            .flatMap(Checksums::decoded)
+            .ifPresent(hex -> res.putIfAbsent(Checksums.MD5, hex));
+        return res;
+    }
+
+    /**
+     * Hex of base64 value.
+     * @param value Base64 value
+     * @return Hex or empty if value is malformed
+     */
+    private static Optional<String> decoded(final String value) {
+        Optional<String> res;
+        try {
+            res = Optional.of(Checksums.hex(Base64.getDecoder().decode(value.trim())));
+        } catch (final IllegalArgumentException ex) {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Hex of bytes.
+     * @param bytes Bytes
+     * @return Lower case hex
+     */
+    private static String hex(final byte[] bytes) {
+        final StringBuilder res = new StringBuilder(bytes.length * 2);
+        for (final byte item : bytes) {
+            res.append(String.format("%02x", item));
+        }
+        return res.toString();
+    }
+
+    /**
+     * Check of content against expected checksums.
+     * @since 1.0
+     */
+    static final class Check {
+
+        /**
+         * Expected hex checksums by digest algorithm.
+         */
+        private final Map<String, String> expected;
+
+        /**
+         * Running digests by algorithm.
+         */
+        private final Map<String, MessageDigest> digests;
+
+        /**
+         * Ctor.
+         * @param expected Expected hex checksums by digest algorithm
+         */
+        Check(final Map<String, String> expected) {
+            this.expected = expected;
+            this.digests = Check.created(expected.keySet());
+        }
+
+        /**
+         * Update digests with content bytes.
+         * @param buf Bytes, its position is not changed
+         */
+        void update(final ByteBuffer buf) {
+            for (final MessageDigest digest : this.digests.values()) {
+                digest.update(buf.duplicate());
+            }
+        }
+
+        /**
+         * Compare digests of content with expected checksums.
+         * @return Description of mismatch or empty if content is correct
+         */
+        Optional<String> mismatch() {
+            Optional<String> res = Optional.empty();
+            for (final Map.Entry<String, MessageDigest> digest : this.digests.entrySet()) {
+                final String actual = Checksums.hex(digest.getValue().digest());
+                final String wanted = this.expected.get(digest.getKey());
+                if (!actual.equals(wanted)) {
+                    res = Optional.of(
+                        String.format(
+                            "Content %s checksum %s doesn't match expected %s",
+                            digest.getKey(), actual, wanted
+                        )
+                    );
+                    break;
+                }
+            }
+            return res;
+        }
+
+        /**
+         * New digests.
+         * @param algs Digest algorithms
+         * @return Digests by algorithm
+         */
+        private static Map<String, MessageDigest> created(final Collection<String> algs) {
+            final Map<String, MessageDigest> res = new HashMap<>();
+            for (final String alg : algs) {
+                try {
+                    res.put(alg, MessageDigest.getInstance(alg));
+                } catch (final NoSuchAlgorithmException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+            return res;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immediate children of the prefix key.
+ * <p>
+ * Collapses recursive listing of the prefix into one level like
+ * S3 {@code ListObjects} with {@code /} delimiter does: keys located
+ * directly under the prefix are kept as is, deeper keys are replaced with
+ * the common prefix of the child directory, which string ends with
+ * {@link Key#DELIMITER}.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class ChildKeys {
+
+    /**
+     * Prefix key.
+     */
+    private final Key prefix;
+
+    /**
+     * All keys under the prefix.
+     */
+    private final Collection<? extends Key> all;
+
+    /**
+     * Ctor.
+     * @param prefix Prefix key
+     * @param all All keys under the prefix
+     */
+    ChildKeys(final Key prefix, final Collection<? extends Key> all) {
+        this.prefix = prefix;
+        this.all = all;
+    }
+
+    /**
+     * List immediate children.
+     * @return Keys and common prefixes in listing order
+     */
+    public Collection<Key> list() {
+        final List<String> base = this.prefix.parts();
+        final Map<String, Key> children = new LinkedHashMap<>();
+        for (final Key key : this.all) {
+            final List<String> parts = key.parts();
+            if (parts.size() > base.size() && parts.subList(0, base.size()).equals(base)) {
+                final Key child;
+                if (parts.size() == base.size() + 1) {
+                    child = key;
+                } else {
+                    child = new Directory(new Key.From(parts.subList(0, base.size() + 1)));
+                }
+                children.putIfAbsent(child.string(), child);
+            }
+        }
+        return new ArrayList<>(children.values());
+    }
+
+    /**
+     * Common prefix of the keys in child directory.
+     * @since 1.0
+     */
+    private static final class Directory implements Key {
+
+        /**
+         * Directory key.
+         */
+        private final Key origin;
+
+        /**
+         * Ctor.
+         * @param origin Directory key
+         */
+        Directory(final Key origin) {
+            this.origin = origin;
+        }
+
+        @Override
+        public String string() {
+            return String.join("", this.origin.string(), Key.DELIMITER);
+        }
+
+        @Override
+        public Optional<Key> parent() {
+            return this.origin.parent();
+        }
+
+        @Override
+        public List<String> parts() {
+            return this.origin.parts();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return this == other || other instanceof Directory
+                && this.string().equals(((Key) other).string());
+        }
+
+        @Override
+        public int hashCode() {
+            return this.string().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return this.string();
+        }
+    }
+}
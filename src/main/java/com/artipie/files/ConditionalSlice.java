@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ValueNotFoundException;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.slice.KeyFromPath;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice which handles conditional GET and HEAD requests of blobs.
+ * <p>
+ * Adds {@code ETag} and {@code Last-Modified} headers built by
+ * {@link BlobValidators} from blob metadata to responses of origin slice.
+ * If {@code If-None-Match} or {@code If-Modified-Since} preconditions show
+ * that client has current representation, {@code 304 Not Modified} is
+ * returned without calling origin slice, so blob content is not read.
+ * Requests of missing blobs are passed to origin slice as is.
+ * </p>
+ * <p>
+ * Existence and metadata are looked up once per request, metadata only
+ * if the blob exists, since storages may provide metadata of keys which
+ * aren't blobs, like directories of file storage. When origin slice is
+ * created from the storage for each request, it gets a storage which
+ * answers {@link Storage#metadata(Key)} and {@link Storage#exists(Key)} of
+ * the requested blob from this lookup, so serving the request doesn't cost
+ * more storage calls than origin slice alone.
+ * </p>
+ *
+ * @since 1.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+public final class ConditionalSlice implements Slice {
+
+    /**
+     * Origin slice for storage of the request.
+     */
+    private final Function<Storage, Slice> origin;
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Ctor.
+     * @param origin Origin slice
+     * @param storage Storage of blobs
+     */
+    public ConditionalSlice(final Slice origin, final Storage storage) {
+        this(sto -> origin, storage);
+    }
+
+    /**
+     * Ctor.
+     * @param origin Origin slice for storage of the request
+     * @param storage Storage of blobs
+     */
+    public ConditionalSlice(final Function<Storage, Slice> origin, final Storage storage) {
+        this.origin = origin;
+        this.storage = storage;
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final RequestLineFrom rqline = new RequestLineFrom(line);
+        final Response res;
+        if (rqline.method() == RqMethod.GET || rqline.method() == RqMethod.HEAD) {
+            final Key key = new KeyFromPath(rqline.uri().getPath());
+            res = new AsyncResponse(
+                this.storage.exists(key).thenCompose(
+                    exists -> {
+                        final CompletableFuture<Meta> meta;
+                        if (exists) {
+                            meta = this.storage.metadata(key).thenApply(Function.identity());
+                        } else {
+                            meta = new CompletableFuture<>();
+                            meta.completeExceptionally(new ValueNotFoundException(key));
+                        }
+                        return meta;
+                    }
+                ).handle(
+                    (mtd, err) -> {
+                        final CompletableFuture<Response> result = new CompletableFuture<>();
+                        if (err == null) {
+                            result.complete(
+                                ConditionalSlice.validated(
+                                    new BlobValidators(mtd),
+                                    this.origin.apply(
+                                        new KnownMetaStorage(this.storage, key, Optional.of(mtd))
+                                    ),
+                                    line, headers, body
+                                )
+                            );
+                        } else if (FileMetaSlice.notFound(err)) {
+                            result.complete(
+                                this.origin.apply(
+                                    new KnownMetaStorage(this.storage, key, Optional.empty())
+                                ).response(line, headers, body)
+                            );
+                        } else {
+                            result.completeExceptionally(err);
+                        }
+                        return result;
+                    }
+                ).thenCompose(Function.identity())
+            );
+        } else {
+            res = this.origin.apply(this.storage).response(line, headers, body);
+        }
+        return res;
+    }
+
+    /**
+     * Response of existing blob with validators.
+     * @param validators Blob validators
+     * @param slice Origin slice
+     * @param line Request line
+     * @param headers Request headers
+     * @param body Request body
+     * @return Not modified or origin response
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static Response validated(final BlobValidators validators, final Slice slice,
+        final String line, final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body) {
+        final Response rsp;
+        if (validators.notModified(headers)) {
+            rsp = new RsWithStatus(RsStatus.NOT_MODIFIED);
+        } else {
+            rsp = slice.response(line, headers, body);
+        }
+        return new RsWithHeaders(rsp, validators.headers());
+    }
+}
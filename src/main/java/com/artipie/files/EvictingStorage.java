@@ -0,0 +1,555 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Proxy cache storage with limited size.
+ * <p>
+ * Tracks size of stored files and their access recency and frequency. When
+ * total size exceeds capacity, files are evicted in background until total
+ * size drops below 90% of capacity: least recently used ones with
+ * {@link Policy#LRU}, least frequently used ones with {@link Policy#LFU}.
+ * Evicted file is deleted with its {@link ProxyMeta} metadata. Reads only
+ * update access counters of the file, sizes are tracked on saves and
+ * eviction runs after saves complete, so neither blocks requests. Files
+ * stored before the storage is used are found by listing the storage in
+ * background on the first operation of any kind, including reads, and are
+ * treated as least recently used, so they are evicted even if only reads
+ * follow.
+ * </p>
+ * <pre>{@code
+ * new FileProxySlice(
+ *     clients, remote, Authenticator.ANONYMOUS,
+ *     new EvictingStorage(storage, 10L << 30, EvictingStorage.Policy.LRU)
+ * )
+ * }</pre>
+ *
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class EvictingStorage implements Storage {
+
+    /**
+     * Origin storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Max total size of files in bytes.
+     */
+    private final long capacity;
+
+    /**
+     * Eviction policy.
+     */
+    private final Policy policy;
+
+    /**
+     * Usage of stored files.
+     */
+    private final Usage usage;
+
+    /**
+     * Ctor.
+     * @param origin Origin storage
+     * @param capacity Max total size of files in bytes
+     * @param policy Eviction policy
+     */
+    public EvictingStorage(final Storage origin, final long capacity, final Policy policy) {
+        this(origin, capacity, policy, new Usage());
+    }
+
+    /**
+     * Primary ctor.
+     * @param origin Origin storage
+     * @param capacity Max total size of files in bytes
+     * @param policy Eviction policy
+     * @param usage Usage of stored files
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private EvictingStorage(final Storage origin, final long capacity, final Policy policy,
+        final Usage usage) {
+        this.origin = origin;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.usage = usage;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final Key key) {
+        this.scan();
+        return this.origin.exists(key);
+    }
+
+    @Override
+    public CompletableFuture<Collection<Key>> list(final Key prefix) {
+        this.scan();
+        return this.origin.list(prefix);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        this.usage.saving.add(key.string());
+        this.scan();
+        return this.origin.save(key, content).thenCompose(
+            nothing -> this.size(key, content).handle(
+                (size, err) -> {
+                    if (err == null) {
+                        this.usage.add(key, size);
+                        this.evict();
+                    }
+                    return nothing;
+                }
+            )
+        ).whenComplete((nothing, err) -> this.usage.saving.remove(key.string()));
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        this.scan();
+        return this.origin.move(source, destination).thenApply(
+            nothing -> {
+                this.usage.move(source, destination);
+                return nothing;
+            }
+        );
+    }
+
+    @Override
+    public CompletableFuture<? extends Meta> metadata(final Key key) {
+        this.scan();
+        return this.origin.metadata(key);
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        this.scan();
+        this.usage.touch(key);
+        return this.origin.value(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        this.scan();
+        return this.origin.delete(key).thenApply(
+            nothing -> {
+                this.usage.remove(key);
+                return nothing;
+            }
+        );
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAll(final Key prefix) {
+        this.scan();
+        return this.origin.deleteAll(prefix).thenApply(
+            nothing -> {
+                this.usage.removeAll(prefix);
+                return nothing;
+            }
+        );
+    }
+
+    @Override
+    public <T> CompletionStage<T> exclusively(final Key key,
+        final Function<Storage, CompletionStage<T>> operation) {
+        return this.origin.exclusively(
+            key,
+            sto -> operation.apply(
+                new EvictingStorage(sto, this.capacity, this.policy, this.usage)
+            )
+        );
+    }
+
+    /**
+     * Size of saved content.
+     * @param key Key
+     * @param content Saved content
+     * @return Size in bytes
+     */
+    private CompletionStage<Long> size(final Key key, final Content content) {
+        return content.size().<CompletionStage<Long>>map(CompletableFuture::completedFuture)
+            .orElseGet(
+                () -> this.origin.metadata(key).thenApply(
+                    meta -> meta.read(Meta.OP_SIZE).map(Long::longValue).orElse(0L)
+                )
+            );
+    }
+
+    /**
+     * Find files stored before the first access.
+     */
+    private void scan() {
+        if (this.usage.scanned.compareAndSet(false, true)) {
+            this.origin.list(Key.ROOT).thenCompose(
+                keys -> {
+                    CompletableFuture<Void> res = CompletableFuture.completedFuture(null);
+                    for (final Key key : keys) {
+                        if (Usage.tracked(key)) {
+                            res = res.thenCompose(
+                                nothing -> this.origin.metadata(key).thenAccept(
+                                    meta -> this.usage.found(
+                                        key, meta.read(Meta.OP_SIZE).map(Long::longValue).orElse(0L)
+                                    )
+                                ).exceptionally(err -> null)
+                            );
+                        }
+                    }
+                    return res;
+                }
+            ).thenRun(this::evict);
+        }
+    }
+
+    /**
+     * Evict files in background if total size exceeds capacity.
+     */
+    private void evict() {
+        if (this.usage.total.get() > this.capacity
+            && this.usage.evicting.compareAndSet(false, true)) {
+            final long low = this.capacity - this.capacity / 10;
+            CompletableFuture<Void> res = CompletableFuture.completedFuture(null);
+            for (final Candidate candidate : this.usage.candidates(this.policy)) {
+                res = res.thenCompose(
+                    nothing -> this.evicted(candidate, low)
+                );
+            }
+            res.handle(
+                (nothing, err) -> {
+                    this.usage.evicting.set(false);
+                    return nothing;
+                }
+            );
+        }
+    }
+
+    /**
+     * Delete file and its metadata if total size is still over the limit.
+     * @param candidate File to delete
+     * @param low Limit of total size
+     * @return Completion
+     */
+    private CompletableFuture<Void> evicted(final Candidate candidate, final long low) {
+        final CompletableFuture<Void> res;
+        if (this.usage.total.get() > low) {
+            res = this.origin.delete(candidate.key)
+                .thenCompose(nothing -> this.origin.delete(ProxyMeta.key(candidate.key)))
+                .handle(
+                    (nothing, err) -> {
+                        this.usage.remove(candidate.key);
+                        return nothing;
+                    }
+                );
+        } else {
+            res = CompletableFuture.completedFuture(null);
+        }
+        return res;
+    }
+
+    /**
+     * Eviction policy.
+     * @since 1.0
+     */
+    public enum Policy {
+
+        /**
+         * Evict least recently used files first.
+         */
+        LRU(Comparator.comparingLong(candidate -> candidate.access)),
+
+        /**
+         * Evict least frequently used files first, least recently used of
+         * them if they are used equally.
+         */
+        LFU(
+            Comparator.<Candidate>comparingLong(candidate -> candidate.hits)
+                .thenComparingLong(candidate -> candidate.access)
+        );
+
+        /**
+         * Order of eviction.
+         */
+        private final Comparator<Candidate> order;
+
+        /**
+         * Ctor.
+         * @param order Order of eviction
+         */
+        Policy(final Comparator<Candidate> order) {
+            this.order = order;
+        }
+    }
+
+    /**
+     * Usage of stored files.
+     * @since 1.0
+     */
+    private static final class Usage {
+
+        /**
+         * Usage of files by key.
+         */
+        private final ConcurrentMap<String, Entry> entries;
+
+        /**
+         * Total size of files.
+         */
+        private final AtomicLong total;
+
+        /**
+         * Access counter.
+         */
+        private final AtomicLong clock;
+
+        /**
+         * Keys being saved, they are tracked when saves complete.
+         */
+        private final Set<String> saving;
+
+        /**
+         * Is eviction running.
+         */
+        private final AtomicBoolean evicting;
+
+        /**
+         * Were stored files listed.
+         */
+        private final AtomicBoolean scanned;
+
+        /**
+         * Ctor.
+         */
+        Usage() {
+            this.entries = new ConcurrentHashMap<>();
+            this.total = new AtomicLong();
+            this.clock = new AtomicLong();
+            this.saving = ConcurrentHashMap.newKeySet();
+            this.evicting = new AtomicBoolean();
+            this.scanned = new AtomicBoolean();
+        }
+
+        /**
+         * Is file tracked.
+         * @param key Key
+         * @return False for metadata of files
+         */
+        static boolean tracked(final Key key) {
+            return !Usage.under(key, ProxyMeta.ROOT);
+        }
+
+        /**
+         * Is key located under the prefix.
+         * @param key Key
+         * @param prefix Prefix
+         * @return True if it is
+         */
+        static boolean under(final Key key, final Key prefix) {
+            return key.string().startsWith(String.join("", prefix.string(), Key.DELIMITER));
+        }
+
+        /**
+         * Track saved file.
+         * @param key Key
+         * @param size Size in bytes
+         */
+        void add(final Key key, final long size) {
+            if (Usage.tracked(key)) {
+                this.put(key, new Entry(key, size, this.clock.incrementAndGet()));
+            }
+        }
+
+        /**
+         * Track file found in storage unless it's tracked or being saved.
+         * @param key Key
+         * @param size Size in bytes
+         */
+        void found(final Key key, final long size) {
+            final Entry entry = new Entry(key, size, 0);
+            if (!this.saving.contains(key.string())
+                && this.entries.putIfAbsent(key.string(), entry) == null) {
+                this.total.addAndGet(size);
+            }
+        }
+
+        /**
+         * Track moved file.
+         * @param source Source key
+         * @param destination Destination key
+         */
+        void move(final Key source, final Key destination) {
+            final Optional<Entry> entry = Optional.ofNullable(
+                this.entries.remove(source.string())
+            );
+            entry.ifPresent(
+                moved -> {
+                    this.total.addAndGet(-moved.size);
+                    this.add(destination, moved.size);
+                }
+            );
+        }
+
+        /**
+         * Record access of file.
+         * @param key Key
+         */
+        void touch(final Key key) {
+            final Entry entry = this.entries.get(key.string());
+            if (entry != null) {
+                entry.hits.incrementAndGet();
+                entry.access.set(this.clock.incrementAndGet());
+            }
+        }
+
+        /**
+         * Stop tracking deleted file.
+         * @param key Key
+         */
+        void remove(final Key key) {
+            final Entry entry = this.entries.remove(key.string());
+            if (entry != null) {
+                this.total.addAndGet(-entry.size);
+            }
+        }
+
+        /**
+         * Stop tracking all files under prefix.
+         * @param prefix Prefix
+         */
+        void removeAll(final Key prefix) {
+            for (final Entry entry : this.entries.values()) {
+                if (prefix.string().isEmpty() || Usage.under(entry.key, prefix)
+                    || entry.key.string().equals(prefix.string())) {
+                    this.remove(entry.key);
+                }
+            }
+        }
+
+        /**
+         * Files which can be evicted in order of eviction.
+         * @param policy Eviction policy
+         * @return Files, except temporary ones
+         */
+        List<Candidate> candidates(final Policy policy) {
+            return this.entries.values().stream()
+                .filter(entry -> !Usage.under(entry.key, TeeContent.PARTS))
+                .map(Entry::candidate)
+                .sorted(policy.order)
+                .collect(Collectors.toList());
+        }
+
+        /**
+         * Put new entry and update total size.
+         * @param key Key
+         * @param entry Entry
+         */
+        private void put(final Key key, final Entry entry) {
+            final Entry old = this.entries.put(key.string(), entry);
+            this.total.addAndGet(entry.size);
+            if (old != null) {
+                this.total.addAndGet(-old.size);
+            }
+        }
+    }
+
+    /**
+     * Usage of stored file.
+     * @since 1.0
+     */
+    private static final class Entry {
+
+        /**
+         * Key.
+         */
+        private final Key key;
+
+        /**
+         * Size in bytes.
+         */
+        private final long size;
+
+        /**
+         * Time of last access by access counter.
+         */
+        private final AtomicLong access;
+
+        /**
+         * Amount of accesses.
+         */
+        private final AtomicLong hits;
+
+        /**
+         * Ctor.
+         * @param key Key
+         * @param size Size in bytes
+         * @param access Time of last access
+         */
+        Entry(final Key key, final long size, final long access) {
+            this.key = key;
+            this.size = size;
+            this.access = new AtomicLong(access);
+            this.hits = new AtomicLong(1);
+        }
+
+        /**
+         * Snapshot of usage for eviction.
+         * @return Candidate
+         */
+        Candidate candidate() {
+            return new Candidate(this.key, this.access.get(), this.hits.get());
+        }
+    }
+
+    /**
+     * Snapshot of file usage.
+     * @since 1.0
+     */
+    private static final class Candidate {
+
+        /**
+         * Key.
+         */
+        private final Key key;
+
+        /**
+         * Time of last access.
+         */
+        private final long access;
+
+        /**
+         * Amount of accesses.
+         */
+        private final long hits;
+
+        /**
+         * Ctor.
+         * @param key Key
+         * @param access Time of last access
+         * @param hits Amount of accesses
+         */
+        Candidate(final Key key, final long access, final long hits) {
+            this.key = key;
+            this.access = access;
+            this.hits = hits;
+        }
+    }
+}
@@ -7,6 +7,7 @@ package com.artipie.files;
 import com.artipie.asto.Key;
 import com.artipie.asto.Meta;
 import com.artipie.asto.Storage;
+import com.artipie.asto.ValueNotFoundException;
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
 import com.artipie.http.Slice;
@@ -21,17 +22,19 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 import org.reactivestreams.Publisher;
 
 /**
  * Slice that returns metadata of a file when user requests it.
+ * <p>
+ * Metadata is read with single {@link Storage#metadata(Key)} call. Build
+ * this slice for each request with {@link ConditionalSlice} to share one
+ * lookup with the wrapped slice, as {@link FilesSlice} does, or wrap the
+ * storage with {@link MetaCacheStorage} to share it between requests.
+ * </p>
  *
  * @since 1.0
- * @todo #107:30min Add test coverage for `FileMetaSlice`
- *  We should test that this slice return expected metadata (`X-Artipie-MD5`,
- *  `X-Artipie-Size` and `X-Artipie-CreatedAt`) when an user specify URL parameter
- *  `meta` to true. We should also check that nothing is return in the opposite case.
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 public final class FileMetaSlice implements Slice {
@@ -74,24 +77,19 @@ public final class FileMetaSlice implements Slice {
         if (meta.isPresent() && Boolean.parseBoolean(meta.get())) {
             final Key key = new KeyFromPath(uri.getPath());
             response = new AsyncResponse(
-                this.storage.exists(key)
-                    .thenCompose(
-                        exist -> {
-                            final CompletionStage<Response> result;
-                            if (exist) {
-                                result = this.storage.metadata(key)
-                                    .thenApply(
-                                        mtd -> new RsWithHeaders(
-                                            raw,
-                                            new FileHeaders(mtd)
-                                        )
-                                    );
-                            } else {
-                                result = CompletableFuture.completedFuture(raw);
-                            }
-                            return result;
+                this.storage.metadata(key).handle(
+                    (mtd, err) -> {
+                        final CompletableFuture<Response> result = new CompletableFuture<>();
+                        if (err == null) {
+                            result.complete(new RsWithHeaders(raw, new FileHeaders(mtd)));
+                        } else if (FileMetaSlice.notFound(err)) {
+                            result.complete(raw);
+                        } else {
+                            result.completeExceptionally(err);
                         }
-                    )
+                        return result;
+                    }
+                ).thenCompose(Function.identity())
             );
         } else {
             response = raw;
@@ -99,6 +97,16 @@ public final class FileMetaSlice implements Slice {
         return response;
     }
 
+    /**
+     * Is error caused by absent value.
+     * @param err Error
+     * @return True if value was not found
+     */
+    static boolean notFound(final Throwable err) {
+        return err instanceof ValueNotFoundException
+            || err.getCause() instanceof ValueNotFoundException;
+    }
+
     /**
      * File headers from Meta.
      * @since 1.0
@@ -125,7 +133,9 @@ public final class FileMetaSlice implements Slice {
             fmtd.put(Meta.OP_SIZE, "X-Artipie-Size");
             final Map<String, String> hdrs = new HashMap<>();
             for (final Map.Entry<Meta.OpRWSimple<?>, String> entry : fmtd.entrySet()) {
-                hdrs.put(entry.getValue(), mtd.read(entry.getKey()).get().toString());
+                mtd.read(entry.getKey()).ifPresent(
+                    val -> hdrs.put(entry.getValue(), val.toString())
+                );
             }
             return new Headers.From(hdrs.entrySet());
         }
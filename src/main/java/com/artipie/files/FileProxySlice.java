@@ -5,11 +5,9 @@
 package com.artipie.files;
 
 import com.artipie.asto.Content;
+import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
 import com.artipie.asto.cache.Cache;
-import com.artipie.asto.cache.CacheControl;
-import com.artipie.asto.cache.FromRemoteCache;
-import com.artipie.asto.cache.Remote;
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
 import com.artipie.http.Slice;
@@ -23,18 +21,30 @@ import com.artipie.http.rs.RsFull;
 import com.artipie.http.rs.RsStatus;
 import com.artipie.http.rs.RsWithStatus;
 import com.artipie.http.slice.KeyFromPath;
-import io.reactivex.Flowable;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import org.reactivestreams.Publisher;
 
 /**
  * Binary files proxy {@link Slice} implementation.
+ * <p>
+ * {@code Range} header of requests only gets {@code 416 Range Not
+ * Satisfiable} response for ranges out of the file, see {@link RangeSlice}.
+ * It isn't sent to remote, the whole file is loaded on cache miss and
+ * satisfiable ranges are answered with the whole file, so proxied downloads
+ * can't be resumed.
+ * </p>
+ * <p>
+ * Paths under {@code .meta} and {@code .parts} are reserved for metadata and
+ * partial writes kept in cache storage, they are not found, see
+ * {@link ReservedSlice}.
+ * </p>
  * @since 0.4
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
@@ -48,7 +58,12 @@ public final class FileProxySlice implements Slice {
     /**
      * Cache.
      */
-    private final Cache cache;
+    private final ProxyCache cache;
+
+    /**
+     * Loads of content in flight.
+     */
+    private final SingleFlight<String, Optional<ProxiedFile>> flights;
 
     /**
      * New files proxy slice.
@@ -61,6 +76,11 @@ public final class FileProxySlice implements Slice {
 
     /**
      * New files proxy slice.
+     * <p>
+     * Cached files are revalidated with remote on each request, remote
+     * response headers are kept next to cached files and cached file is
+     * served with them if remote fails, see {@link RevalidatingCache}.
+     * </p>
      * @param clients HTTP clients
      * @param remote Remote URI
      * @param auth Authenticator
@@ -70,8 +90,7 @@ public final class FileProxySlice implements Slice {
     public FileProxySlice(final ClientSlices clients, final URI remote,
         final Authenticator auth, final Storage asto) {
         this(
-            new AuthClientSlice(new UriClientSlice(clients, remote), auth),
-            new FromRemoteCache(asto)
+            clients, remote, auth, new RevalidatingCache(asto, new Freshness.MaxAge(Duration.ZERO))
         );
     }
 
@@ -88,6 +107,19 @@ public final class FileProxySlice implements Slice {
         this(new AuthClientSlice(new UriClientSlice(clients, remote), auth), cache);
     }
 
+    /**
+     * New files proxy slice.
+     * @param clients HTTP clients
+     * @param remote Remote URI
+     * @param auth Authenticator
+     * @param cache Proxy cache
+     * @checkstyle ParameterNumberCheck (500 lines)
+     */
+    public FileProxySlice(final ClientSlices clients, final URI remote,
+        final Authenticator auth, final ProxyCache cache) {
+        this(new AuthClientSlice(new UriClientSlice(clients, remote), auth), cache);
+    }
+
     /**
      * Ctor.
      *
@@ -95,55 +127,103 @@ public final class FileProxySlice implements Slice {
      * @param cache Cache
      */
     FileProxySlice(final Slice remote, final Cache cache) {
+        this(remote, new AstoProxyCache(cache));
+    }
+
+    /**
+     * New files proxy slice.
+     * <p>
+     * Remote slice may be decorated, e.g. with {@link LimitedSlice}.
+     * </p>
+     * @param remote Remote slice
+     * @param cache Proxy cache
+     */
+    public FileProxySlice(final Slice remote, final ProxyCache cache) {
         this.remote = remote;
         this.cache = cache;
+        this.flights = new SingleFlight<>();
     }
 
     @Override
     public Response response(
-        final String line, final Iterable<Map.Entry<String, String>> ignored,
+        final String line, final Iterable<Map.Entry<String, String>> headers,
         final Publisher<ByteBuffer> pub
     ) {
-        final AtomicReference<Headers> headers = new AtomicReference<>();
+        return new RangeSlice(
+            new ReservedSlice(
+                (rqline, rqheaders, rqbody) -> this.proxied(rqline),
+                ProxyMeta.ROOT, TeeContent.PARTS
+            )
+        ).response(line, headers, pub);
+    }
+
+    /**
+     * Response of remote or cached content.
+     * <p>
+     * Concurrent requests of the same key are coalesced: only the first
+     * one loads content, others wait for it and read content from cache.
+     * </p>
+     * @param line Request line
+     * @return Response
+     */
+    private Response proxied(final String line) {
+        final Key key = new KeyFromPath(new RequestLineFrom(line).uri().getPath());
+        final Function<Headers, Response> upstream =
+            headers -> this.remote.response(line, headers, Content.EMPTY);
         return new AsyncResponse(
-            this.cache.load(
-                new KeyFromPath(new RequestLineFrom(line).uri().getPath()),
-                new Remote.WithErrorHandling(
-                    () -> {
-                        final CompletableFuture<Optional<? extends Content>> promise =
-                            new CompletableFuture<>();
-                        this.remote.response(line, Headers.EMPTY, Content.EMPTY).send(
-                            (rsstatus, rsheaders, rsbody) -> {
-                                final CompletableFuture<Void> term = new CompletableFuture<>();
-                                headers.set(rsheaders);
-                                if (rsstatus.success()) {
-                                    final Flowable<ByteBuffer> body = Flowable.fromPublisher(rsbody)
-                                        .doOnError(term::completeExceptionally)
-                                        .doOnTerminate(() -> term.complete(null));
-                                    promise.complete(Optional.of(new Content.From(body)));
-                                } else {
-                                    promise.complete(Optional.empty());
-                                }
-                                return term;
-                            }
-                        );
-                        return promise;
-                    }
-                ),
-                CacheControl.Standard.ALWAYS
+            this.flights.run(
+                key.string(),
+                () -> this.cache.load(key, upstream),
+                first -> this.reload(key, upstream, first)
             ).handle(
-                (content, throwable) -> {
-                    final CompletableFuture<Response> result = new CompletableFuture<>();
-                    if (throwable == null && content.isPresent()) {
-                        result.complete(
-                            new RsFull(RsStatus.OK, new Headers.From(headers.get()), content.get())
+                (loaded, throwable) -> {
+                    final Response result;
+                    if (throwable == null && loaded.isPresent()) {
+                        result = new RsFull(
+                            RsStatus.OK, loaded.get().headers(), loaded.get().content()
                         );
                     } else {
-                        result.complete(new RsWithStatus(RsStatus.NOT_FOUND));
+                        result = new RsWithStatus(RsStatus.NOT_FOUND);
                     }
                     return result;
                 }
-            ).thenCompose(Function.identity())
+            )
         );
     }
+
+    /**
+     * Load content for request which waited for another one.
+     * <p>
+     * Content found by the first request is read from cache, it is loaded
+     * again only if cache doesn't keep it.
+     * </p>
+     * @param key Content key
+     * @param upstream Remote response by request headers
+     * @param first Content loaded by the first request
+     * @return Loaded content
+     */
+    private CompletionStage<Optional<ProxiedFile>> reload(final Key key,
+        final Function<Headers, Response> upstream, final Optional<ProxiedFile> first) {
+        final CompletionStage<Optional<ProxiedFile>> res;
+        if (first.isPresent()) {
+            res = this.cache.cached(key).thenCompose(
+                cached -> {
+                    final CompletionStage<Optional<ProxiedFile>> loaded;
+                    if (cached.isPresent()) {
+                        loaded = CompletableFuture.completedFuture(
+                            Optional.of(
+                                new ProxiedFile(first.get().headers(), cached.get().content())
+                            )
+                        );
+                    } else {
+                        loaded = this.cache.load(key, upstream);
+                    }
+                    return loaded;
+                }
+            );
+        } else {
+            res = CompletableFuture.completedFuture(first);
+        }
+        return res;
+    }
 }
@@ -33,6 +33,11 @@ import java.util.regex.Pattern;
 
 /**
  * A {@link Slice} which servers binary files.
+ * <p>
+ * Data of uploads in progress is kept in the same storage under
+ * {@code .uploads} key, so requests of this key and of keys under it are
+ * answered with {@code 404 Not Found} and listings don't contain them.
+ * </p>
  *
  * @since 0.1
  * @todo #91:30min Test FileSlice when listing blobs by prefix in JSON.
@@ -40,6 +45,7 @@ import java.util.regex.Pattern;
  *  to list blobs in JSON from a prefix. We should now test that the type
  *  and value of response's content are correct when we make a request.
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
  */
 public final class FilesSlice extends Slice.Wrap {
 
@@ -78,94 +84,26 @@ public final class FilesSlice extends Slice.Wrap {
      * @param auth Auth details.
      */
     public FilesSlice(final Storage storage, final Permissions perms, final Authentication auth) {
+        this(storage, perms, auth, Metrics.NOP);
+    }
+
+    /**
+     * Ctor with metrics, requests are reported with operation tag:
+     * {@code head}, {@code get}, {@code list.text}, {@code list.json},
+     * {@code list.html}, {@code put}, {@code delete}, {@code upload} for
+     * requests of {@link MultipartSlice} or {@code session} for requests of
+     * {@link ResumableSlice}.
+     * @param storage The storage. And default parameters for free access.
+     * @param perms Access permissions.
+     * @param auth Auth details.
+     * @param metrics Metrics
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public FilesSlice(final Storage storage, final Permissions perms, final Authentication auth,
+        final Metrics metrics) {
         super(
-            new SliceRoute(
-                new RtRulePath(
-                    new ByMethodsRule(RqMethod.HEAD),
-                    new BasicAuthSlice(
-                        new SliceWithHeaders(
-                            new FileMetaSlice(
-                                new HeadSlice(storage),
-                                storage
-                            ),
-                            new Headers.From(new ContentType(FilesSlice.OCTET_STREAM))
-                        ),
-                        auth,
-                        new Permission.ByName(perms, Action.Standard.READ)
-                    )
-                ),
-                new RtRulePath(
-                    ByMethodsRule.Standard.GET,
-                    new BasicAuthSlice(
-                        new SliceRoute(
-                            new RtRulePath(
-                                new RtRule.ByHeader(
-                                    Accept.NAME,
-                                    Pattern.compile(FilesSlice.PLAIN_TEXT)
-                                ),
-                                new ListBlobsSlice(
-                                    storage,
-                                    BlobListFormat.Standard.TEXT,
-                                    FilesSlice.PLAIN_TEXT
-                                )
-                            ),
-                            new RtRulePath(
-                                new RtRule.ByHeader(
-                                    Accept.NAME,
-                                    Pattern.compile(FilesSlice.JSON)
-                                ),
-                                new ListBlobsSlice(
-                                    storage,
-                                    BlobListFormat.Standard.JSON,
-                                    FilesSlice.JSON
-                                )
-                            ),
-                            new RtRulePath(
-                                new RtRule.ByHeader(
-                                    Accept.NAME,
-                                    Pattern.compile(FilesSlice.HTML_TEXT)
-                                ),
-                                new ListBlobsSlice(
-                                    storage,
-                                    BlobListFormat.Standard.HTML,
-                                    FilesSlice.HTML_TEXT
-                                )
-                            ),
-                            new RtRulePath(
-                                RtRule.FALLBACK,
-                                new SliceWithHeaders(
-                                    new FileMetaSlice(
-                                        new SliceDownload(storage),
-                                        storage
-                                    ),
-                                    new Headers.From(new ContentType(FilesSlice.OCTET_STREAM))
-                                )
-                            )
-                        ),
-                        auth,
-                        new Permission.ByName(perms, Action.Standard.READ)
-                    )
-                ),
-                new RtRulePath(
-                    ByMethodsRule.Standard.PUT,
-                    new BasicAuthSlice(
-                        new SliceUpload(storage),
-                        auth,
-                        new Permission.ByName(perms, Action.Standard.WRITE)
-                    )
-                ),
-                new RtRulePath(
-                    ByMethodsRule.Standard.DELETE,
-                    new BasicAuthSlice(
-                        new SliceDelete(storage),
-                        auth,
-                        new Permission.ByName(perms, Action.Standard.DELETE)
-                    )
-                ),
-                new RtRulePath(
-                    RtRule.FALLBACK,
-                    new SliceSimple(new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED))
-                )
+            new ReservedSlice(
+                FilesSlice.routes(storage, perms, auth, metrics), MultipartSlice.ROOT
             )
         );
     }
@@ -182,4 +120,191 @@ public final class FilesSlice extends Slice.Wrap {
         );
         server.start();
     }
+
+    /**
+     * Slice which routes requests by method and accepted mime type.
+     * @param storage Storage
+     * @param perms Access permissions
+     * @param auth Authentication
+     * @param metrics Metrics
+     * @return Routing slice
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static Slice routes(final Storage storage, final Permissions perms,
+        final Authentication auth, final Metrics metrics) {
+        final Storage listed = new ReservedKeysStorage(storage, MultipartSlice.ROOT);
+        return new SliceRoute(
+            new RtRulePath(
+                new RtRule.Any(ResumableSlice.REQUESTS, MultipartSlice.REQUESTS),
+                FilesSlice.uploads(storage, perms, auth, metrics)
+            ),
+            new RtRulePath(
+                new ByMethodsRule(RqMethod.HEAD),
+                new MeteredSlice(
+                    FilesSlice.secured(
+                        new ConditionalSlice(
+                            sto -> FilesSlice.blob(new HeadSlice(sto), sto), storage
+                        ),
+                        Action.Standard.READ, perms, auth
+                    ),
+                    metrics, "head"
+                )
+            ),
+            new RtRulePath(
+                FilesSlice.accepts(FilesSlice.PLAIN_TEXT),
+                new MeteredSlice(
+                    FilesSlice.secured(
+                        new ListBlobsSlice(
+                            listed, BlobListFormat.Standard.TEXT, FilesSlice.PLAIN_TEXT
+                        ),
+                        Action.Standard.READ, perms, auth
+                    ),
+                    metrics, "list.text"
+                )
+            ),
+            new RtRulePath(
+                FilesSlice.accepts(FilesSlice.JSON),
+                new MeteredSlice(
+                    FilesSlice.secured(
+                        new ListBlobsSlice(
+                            listed, BlobListFormat.Standard.JSON, FilesSlice.JSON
+                        ),
+                        Action.Standard.READ, perms, auth
+                    ),
+                    metrics, "list.json"
+                )
+            ),
+            new RtRulePath(
+                FilesSlice.accepts(FilesSlice.HTML_TEXT),
+                new MeteredSlice(
+                    FilesSlice.secured(
+                        new ListBlobsSlice(
+                            listed, BlobListFormat.Standard.HTML, FilesSlice.HTML_TEXT
+                        ),
+                        Action.Standard.READ, perms, auth
+                    ),
+                    metrics, "list.html"
+                )
+            ),
+            new RtRulePath(
+                ByMethodsRule.Standard.GET,
+                new MeteredSlice(
+                    FilesSlice.secured(
+                        FilesSlice.download(storage),
+                        Action.Standard.READ, perms, auth
+                    ),
+                    metrics, "get"
+                )
+            ),
+            new RtRulePath(
+                ByMethodsRule.Standard.PUT,
+                new MeteredSlice(
+                    FilesSlice.secured(
+                        new SliceUpload(storage),
+                        Action.Standard.WRITE, perms, auth
+                    ),
+                    metrics, "put"
+                )
+            ),
+            new RtRulePath(
+                ByMethodsRule.Standard.DELETE,
+                new MeteredSlice(
+                    FilesSlice.secured(
+                        new SliceDelete(storage),
+                        Action.Standard.DELETE, perms, auth
+                    ),
+                    metrics, "delete"
+                )
+            ),
+            new RtRulePath(
+                RtRule.FALLBACK,
+                new SliceSimple(new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED))
+            )
+        );
+    }
+
+    /**
+     * Slice which uploads files in sessions or in parts.
+     * @param storage Storage
+     * @param perms Access permissions
+     * @param auth Authentication
+     * @param metrics Metrics
+     * @return Upload slice
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static Slice uploads(final Storage storage, final Permissions perms,
+        final Authentication auth, final Metrics metrics) {
+        return new SliceRoute(
+            new RtRulePath(
+                ResumableSlice.REQUESTS,
+                new MeteredSlice(
+                    FilesSlice.secured(
+                        new ResumableSlice(storage), Action.Standard.WRITE, perms, auth
+                    ),
+                    metrics, "session"
+                )
+            ),
+            new RtRulePath(
+                RtRule.FALLBACK,
+                new MeteredSlice(
+                    FilesSlice.secured(
+                        new MultipartSlice(storage), Action.Standard.WRITE, perms, auth
+                    ),
+                    metrics, "upload"
+                )
+            )
+        );
+    }
+
+    /**
+     * Slice which requires permission to perform action.
+     * @param origin Slice
+     * @param action Action
+     * @param perms Access permissions
+     * @param auth Authentication
+     * @return Slice with basic authentication
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private static Slice secured(final Slice origin, final Action action,
+        final Permissions perms, final Authentication auth) {
+        return new BasicAuthSlice(origin, auth, new Permission.ByName(perms, action));
+    }
+
+    /**
+     * Rule of {@code GET} requests which accept given mime type.
+     * @param mime Mime type
+     * @return Rule
+     */
+    private static RtRule accepts(final String mime) {
+        return new RtRule.All(
+            ByMethodsRule.Standard.GET,
+            new RtRule.ByHeader(Accept.NAME, Pattern.compile(mime))
+        );
+    }
+
+    /**
+     * Slice which downloads blobs.
+     * @param storage Storage
+     * @return Download slice
+     */
+    private static Slice download(final Storage storage) {
+        return new RangeSlice(
+            new ConditionalSlice(
+                sto -> FilesSlice.blob(new SliceDownload(sto), sto), storage
+            )
+        );
+    }
+
+    /**
+     * Slice which serves blob with metadata as binary content.
+     * @param origin Blob slice
+     * @param storage Storage
+     * @return Blob slice
+     */
+    private static Slice blob(final Slice origin, final Storage storage) {
+        return new SliceWithHeaders(
+            new FileMetaSlice(origin, storage),
+            new Headers.From(new ContentType(FilesSlice.OCTET_STREAM))
+        );
+    }
 }
@@ -0,0 +1,172 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.http.Headers;
+import com.artipie.http.rq.RqHeaders;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Freshness policy of proxied files.
+ * <p>
+ * Defines for how long file loaded from remote is served from cache
+ * without revalidation.
+ * </p>
+ *
+ * @since 1.0
+ */
+public interface Freshness {
+
+    /**
+     * Freshness lifetime of file.
+     * @param headers Remote response headers
+     * @return Lifetime, zero if file must be revalidated on each request
+     */
+    Duration ttl(Headers headers);
+
+    /**
+     * Fixed freshness lifetime.
+     * @since 1.0
+     */
+    final class MaxAge implements Freshness {
+
+        /**
+         * Lifetime.
+         */
+        private final Duration age;
+
+        /**
+         * Ctor.
+         * @param age Lifetime
+         */
+        public MaxAge(final Duration age) {
+            this.age = age;
+        }
+
+        @Override
+        public Duration ttl(final Headers headers) {
+            return this.age;
+        }
+    }
+
+    /**
+     * Freshness lifetime from remote {@code Cache-Control} or {@code Expires}
+     * response headers.
+     * <p>
+     * {@code no-store} and {@code no-cache} directives mean zero lifetime,
+     * {@code s-maxage} has precedence over {@code max-age}, and both have
+     * precedence over {@code Expires}. If remote sets none of them, the
+     * lifetime is defined by fallback policy.
+     * </p>
+     * @since 1.0
+     */
+    final class Upstream implements Freshness {
+
+        /**
+         * Max age directive.
+         */
+        private static final Pattern AGE = Pattern.compile("^(s-maxage|max-age)=\"?(\\d+)\"?$");
+
+        /**
+         * Greatest lifetime in seconds, larger values are clamped to it as
+         * RFC 7234 section 1.2.1 suggests.
+         */
+        private static final long MAX_DELTA = 2_147_483_648L;
+
+        /**
+         * Fallback policy.
+         */
+        private final Freshness fallback;
+
+        /**
+         * Ctor.
+         * @param fallback Policy for responses without freshness headers
+         */
+        public Upstream(final Freshness fallback) {
+            this.fallback = fallback;
+        }
+
+        @Override
+        public Duration ttl(final Headers headers) {
+            final Map<String, Duration> directives = Upstream.directives(headers);
+            return Stream.of("no-store", "no-cache", "s-maxage", "max-age")
+                .map(directives::get)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseGet(() -> this.expires(headers));
+        }
+
+        /**
+         * Lifetimes by {@code Cache-Control} directive.
+         * @param headers Remote response headers
+         * @return Zero lifetime for {@code no-store} and {@code no-cache},
+         *  value of {@code s-maxage} and {@code max-age}
+         */
+        private static Map<String, Duration> directives(final Headers headers) {
+            final Map<String, Duration> res = new HashMap<>();
+            for (final String value : new RqHeaders(headers, "Cache-Control")) {
+                for (final String item : value.split(",")) {
+                    final String directive = item.trim().toLowerCase(Locale.US);
+                    final Matcher matcher = Upstream.AGE.matcher(directive);
+                    if (matcher.matches()) {
+                        res.put(
+                            matcher.group(1),
+                            Upstream.seconds(matcher.group(2))
+                        );
+                    } else {
+                        res.put(directive, Duration.ZERO);
+                    }
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Lifetime in seconds, clamped to {@link #MAX_DELTA}.
+         * @param digits Decimal digits of any length
+         * @return Lifetime
+         */
+        private static Duration seconds(final String digits) {
+            final long res;
+            if (digits.length() > String.valueOf(Upstream.MAX_DELTA).length()) {
+                res = Upstream.MAX_DELTA;
+            } else {
+                res = Math.min(Long.parseLong(digits), Upstream.MAX_DELTA);
+            }
+            return Duration.ofSeconds(res);
+        }
+
+        /**
+         * Lifetime from {@code Expires} and {@code Date} headers.
+         * @param headers Remote response headers
+         * @return Lifetime, zero for invalid date
+         */
+        private Duration expires(final Headers headers) {
+            final RqHeaders expires = new RqHeaders(headers, "Expires");
+            final Duration res;
+            if (expires.isEmpty()) {
+                res = this.fallback.ttl(headers);
+            } else {
+                res = new HttpDate(expires.get(0)).time().map(
+                    time -> Duration.between(
+                        new RqHeaders(headers, "Date").stream().findFirst()
+                            .flatMap(value -> new HttpDate(value).time())
+                            .orElseGet(Instant::now),
+                        time
+                    )
+                ).filter(ttl -> !ttl.isNegative()).orElse(Duration.ZERO);
+            }
+            return res;
+        }
+    }
+}
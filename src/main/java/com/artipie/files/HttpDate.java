@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Date in HTTP headers format, e.g. {@code Sun, 06 Nov 1994 08:49:37 GMT}.
+ * @since 1.0
+ */
+final class HttpDate {
+
+    /**
+     * HTTP date format.
+     */
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter
+        .ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US)
+        .withZone(ZoneOffset.UTC);
+
+    /**
+     * Header value.
+     */
+    private final String value;
+
+    /**
+     * Ctor.
+     * @param time Time
+     */
+    HttpDate(final Instant time) {
+        this(HttpDate.FORMAT.format(time));
+    }
+
+    /**
+     * Ctor.
+     * @param value Header value
+     */
+    HttpDate(final String value) {
+        this.value = value;
+    }
+
+    /**
+     * Parse date.
+     * @return Time if value is valid date
+     */
+    public Optional<Instant> time() {
+        Optional<Instant> res;
+        try {
+            res = Optional.of(
+                ZonedDateTime.parse(this.value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant()
+            );
+        } catch (final DateTimeParseException ex) {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import com.artipie.http.ArtipieHttpException;
+import com.artipie.http.rs.RsStatus;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.BiFunction;
+
+/**
+ * Page of keys listing.
+ * <p>
+ * Keys are ordered by {@link Key#CMP_STRING}, page contains at most
+ * {@code limit} keys placed after the key encoded in {@code after} cursor.
+ * Only {@code limit} keys are kept in memory to select the page, the whole
+ * listing is never sorted.
+ * </p>
+ * <p>
+ * Storage has no paged listing, so the whole recursive listing of the
+ * prefix is still loaded in memory for every page, even with a cursor:
+ * paging bounds the size of the response and the sort, not the memory
+ * used to list keys of large trees.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class KeysPage {
+
+    /**
+     * All keys.
+     */
+    private final Collection<? extends Key> all;
+
+    /**
+     * Max amount of keys on the page.
+     */
+    private final Optional<String> limit;
+
+    /**
+     * Cursor of the previous page.
+     */
+    private final Optional<String> after;
+
+    /**
+     * Ctor.
+     * @param all All keys
+     * @param limit Max amount of keys on the page
+     * @param after Cursor of the previous page
+     */
+    KeysPage(final Collection<? extends Key> all, final Optional<String> limit,
+        final Optional<String> after) {
+        this.all = all;
+        this.limit = limit;
+        this.after = after;
+    }
+
+    /**
+     * Apply function to keys of the page and cursor of the next page.
+     * @param func Function to apply
+     * @param <T> Result type
+     * @return Function result
+     * @throws ArtipieHttpException If limit or cursor is invalid
+     */
+    public <T> T apply(
+        final BiFunction<? super Collection<? extends Key>, Optional<String>, T> func
+    ) {
+        final T res;
+        if (this.limit.isPresent() || this.after.isPresent()) {
+            final List<Key> page = this.select();
+            final int max = this.max();
+            if (page.size() > max) {
+                res = func.apply(
+                    page.subList(0, max), Optional.of(KeysPage.encode(page.get(max - 1)))
+                );
+            } else {
+                res = func.apply(page, Optional.empty());
+            }
+        } else {
+            res = func.apply(this.all, Optional.empty());
+        }
+        return res;
+    }
+
+    /**
+     * Select up to {@code limit + 1} smallest keys after the cursor, sorted.
+     * @return Sorted keys
+     */
+    private List<Key> select() {
+        final String from = this.after.map(KeysPage::decode).orElse("");
+        final long keep = (long) this.max() + 1;
+        final PriorityQueue<Key> top = new PriorityQueue<>(Key.CMP_STRING.reversed());
+        for (final Key key : this.all) {
+            if (key.string().compareTo(from) > 0) {
+                top.add(key);
+                if (top.size() > keep) {
+                    top.poll();
+                }
+            }
+        }
+        final List<Key> res = new ArrayList<>(top);
+        Collections.sort(res, Key.CMP_STRING);
+        return res;
+    }
+
+    /**
+     * Max amount of keys on the page.
+     * @return Limit, unlimited if not specified
+     */
+    private int max() {
+        final int res;
+        if (this.limit.isPresent()) {
+            try {
+                res = Integer.parseInt(this.limit.get());
+            } catch (final NumberFormatException err) {
+                throw new ArtipieHttpException(
+                    RsStatus.BAD_REQUEST,
+                    String.format("Invalid limit `%s`", this.limit.get()),
+                    err
+                );
+            }
+            if (res <= 0) {
+                throw new ArtipieHttpException(
+                    RsStatus.BAD_REQUEST, "Limit should be positive"
+                );
+            }
+        } else {
+            res = Integer.MAX_VALUE;
+        }
+        return res;
+    }
+
+    /**
+     * Encode key to cursor.
+     * @param key Last key of the page
+     * @return Cursor
+     */
+    private static String encode(final Key key) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(key.string().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode cursor.
+     * @param cursor Cursor
+     * @return Last key of the previous page
+     */
+    private static String decode(final String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (final IllegalArgumentException err) {
+            throw new ArtipieHttpException(
+                RsStatus.BAD_REQUEST, String.format("Invalid cursor `%s`", cursor), err
+            );
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ValueNotFoundException;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Storage which already knows metadata of one key.
+ * <p>
+ * {@link Storage#metadata(Key)} and {@link Storage#exists(Key)} of this key
+ * are answered from metadata looked up before, other operations are
+ * passed to origin storage. Metadata must be known only for existing blob,
+ * since storages may provide metadata of keys which don't exist as blobs,
+ * like directories of file storage. It's created for single request, so
+ * slices serving the request share one metadata lookup.
+ * </p>
+ *
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class KnownMetaStorage implements Storage {
+
+    /**
+     * Origin storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Known key.
+     */
+    private final Key known;
+
+    /**
+     * Metadata of known key if it's existing blob, empty if it's missing.
+     */
+    private final Optional<Meta> meta;
+
+    /**
+     * Ctor.
+     * @param origin Origin storage
+     * @param known Known key
+     * @param meta Metadata of known key if it's existing blob, empty if it's missing
+     */
+    KnownMetaStorage(final Storage origin, final Key known, final Optional<Meta> meta) {
+        this.origin = origin;
+        this.known = known;
+        this.meta = meta;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final Key key) {
+        final CompletableFuture<Boolean> res;
+        if (this.same(key)) {
+            res = CompletableFuture.completedFuture(this.meta.isPresent());
+        } else {
+            res = this.origin.exists(key);
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Collection<Key>> list(final Key prefix) {
+        return this.origin.list(prefix);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        return this.origin.save(key, content);
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        return this.origin.move(source, destination);
+    }
+
+    @Override
+    public CompletableFuture<? extends Meta> metadata(final Key key) {
+        final CompletableFuture<Meta> res;
+        if (this.same(key) && this.meta.isPresent()) {
+            res = CompletableFuture.completedFuture(this.meta.get());
+        } else if (this.same(key)) {
+            res = new CompletableFuture<>();
+            res.completeExceptionally(new ValueNotFoundException(key));
+        } else {
+            res = this.origin.metadata(key).thenApply(Function.identity());
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        return this.origin.value(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        return this.origin.delete(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAll(final Key prefix) {
+        return this.origin.deleteAll(prefix);
+    }
+
+    @Override
+    public <T> CompletionStage<T> exclusively(final Key key,
+        final Function<Storage, CompletionStage<T>> operation) {
+        return this.origin.exclusively(key, operation);
+    }
+
+    /**
+     * Is it the known key.
+     * @param key Key
+     * @return True if key string is the same
+     */
+    private boolean same(final Key key) {
+        return this.known.string().equals(key.string());
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.http.Connection;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice which limits concurrent requests to origin slice.
+ * <p>
+ * Intended to wrap remote slice of {@link FileProxySlice}, so slow remote
+ * doesn't pile up unbounded amount of requests in proxy. At most
+ * {@code concurrency} requests are sent to origin at the same time, request
+ * is in flight until its response body is read. Requests over the limit
+ * wait in the queue of limited size, requests which don't fit the queue
+ * fail fast with {@code 503 Service Unavailable}. Request which didn't get
+ * response headers within timeout, including time spent in the queue, is
+ * answered with {@code 503 Service Unavailable} too. Timed out request
+ * which was sent to origin keeps its place in flight until origin responds
+ * or fails, so hung remote doesn't get more requests than the limit.
+ * Response body fails if origin doesn't send next chunk of it within
+ * timeout.
+ * </p>
+ * <pre>{@code
+ * new FileProxySlice(
+ *     new LimitedSlice(
+ *         new AuthClientSlice(new UriClientSlice(clients, remote), auth),
+ *         50, 200, Duration.ofSeconds(30)
+ *     ),
+ *     new RevalidatingCache(storage, new Freshness.MaxAge(Duration.ofMinutes(10)))
+ * )
+ * }</pre>
+ * <p>
+ * Connection pooling and connect timeouts are configured in HTTP client
+ * of {@link com.artipie.http.client.ClientSlices}.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class LimitedSlice implements Slice {
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Max amount of requests in flight.
+     */
+    private final int concurrency;
+
+    /**
+     * Max amount of waiting requests.
+     */
+    private final int queue;
+
+    /**
+     * Timeout in milliseconds.
+     */
+    private final long timeout;
+
+    /**
+     * Waiting requests.
+     */
+    private final Deque<Runnable> waiting;
+
+    /**
+     * Amount of requests in flight.
+     */
+    private final AtomicInteger active;
+
+    /**
+     * Ctor.
+     * @param origin Origin slice
+     * @param concurrency Max amount of requests in flight
+     * @param queue Max amount of waiting requests
+     * @param timeout Timeout of response headers and of each body chunk
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public LimitedSlice(final Slice origin, final int concurrency, final int queue,
+        final Duration timeout) {
+        this.origin = origin;
+        this.concurrency = concurrency;
+        this.queue = queue;
+        this.timeout = timeout.toMillis();
+        this.waiting = new ArrayDeque<>(queue);
+        this.active = new AtomicInteger();
+    }
+
+    @Override
+    public Response response(
+        final String line, final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        return connection -> new Call(connection).start(
+            () -> this.origin.response(line, headers, body)
+        );
+    }
+
+    /**
+     * Take place in flight or in the queue.
+     * @param task Task to run when place in flight is taken
+     * @return False if there is no place
+     */
+    private boolean admit(final Runnable task) {
+        final boolean admitted;
+        final boolean run;
+        synchronized (this.waiting) {
+            run = this.active.get() < this.concurrency;
+            if (run) {
+                this.active.incrementAndGet();
+                admitted = true;
+            } else {
+                admitted = this.waiting.size() < this.queue && this.waiting.add(task);
+            }
+        }
+        if (run) {
+            task.run();
+        }
+        return admitted;
+    }
+
+    /**
+     * Leave the queue.
+     * @param task Waiting task
+     * @return True if task was waiting
+     */
+    private boolean leave(final Runnable task) {
+        synchronized (this.waiting) {
+            return this.waiting.remove(task);
+        }
+    }
+
+    /**
+     * Give place in flight to the next waiting request.
+     */
+    private void release() {
+        final Runnable next;
+        synchronized (this.waiting) {
+            next = this.waiting.poll();
+            if (next == null) {
+                this.active.decrementAndGet();
+            }
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+
+    /**
+     * Request to origin slice.
+     * @since 1.0
+     */
+    private final class Call {
+
+        /**
+         * Client connection.
+         */
+        private final Connection connection;
+
+        /**
+         * Completion of response sending.
+         */
+        private final CompletableFuture<Void> sent;
+
+        /**
+         * Is client answered.
+         */
+        private final AtomicBoolean answered;
+
+        /**
+         * Is place in flight released.
+         */
+        private final AtomicBoolean released;
+
+        /**
+         * Ctor.
+         * @param connection Client connection
+         */
+        Call(final Connection connection) {
+            this.connection = connection;
+            this.sent = new CompletableFuture<>();
+            this.answered = new AtomicBoolean();
+            this.released = new AtomicBoolean();
+        }
+
+        /**
+         * Start the call.
+         * @param response Origin response
+         * @return Completion of response sending
+         */
+        CompletionStage<Void> start(final Supplier<Response> response) {
+            final Runnable task = () -> this.send(response);
+            final Disposable timer = Completable.timer(
+                LimitedSlice.this.timeout, TimeUnit.MILLISECONDS
+            ).subscribe(
+                () -> {
+                    if (this.answered.compareAndSet(false, true)) {
+                        LimitedSlice.this.leave(task);
+                        this.unavailable();
+                    }
+                }
+            );
+            if (!LimitedSlice.this.admit(task)) {
+                timer.dispose();
+                this.reject();
+            }
+            return this.sent.whenComplete((nothing, err) -> timer.dispose());
+        }
+
+        /**
+         * Send request to origin and pass response to client.
+         * <p>
+         * Place in flight is released when response body is read, failed
+         * or cancelled, connection may complete earlier while the body is
+         * still streaming. If connection completes without reading the
+         * body, the place is released at once. Response which comes after
+         * the client was answered on timeout has its body cancelled, the
+         * place is released only then, so origin never has more requests
+         * in flight than allowed.
+         * </p>
+         * @param response Origin response
+         */
+        private void send(final Supplier<Response> response) {
+            final AtomicBoolean streamed = new AtomicBoolean();
+            CompletableFuture.<Void>completedFuture(null).thenCompose(
+                nothing -> response.get().send(
+                    (status, headers, body) -> {
+                        final CompletionStage<Void> res;
+                        if (this.answered.compareAndSet(false, true)) {
+                            res = this.connection.accept(
+                                status, headers,
+                                Flowable.fromPublisher(body)
+                                    .timeout(LimitedSlice.this.timeout, TimeUnit.MILLISECONDS)
+                                    .doOnSubscribe(sub -> streamed.set(true))
+                                    .doFinally(this::release)
+                            );
+                            res.whenComplete(this::complete);
+                        } else {
+                            Flowable.fromPublisher(body).take(0).subscribe();
+                            res = CompletableFuture.completedFuture(null);
+                        }
+                        return res;
+                    }
+                )
+            ).whenComplete(
+                (nothing, err) -> {
+                    if (!streamed.get()) {
+                        this.release();
+                    }
+                    if (err != null) {
+                        this.reject();
+                    }
+                }
+            );
+        }
+
+        /**
+         * Answer client with unavailable status unless it's answered.
+         */
+        private void reject() {
+            if (this.answered.compareAndSet(false, true)) {
+                this.unavailable();
+            }
+        }
+
+        /**
+         * Answer client with unavailable status.
+         */
+        private void unavailable() {
+            new RsWithStatus(RsStatus.UNAVAILABLE).send(this.connection)
+                .whenComplete(this::complete);
+        }
+
+        /**
+         * Complete response sending.
+         * @param nothing Result
+         * @param err Error
+         */
+        private void complete(final Void nothing, final Throwable err) {
+            if (err == null) {
+                this.sent.complete(nothing);
+            } else {
+                this.sent.completeExceptionally(err);
+            }
+        }
+
+        /**
+         * Release place in flight once.
+         */
+        private void release() {
+            if (this.released.compareAndSet(false, true)) {
+                LimitedSlice.this.release();
+            }
+        }
+    }
+}
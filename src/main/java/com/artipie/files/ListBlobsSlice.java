@@ -7,18 +7,25 @@ package com.artipie.files;
 import com.artipie.asto.Content;
 import com.artipie.asto.Key;
 import com.artipie.asto.Storage;
+import com.artipie.http.ArtipieHttpException;
 import com.artipie.http.Headers;
 import com.artipie.http.Response;
 import com.artipie.http.Slice;
 import com.artipie.http.async.AsyncResponse;
 import com.artipie.http.headers.ContentType;
+import com.artipie.http.headers.Header;
 import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqParams;
 import com.artipie.http.rs.RsFull;
 import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithStatus;
 import com.artipie.http.slice.KeyFromPath;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import org.reactivestreams.Publisher;
@@ -26,16 +33,48 @@ import org.reactivestreams.Publisher;
 /**
  * This slice lists blobs contained in given path.
  * <p>
- * It formats response content according to {@link Function}
- * formatter.
+ * It formats response content according to {@link BlobListFormat}
+ * formatter and streams it to the client in chunks.
  * It also converts URI path to storage {@link com.artipie.asto.Key}
  * and use it to access storage.
  * </p>
+ * <p>
+ * Listing can be paginated with {@code limit} and {@code after} query
+ * parameters: response contains at most {@code limit} keys ordered by
+ * key string, and {@link #NEXT_CURSOR} header with the value of {@code after}
+ * parameter for the next page if there are more keys.
+ * </p>
+ * <p>
+ * With {@code delimiter=/} query parameter only immediate children of the
+ * path are listed: nested keys are collapsed into common prefixes ending
+ * with {@code /}, see {@link ChildKeys}.
+ * </p>
  *
  * @since 0.8
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
 public final class ListBlobsSlice implements Slice {
 
+    /**
+     * Header with the cursor of the next page.
+     */
+    public static final String NEXT_CURSOR = "X-Artipie-Next-Cursor";
+
+    /**
+     * Query parameter with max amount of keys on the page.
+     */
+    private static final String LIMIT = "limit";
+
+    /**
+     * Query parameter with the cursor of the previous page.
+     */
+    private static final String AFTER = "after";
+
+    /**
+     * Query parameter with keys delimiter for directory view.
+     */
+    private static final String DELIMITER = "delimiter";
+
     /**
      * Storage.
      */
@@ -102,19 +141,71 @@ public final class ListBlobsSlice implements Slice {
                 .thenCompose(
                     uri -> {
                         final Key key = this.transform.apply(uri.getPath());
+                        final RqParams params = new RqParams(uri);
                         return this.storage.list(key)
-                            .thenApply(
-                                keys -> {
-                                    final String text = this.format.apply(keys);
-                                    return new RsFull(
-                                        RsStatus.OK,
-                                        new Headers.From(new ContentType(this.mtype)),
-                                        new Content.From(text.getBytes(StandardCharsets.UTF_8))
-                                    );
-                                }
-                            );
+                            .thenApply(keys -> this.page(key, keys, params));
                     }
                 )
         );
     }
+
+    /**
+     * Response with the page of keys.
+     * @param prefix Listed prefix
+     * @param keys Listed keys
+     * @param params Request parameters
+     * @return Response
+     */
+    private Response page(final Key prefix, final Collection<Key> keys,
+        final RqParams params) {
+        Response res;
+        try {
+            res = new KeysPage(
+                ListBlobsSlice.listed(prefix, keys, params.value(ListBlobsSlice.DELIMITER)),
+                params.value(ListBlobsSlice.LIMIT),
+                params.value(ListBlobsSlice.AFTER)
+            ).apply(
+                (items, next) -> new RsFull(
+                    RsStatus.OK,
+                    next.<Headers>map(
+                        cursor -> new Headers.From(
+                            new ContentType(this.mtype),
+                            new Header(ListBlobsSlice.NEXT_CURSOR, cursor)
+                        )
+                    ).orElseGet(() -> new Headers.From(new ContentType(this.mtype))),
+                    new Content.From(this.format.publisher(items))
+                )
+            );
+        } catch (final ArtipieHttpException err) {
+            res = new RsWithBody(
+                new RsWithStatus(err.status()), err.getMessage(), StandardCharsets.UTF_8
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Keys to list.
+     * @param prefix Listed prefix
+     * @param keys Listed keys
+     * @param delimiter Keys delimiter for directory view
+     * @return All keys or immediate children of the prefix
+     * @throws ArtipieHttpException If delimiter is not supported
+     */
+    private static Collection<? extends Key> listed(final Key prefix,
+        final Collection<Key> keys, final Optional<String> delimiter) {
+        final Collection<? extends Key> res;
+        if (delimiter.isPresent()) {
+            if (!Key.DELIMITER.equals(delimiter.get())) {
+                throw new ArtipieHttpException(
+                    RsStatus.BAD_REQUEST,
+                    String.format("Unsupported delimiter `%s`", delimiter.get())
+                );
+            }
+            res = new ChildKeys(prefix, keys).list();
+        } else {
+            res = keys;
+        }
+        return res;
+    }
 }
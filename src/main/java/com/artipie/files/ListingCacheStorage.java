@@ -0,0 +1,173 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Storage which keeps results of {@link Storage#list(Key)} in memory.
+ * <p>
+ * Listings are cached per prefix string, whatever {@link Key} implementation
+ * requests them, with limited amount of prefixes and time to live. Every
+ * save, move or delete performed through this storage invalidates cached
+ * listings of all prefixes of the changed key, so wrapping
+ * {@link FilesSlice} storage with it keeps listings consistent with uploads
+ * and deletes served by the same slice:
+ * </p>
+ * <pre>{@code
+ * new FilesSlice(new ListingCacheStorage(storage, 1000, Duration.ofMinutes(1)))
+ * }</pre>
+ *
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class ListingCacheStorage implements Storage {
+
+    /**
+     * Origin storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Cached listings by prefix string.
+     */
+    private final BoundedCache<String, Collection<Key>> cache;
+
+    /**
+     * Version of storage content, changed on each invalidation.
+     */
+    private final AtomicLong version;
+
+    /**
+     * Ctor.
+     * @param origin Origin storage
+     * @param size Max amount of cached listings
+     * @param ttl Time to live of cached listing
+     */
+    public ListingCacheStorage(final Storage origin, final int size, final Duration ttl) {
+        this(origin, new BoundedCache<>(size, ttl), new AtomicLong());
+    }
+
+    /**
+     * Primary ctor.
+     * @param origin Origin storage
+     * @param cache Cached listings by prefix string
+     * @param version Version of storage content
+     */
+    private ListingCacheStorage(final Storage origin,
+        final BoundedCache<String, Collection<Key>> cache, final AtomicLong version) {
+        this.origin = origin;
+        this.cache = cache;
+        this.version = version;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final Key key) {
+        return this.origin.exists(key);
+    }
+
+    @Override
+    public CompletableFuture<Collection<Key>> list(final Key prefix) {
+        final Optional<Collection<Key>> cached = this.cache.get(prefix.string());
+        final CompletableFuture<Collection<Key>> res;
+        if (cached.isPresent()) {
+            res = CompletableFuture.completedFuture(cached.get());
+        } else {
+            final long current = this.version.get();
+            res = this.origin.list(prefix).thenApply(
+                keys -> {
+                    final Collection<Key> unmodifiable = Collections.unmodifiableCollection(keys);
+                    synchronized (this.cache) {
+                        if (this.version.get() == current) {
+                            this.cache.put(prefix.string(), unmodifiable);
+                        }
+                    }
+                    return unmodifiable;
+                }
+            );
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        return this.invalidating(this.origin.save(key, content), key);
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        return this.invalidating(this.origin.move(source, destination), source, destination);
+    }
+
+    @Override
+    public CompletableFuture<? extends Meta> metadata(final Key key) {
+        return this.origin.metadata(key);
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        return this.origin.value(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        return this.invalidating(this.origin.delete(key), key);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAll(final Key prefix) {
+        return this.invalidating(this.origin.deleteAll(prefix), prefix);
+    }
+
+    @Override
+    public <T> CompletionStage<T> exclusively(final Key key,
+        final Function<Storage, CompletionStage<T>> operation) {
+        return this.origin.exclusively(
+            key,
+            sto -> operation.apply(new ListingCacheStorage(sto, this.cache, this.version))
+        );
+    }
+
+    /**
+     * Invalidate cached listings of the keys now and again when operation
+     * completes, so lookups which run along with operation aren't cached.
+     * @param operation Storage operation
+     * @param keys Changed keys
+     * @return Operation completed after invalidation
+     */
+    private CompletableFuture<Void> invalidating(final CompletableFuture<Void> operation,
+        final Key... keys) {
+        Arrays.stream(keys).forEach(this::invalidate);
+        return operation.whenComplete(
+            (nothing, err) -> Arrays.stream(keys).forEach(this::invalidate)
+        );
+    }
+
+    /**
+     * Invalidate cached listings of all prefixes of the key.
+     * @param key Changed key
+     */
+    private void invalidate(final Key key) {
+        synchronized (this.cache) {
+            this.version.incrementAndGet();
+            this.cache.invalidate(
+                prefix -> key.string().startsWith(prefix)
+                    || prefix.startsWith(key.string())
+            );
+        }
+    }
+}
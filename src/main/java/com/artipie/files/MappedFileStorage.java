@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.asto.fs.FileStorage;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * File system storage which reads values through memory-mapped regions.
+ * <p>
+ * Values are read as read-only memory-mapped regions of the file of the
+ * given size instead of being copied chunk by chunk into heap buffers, so
+ * downloads of large files don't allocate read buffers and the file data
+ * is read from the page cache directly by the consumer of the content.
+ * Regions are mapped on I/O scheduler as the consumer requests them.
+ * Other operations are performed by {@link FileStorage}, which replaces
+ * saved files by moving, so the file being read is never truncated.
+ * </p>
+ * <pre>{@code
+ * new FilesSlice(new MappedFileStorage(Paths.get("/var/artipie/files")))
+ * }</pre>
+ *
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class MappedFileStorage implements Storage {
+
+    /**
+     * Default size of mapped region.
+     */
+    private static final int REGION = 1024 * 1024;
+
+    /**
+     * Storage directory.
+     */
+    private final Path dir;
+
+    /**
+     * Max size of mapped region in bytes.
+     */
+    private final int region;
+
+    /**
+     * File storage of the same directory.
+     */
+    private final Storage origin;
+
+    /**
+     * Ctor.
+     * @param dir Storage directory
+     */
+    public MappedFileStorage(final Path dir) {
+        this(dir, MappedFileStorage.REGION);
+    }
+
+    /**
+     * Ctor.
+     * @param dir Storage directory
+     * @param region Max size of mapped region in bytes
+     */
+    public MappedFileStorage(final Path dir, final int region) {
+        this.dir = dir;
+        this.region = region;
+        this.origin = new FileStorage(dir);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final Key key) {
+        return this.origin.exists(key);
+    }
+
+    @Override
+    public CompletableFuture<Collection<Key>> list(final Key prefix) {
+        return this.origin.list(prefix);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        return this.origin.save(key, content);
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        return this.origin.move(source, destination);
+    }
+
+    @Override
+    public CompletableFuture<? extends Meta> metadata(final Key key) {
+        return this.origin.metadata(key);
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        return this.origin.metadata(key).thenCompose(
+            meta -> {
+                final Optional<Long> size = meta.read(Meta.OP_SIZE).map(Long::longValue);
+                final CompletableFuture<Content> res;
+                if (size.isPresent()) {
+                    res = CompletableFuture.completedFuture(
+                        new Content.From(size, this.regions(key, size.get()))
+                    );
+                } else {
+                    res = this.origin.value(key);
+                }
+                return res;
+            }
+        );
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        return this.origin.delete(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAll(final Key prefix) {
+        return this.origin.deleteAll(prefix);
+    }
+
+    @Override
+    public <T> CompletionStage<T> exclusively(final Key key,
+        final Function<Storage, CompletionStage<T>> operation) {
+        return this.origin.exclusively(key, sto -> operation.apply(this));
+    }
+
+    /**
+     * Mapped regions of the file.
+     * @param key File key
+     * @param size Expected file size
+     * @return Regions in order, mapped as requested
+     */
+    private Flowable<ByteBuffer> regions(final Key key, final long size) {
+        final Path path = this.dir.resolve(key.string());
+        return Flowable.using(
+            () -> MappedFileStorage.opened(path, size),
+            channel -> Flowable.<ByteBuffer, Long>generate(
+                () -> 0L,
+                (pos, emitter) -> {
+                    final long next = Math.min(pos + this.region, size);
+                    if (next > pos) {
+                        emitter.onNext(
+                            channel.map(FileChannel.MapMode.READ_ONLY, pos, next - pos)
+                        );
+                    }
+                    if (next == size) {
+                        emitter.onComplete();
+                    }
+                    return next;
+                }
+            ),
+            FileChannel::close
+        ).subscribeOn(Schedulers.io());
+    }
+
+    /**
+     * Open file for mapping.
+     * @param path File path
+     * @param size Expected file size
+     * @return File channel
+     * @throws IOException If file can't be opened
+     */
+    private static FileChannel opened(final Path path, final long size) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        if (channel.size() != size) {
+            channel.close();
+            throw new IllegalStateException(
+                String.format("File %s was changed while reading", path)
+            );
+        }
+        return channel;
+    }
+}
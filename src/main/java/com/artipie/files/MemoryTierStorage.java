@@ -0,0 +1,294 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Storage which keeps small values in memory.
+ * <p>
+ * Values not larger than threshold are copied to off-heap buffers on the
+ * first read and following reads are served from memory without storage
+ * I/O and without copying: each reader gets read-only view of the same
+ * buffer. Total size of kept values is limited by the budget, least
+ * recently read values are evicted first. Every save, move or delete
+ * performed through this storage drops kept values of the changed keys.
+ * It's intended as hot tier of proxy cache storage, so that small and
+ * frequently requested files, like checksums and indexes, and
+ * {@link ProxyMeta} metadata of all files are read from memory:
+ * </p>
+ * <pre>{@code
+ * new FileProxySlice(
+ *     clients, remote, Authenticator.ANONYMOUS,
+ *     new MemoryTierStorage(storage, 64 * 1024, 64L * 1024 * 1024)
+ * )
+ * }</pre>
+ *
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class MemoryTierStorage implements Storage {
+
+    /**
+     * Origin storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Max size of kept value in bytes.
+     */
+    private final long threshold;
+
+    /**
+     * Kept values.
+     */
+    private final Values values;
+
+    /**
+     * Ctor.
+     * @param origin Origin storage
+     * @param threshold Max size of kept value in bytes
+     * @param budget Max total size of kept values in bytes
+     */
+    public MemoryTierStorage(final Storage origin, final long threshold, final long budget) {
+        this(origin, threshold, new Values(budget));
+    }
+
+    /**
+     * Primary ctor.
+     * @param origin Origin storage
+     * @param threshold Max size of kept value in bytes
+     * @param values Kept values
+     */
+    private MemoryTierStorage(final Storage origin, final long threshold, final Values values) {
+        this.origin = origin;
+        this.threshold = threshold;
+        this.values = values;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final Key key) {
+        final CompletableFuture<Boolean> res;
+        if (this.values.get(key).isPresent()) {
+            res = CompletableFuture.completedFuture(true);
+        } else {
+            res = this.origin.exists(key);
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Collection<Key>> list(final Key prefix) {
+        return this.origin.list(prefix);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        return this.invalidating(key, this.origin.save(key, content));
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        return this.invalidating(
+            source, this.invalidating(destination, this.origin.move(source, destination))
+        );
+    }
+
+    @Override
+    public CompletableFuture<? extends Meta> metadata(final Key key) {
+        return this.origin.metadata(key);
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        final Optional<ByteBuffer> kept = this.values.get(key);
+        final CompletableFuture<Content> res;
+        if (kept.isPresent()) {
+            res = CompletableFuture.completedFuture(MemoryTierStorage.content(kept.get()));
+        } else {
+            final long current = this.values.version.get();
+            res = this.origin.value(key).thenCompose(
+                content -> {
+                    final CompletionStage<Content> read;
+                    if (content.size().filter(size -> size <= this.threshold).isPresent()) {
+                        read = new PublisherAs(content).bytes().thenApply(
+                            bytes -> {
+                                final ByteBuffer buf = ByteBuffer.allocateDirect(bytes.length);
+                                buf.put(bytes).flip();
+                                final ByteBuffer view = buf.asReadOnlyBuffer();
+                                this.values.put(key, view, current);
+                                return MemoryTierStorage.content(view);
+                            }
+                        );
+                    } else {
+                        read = CompletableFuture.completedFuture(content);
+                    }
+                    return read;
+                }
+            );
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        return this.invalidating(key, this.origin.delete(key));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAll(final Key prefix) {
+        return this.invalidating(prefix, this.origin.deleteAll(prefix));
+    }
+
+    @Override
+    public <T> CompletionStage<T> exclusively(final Key key,
+        final Function<Storage, CompletionStage<T>> operation) {
+        return this.origin.exclusively(
+            key,
+            sto -> operation.apply(new MemoryTierStorage(sto, this.threshold, this.values))
+        );
+    }
+
+    /**
+     * Drop kept values of the key when operation completes.
+     * @param key Changed key
+     * @param operation Storage operation
+     * @return Operation completed after invalidation
+     */
+    private CompletableFuture<Void> invalidating(final Key key,
+        final CompletableFuture<Void> operation) {
+        this.values.invalidate(key);
+        return operation.whenComplete((nothing, err) -> this.values.invalidate(key));
+    }
+
+    /**
+     * Content of kept value.
+     * @param value Kept value
+     * @return Content
+     */
+    private static Content content(final ByteBuffer value) {
+        return new Content.From(
+            Optional.of((long) value.remaining()), Flowable.just(value.duplicate())
+        );
+    }
+
+    /**
+     * Values kept in memory in access order.
+     * @since 1.0
+     */
+    private static final class Values {
+
+        /**
+         * Initial capacity of the map.
+         */
+        private static final int CAPACITY = 16;
+
+        /**
+         * Load factor of the map.
+         */
+        private static final float LOAD = 0.75f;
+
+        /**
+         * Values by key.
+         */
+        private final Map<String, ByteBuffer> entries;
+
+        /**
+         * Max total size of values in bytes.
+         */
+        private final long budget;
+
+        /**
+         * Total size of values in bytes.
+         */
+        private final AtomicLong total;
+
+        /**
+         * Version of storage content, changed on each invalidation.
+         */
+        private final AtomicLong version;
+
+        /**
+         * Ctor.
+         * @param budget Max total size of values in bytes
+         */
+        Values(final long budget) {
+            this.entries = new LinkedHashMap<>(Values.CAPACITY, Values.LOAD, true);
+            this.budget = budget;
+            this.total = new AtomicLong();
+            this.version = new AtomicLong();
+        }
+
+        /**
+         * Get value.
+         * @param key Key
+         * @return Value if kept
+         */
+        Optional<ByteBuffer> get(final Key key) {
+            synchronized (this.entries) {
+                return Optional.ofNullable(this.entries.get(key.string()));
+            }
+        }
+
+        /**
+         * Keep value unless storage was changed since read started.
+         * @param key Key
+         * @param value Value
+         * @param since Version of storage content when read started
+         */
+        void put(final Key key, final ByteBuffer value, final long since) {
+            synchronized (this.entries) {
+                if (this.version.get() == since && value.remaining() <= this.budget) {
+                    final ByteBuffer old = this.entries.put(key.string(), value);
+                    this.total.addAndGet(value.remaining());
+                    if (old != null) {
+                        this.total.addAndGet(-old.remaining());
+                    }
+                    final Iterator<ByteBuffer> eldest = this.entries.values().iterator();
+                    while (this.total.get() > this.budget) {
+                        this.total.addAndGet(-eldest.next().remaining());
+                        eldest.remove();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Drop values of the key and all keys under it.
+         * @param key Changed key
+         */
+        void invalidate(final Key key) {
+            final String prefix = String.join("", key.string(), Key.DELIMITER);
+            synchronized (this.entries) {
+                this.version.incrementAndGet();
+                final Iterator<Map.Entry<String, ByteBuffer>> iter =
+                    this.entries.entrySet().iterator();
+                while (iter.hasNext()) {
+                    final Map.Entry<String, ByteBuffer> entry = iter.next();
+                    if (key.string().isEmpty() || entry.getKey().equals(key.string())
+                        || entry.getKey().startsWith(prefix)) {
+                        this.total.addAndGet(-entry.getValue().remaining());
+                        iter.remove();
+                    }
+                }
+            }
+        }
+    }
+}
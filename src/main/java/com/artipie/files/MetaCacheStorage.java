@@ -0,0 +1,257 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ValueNotFoundException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Storage which keeps metadata of blobs in memory.
+ * <p>
+ * Results of {@link Storage#metadata(Key)} are cached per key string, whatever
+ * {@link Key} implementation requests them, with limited amount of keys and
+ * time to live, results of {@link Storage#exists(Key)} are cached the same
+ * way. Existence isn't derived from metadata, since storages may provide
+ * metadata of keys which aren't blobs, like directories of file storage,
+ * only missing metadata means missing blob. So slices like
+ * {@link FileMetaSlice} and {@link com.artipie.http.slice.HeadSlice} which
+ * look up the same blob share one backend lookup of each kind. Missing
+ * keys are cached too, so repeated requests for absent blobs don't reach
+ * the backend either. Every save,
+ * move or delete performed through this storage invalidates cached entries
+ * of the changed keys, so wrapping {@link FilesSlice} storage with it keeps
+ * HEAD responses consistent with uploads and deletes served by the same
+ * slice:
+ * </p>
+ * <pre>{@code
+ * new FilesSlice(new MetaCacheStorage(storage, 1000, Duration.ofMinutes(1)))
+ * }</pre>
+ *
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class MetaCacheStorage implements Storage {
+
+    /**
+     * Origin storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Cached metadata by key string, empty for missing keys.
+     */
+    private final BoundedCache<String, Optional<Meta>> cache;
+
+    /**
+     * Cached existence of blobs by key string.
+     */
+    private final BoundedCache<String, Boolean> presence;
+
+    /**
+     * Version of storage content, changed on each invalidation.
+     */
+    private final AtomicLong version;
+
+    /**
+     * Ctor.
+     * @param origin Origin storage
+     * @param size Max amount of cached keys
+     * @param ttl Time to live of cached metadata
+     */
+    public MetaCacheStorage(final Storage origin, final int size, final Duration ttl) {
+        this(
+            origin, new BoundedCache<>(size, ttl), new BoundedCache<>(size, ttl), new AtomicLong()
+        );
+    }
+
+    /**
+     * Primary ctor.
+     * @param origin Origin storage
+     * @param cache Cached metadata by key string
+     * @param presence Cached existence of blobs by key string
+     * @param version Version of storage content
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private MetaCacheStorage(final Storage origin,
+        final BoundedCache<String, Optional<Meta>> cache,
+        final BoundedCache<String, Boolean> presence, final AtomicLong version) {
+        this.origin = origin;
+        this.cache = cache;
+        this.presence = presence;
+        this.version = version;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final Key key) {
+        final Optional<Boolean> cached = this.known(key);
+        final CompletableFuture<Boolean> res;
+        if (cached.isPresent()) {
+            res = CompletableFuture.completedFuture(cached.get());
+        } else {
+            final long current = this.version.get();
+            res = this.origin.exists(key).thenApply(
+                exists -> {
+                    this.remember(this.presence, key, exists, current);
+                    return exists;
+                }
+            );
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Collection<Key>> list(final Key prefix) {
+        return this.origin.list(prefix);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        return this.invalidating(this.origin.save(key, content), key);
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        return this.invalidating(this.origin.move(source, destination), source, destination);
+    }
+
+    @Override
+    public CompletableFuture<? extends Meta> metadata(final Key key) {
+        final Optional<Optional<Meta>> cached = this.cache.get(key.string()).map(
+            Optional::of
+        ).orElseGet(
+            () -> this.presence.get(key.string()).filter(exists -> !exists)
+                .map(missing -> Optional.empty())
+        );
+        final CompletableFuture<Meta> res;
+        if (cached.isPresent()) {
+            res = cached.get().map(CompletableFuture::completedFuture).orElseGet(
+                () -> {
+                    final CompletableFuture<Meta> missing = new CompletableFuture<>();
+                    missing.completeExceptionally(new ValueNotFoundException(key));
+                    return missing;
+                }
+            );
+        } else {
+            final long current = this.version.get();
+            res = this.origin.metadata(key).<Meta>thenApply(
+                mtd -> {
+                    this.remember(this.cache, key, Optional.of(mtd), current);
+                    return mtd;
+                }
+            ).whenComplete(
+                (mtd, err) -> {
+                    if (err instanceof ValueNotFoundException
+                        || err != null && err.getCause() instanceof ValueNotFoundException) {
+                        this.remember(this.cache, key, Optional.empty(), current);
+                    }
+                }
+            );
+        }
+        return res;
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        return this.origin.value(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        return this.invalidating(this.origin.delete(key), key);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAll(final Key prefix) {
+        return this.invalidating(this.origin.deleteAll(prefix), prefix);
+    }
+
+    @Override
+    public <T> CompletionStage<T> exclusively(final Key key,
+        final Function<Storage, CompletionStage<T>> operation) {
+        return this.origin.exclusively(
+            key,
+            sto -> operation.apply(
+                new MetaCacheStorage(sto, this.cache, this.presence, this.version)
+            )
+        );
+    }
+
+    /**
+     * Existence of the key known from cache.
+     * @param key Key
+     * @return Existence or empty if it's not known
+     */
+    private Optional<Boolean> known(final Key key) {
+        final Optional<Boolean> res;
+        final Optional<Boolean> cached = this.presence.get(key.string());
+        if (cached.isPresent()) {
+            res = cached;
+        } else {
+            res = this.cache.get(key.string()).filter(mtd -> !mtd.isPresent())
+                .map(missing -> false);
+        }
+        return res;
+    }
+
+    /**
+     * Cache value of the key unless storage was changed since lookup started.
+     * @param target Cache to put value to
+     * @param key Key
+     * @param value Cached value
+     * @param since Version of storage content when lookup started
+     * @param <T> Value type
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private <T> void remember(final BoundedCache<String, T> target, final Key key,
+        final T value, final long since) {
+        synchronized (this.cache) {
+            if (this.version.get() == since) {
+                target.put(key.string(), value);
+            }
+        }
+    }
+
+    /**
+     * Invalidate cached metadata of the keys now and again when operation
+     * completes, so lookups which run along with operation aren't cached.
+     * @param operation Storage operation
+     * @param keys Changed keys
+     * @return Operation completed after invalidation
+     */
+    private CompletableFuture<Void> invalidating(final CompletableFuture<Void> operation,
+        final Key... keys) {
+        Arrays.stream(keys).forEach(this::invalidate);
+        return operation.whenComplete(
+            (nothing, err) -> Arrays.stream(keys).forEach(this::invalidate)
+        );
+    }
+
+    /**
+     * Invalidate cached metadata of the key and all keys under it.
+     * @param key Changed key
+     */
+    private void invalidate(final Key key) {
+        final String prefix = String.join("", key.string(), Key.DELIMITER);
+        synchronized (this.cache) {
+            this.version.incrementAndGet();
+            final Predicate<String> changed = cached -> key.string().isEmpty()
+                || cached.equals(key.string()) || cached.startsWith(prefix);
+            this.cache.invalidate(changed);
+            this.presence.invalidate(changed);
+        }
+    }
+}
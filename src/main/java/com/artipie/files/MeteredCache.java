@@ -0,0 +1,159 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.rs.RsStatus;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Proxy cache which reports metrics of loads.
+ * <p>
+ * Each load is counted in {@code files.proxy.cache} counter with
+ * {@code result} tag: {@code hit} if file was served without remote,
+ * {@code miss} if it was loaded from remote, {@code revalidated} if remote
+ * confirmed that cached file is not modified, {@code stale} if remote failed
+ * and cached file was served, {@code not_found} if there is no file and
+ * {@code error} if load failed. Time until remote response headers is
+ * recorded to {@code files.proxy.upstream} timer with {@code status} tag.
+ * </p>
+ * <pre>{@code
+ * new FileProxySlice(remote, new MeteredCache(new RevalidatingCache(storage, freshness), metrics))
+ * }</pre>
+ *
+ * @since 1.0
+ */
+public final class MeteredCache implements ProxyCache {
+
+    /**
+     * Loads counter.
+     */
+    private static final String LOADS = "files.proxy.cache";
+
+    /**
+     * Result tag.
+     */
+    private static final String TAG = "result";
+
+    /**
+     * Result of load served from cache without remote.
+     */
+    private static final String HIT = "hit";
+
+    /**
+     * Origin cache.
+     */
+    private final ProxyCache origin;
+
+    /**
+     * Metrics.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Ctor.
+     * @param origin Origin cache
+     * @param metrics Metrics
+     */
+    public MeteredCache(final ProxyCache origin, final Metrics metrics) {
+        this.origin = origin;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CompletionStage<Optional<ProxiedFile>> load(final Key key,
+        final Function<Headers, Response> remote) {
+        final AtomicBoolean called = new AtomicBoolean();
+        final AtomicReference<RsStatus> upstream = new AtomicReference<>();
+        return this.origin.load(
+            key,
+            headers -> {
+                called.set(true);
+                final Response response = remote.apply(headers);
+                return connection -> {
+                    final long start = System.nanoTime();
+                    return response.send(
+                        (status, rsheaders, body) -> {
+                            upstream.compareAndSet(null, status);
+                            this.metrics.record(
+                                "files.proxy.upstream", System.nanoTime() - start,
+                                "status", status.code()
+                            );
+                            return connection.accept(status, rsheaders, body);
+                        }
+                    );
+                };
+            }
+        ).whenComplete(
+            (file, err) -> {
+                final String result;
+                if (err == null) {
+                    result = MeteredCache.result(
+                        file.isPresent(), called.get(), Optional.ofNullable(upstream.get())
+                    );
+                } else {
+                    result = "error";
+                }
+                this.metrics.increment(MeteredCache.LOADS, 1, MeteredCache.TAG, result);
+            }
+        );
+    }
+
+    @Override
+    public CompletionStage<Optional<ProxiedFile>> cached(final Key key) {
+        return this.origin.cached(key).whenComplete(
+            (file, err) -> {
+                if (err == null && file.isPresent()) {
+                    this.metrics.increment(
+                        MeteredCache.LOADS, 1, MeteredCache.TAG, MeteredCache.HIT
+                    );
+                }
+            }
+        );
+    }
+
+    /**
+     * Result of load.
+     * @param found Is file found
+     * @param called Was remote called
+     * @param upstream Status of remote response
+     * @return Result tag value
+     */
+    private static String result(final boolean found, final boolean called,
+        final Optional<RsStatus> upstream) {
+        final String result;
+        if (found && called) {
+            result = MeteredCache.remote(upstream);
+        } else if (found) {
+            result = MeteredCache.HIT;
+        } else {
+            result = "not_found";
+        }
+        return result;
+    }
+
+    /**
+     * Result of load of found file for which remote was called.
+     * @param upstream Status of remote response
+     * @return Result tag value
+     */
+    private static String remote(final Optional<RsStatus> upstream) {
+        final String result;
+        if (upstream.filter(RsStatus::success).isPresent()) {
+            result = "miss";
+        } else if (upstream.filter(status -> status == RsStatus.NOT_MODIFIED).isPresent()) {
+            result = "revalidated";
+        } else {
+            result = "stale";
+        }
+        return result;
+    }
+}
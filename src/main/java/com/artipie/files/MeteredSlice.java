@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice which reports metrics of requests.
+ * <p>
+ * Reports requests in flight, time until response is sent tagged with
+ * response status, or {@code error} if response failed, and amounts of
+ * received and sent body bytes, all tagged with operation name. Request is
+ * in flight from the moment response is sent to connection until the
+ * response body is read.
+ * </p>
+ * <pre>{@code
+ * new MeteredSlice(new FileProxySlice(remote, cache), metrics, "proxy")
+ * }</pre>
+ *
+ * @since 1.0
+ */
+public final class MeteredSlice implements Slice {
+
+    /**
+     * Operation tag.
+     */
+    private static final String OPERATION = "operation";
+
+    /**
+     * Requests in flight gauge.
+     */
+    private static final String ACTIVE = "files.requests.active";
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Metrics.
+     */
+    private final Metrics metrics;
+
+    /**
+     * Operation name.
+     */
+    private final String operation;
+
+    /**
+     * Ctor.
+     * @param origin Origin slice
+     * @param metrics Metrics
+     * @param operation Operation name
+     */
+    public MeteredSlice(final Slice origin, final Metrics metrics, final String operation) {
+        this.origin = origin;
+        this.metrics = metrics;
+        this.operation = operation;
+    }
+
+    @Override
+    public Response response(
+        final String line, final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final AtomicLong received = new AtomicLong();
+        final Response response = this.origin.response(
+            line, headers,
+            Flowable.fromPublisher(body).doOnNext(buf -> received.addAndGet(buf.remaining()))
+        );
+        return connection -> {
+            final long start = System.nanoTime();
+            final AtomicLong sent = new AtomicLong();
+            final AtomicReference<String> status = new AtomicReference<>("error");
+            this.metrics.adjust(MeteredSlice.ACTIVE, 1, MeteredSlice.OPERATION, this.operation);
+            return CompletableFuture.<Void>completedFuture(null).thenCompose(
+                nothing -> response.send(
+                    (rsstatus, rsheaders, rsbody) -> {
+                        status.set(rsstatus.code());
+                        return connection.accept(
+                            rsstatus, rsheaders,
+                            Flowable.fromPublisher(rsbody)
+                                .doOnNext(buf -> sent.addAndGet(buf.remaining()))
+                        );
+                    }
+                )
+            ).whenComplete(
+                (nothing, err) -> this.finished(
+                    System.nanoTime() - start, status.get(), received.get(), sent.get()
+                )
+            );
+        };
+    }
+
+    /**
+     * Report finished request.
+     * @param nanos Duration of request
+     * @param status Response status code
+     * @param received Received bytes
+     * @param sent Sent bytes
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private void finished(final long nanos, final String status, final long received,
+        final long sent) {
+        this.metrics.adjust(MeteredSlice.ACTIVE, -1, MeteredSlice.OPERATION, this.operation);
+        this.metrics.record(
+            "files.requests", nanos, MeteredSlice.OPERATION, this.operation, "status", status
+        );
+        this.metrics.increment(
+            "files.bytes.received", received, MeteredSlice.OPERATION, this.operation
+        );
+        this.metrics.increment("files.bytes.sent", sent, MeteredSlice.OPERATION, this.operation);
+    }
+}
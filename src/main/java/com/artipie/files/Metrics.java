@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+/**
+ * Metrics registry.
+ * <p>
+ * Meters are identified by name and tags, tags are given as pairs of
+ * name and value like Micrometer {@code Tags.of(String...)}, so registry
+ * can be implemented over Micrometer {@code MeterRegistry} in a few lines:
+ * {@link #increment} as counter, {@link #record} as timer and
+ * {@link #adjust} as gauge of the sum of deltas. Implementation must be
+ * thread safe and shouldn't block. Meters reported by files adapter:
+ * </p>
+ * <ul>
+ *  <li>{@code files.requests.active}, tagged with {@code operation}:
+ *   requests in flight, see {@link MeteredSlice}</li>
+ *  <li>{@code files.requests}, tagged with {@code operation} and
+ *   {@code status}: time until response is sent</li>
+ *  <li>{@code files.bytes.received} and {@code files.bytes.sent}, tagged
+ *   with {@code operation}: bytes of request and response bodies</li>
+ *  <li>{@code files.proxy.cache}, tagged with {@code result}: loads of
+ *   proxied files, see {@link MeteredCache}</li>
+ *  <li>{@code files.proxy.upstream}, tagged with {@code status}: time until
+ *   remote response headers</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+public interface Metrics {
+
+    /**
+     * Metrics which aren't reported anywhere.
+     */
+    Metrics NOP = new Nop();
+
+    /**
+     * Increment counter.
+     * @param name Counter name
+     * @param amount Increment
+     * @param tags Tag names and values
+     */
+    void increment(String name, long amount, String... tags);
+
+    /**
+     * Record duration to timer.
+     * @param name Timer name
+     * @param nanos Duration in nanoseconds
+     * @param tags Tag names and values
+     */
+    void record(String name, long nanos, String... tags);
+
+    /**
+     * Adjust gauge.
+     * @param name Gauge name
+     * @param delta Change of gauge value
+     * @param tags Tag names and values
+     */
+    void adjust(String name, long delta, String... tags);
+
+    /**
+     * Metrics which aren't reported anywhere.
+     * @since 1.0
+     */
+    final class Nop implements Metrics {
+
+        @Override
+        public void increment(final String name, final long amount, final String... tags) {
+            // nothing to report
+        }
+
+        @Override
+        public void record(final String name, final long nanos, final String... tags) {
+            // nothing to report
+        }
+
+        @Override
+        public void adjust(final String name, final long delta, final String... tags) {
+            // nothing to report
+        }
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.http.Connection;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice which sends requests to the best of equivalent mirrors.
+ * <p>
+ * Intended to be remote slice of {@link FileProxySlice} for requests
+ * without body. Each request is sent to the healthy mirror with the lowest
+ * average latency of response headers, mirrors which weren't asked yet go
+ * first. If mirror fails with {@code 5xx} status or error, request is sent
+ * to the next mirror. Mirror which failed several times in a row is
+ * considered unhealthy for a while and is asked only when healthy mirrors
+ * fail. If all mirrors fail, status of the last failure is returned.
+ * </p>
+ * <p>
+ * With hedging delay, if the mirror didn't answer within the delay, request
+ * is sent to the next mirror too, the first successful answer is returned
+ * and other answers are cancelled.
+ * </p>
+ * <pre>{@code
+ * new FileProxySlice(
+ *     new MirrorsSlice(
+ *         Arrays.asList(
+ *             new UriClientSlice(clients, URI.create("https://mirror-a.example.com")),
+ *             new UriClientSlice(clients, URI.create("https://mirror-b.example.com"))
+ *         ),
+ *         Duration.ofMillis(500)
+ *     ),
+ *     cache
+ * )
+ * }</pre>
+ *
+ * @since 1.0
+ */
+public final class MirrorsSlice implements Slice {
+
+    /**
+     * Failures in a row which make mirror unhealthy.
+     */
+    private static final int FAILURES = 3;
+
+    /**
+     * Time mirror stays unhealthy in nanoseconds, 30 seconds.
+     */
+    private static final long COOLDOWN = 30_000_000_000L;
+
+    /**
+     * Weight of previous average latency.
+     */
+    private static final int WEIGHT = 4;
+
+    /**
+     * Mirrors.
+     */
+    private final List<Mirror> mirrors;
+
+    /**
+     * Hedging delay in milliseconds, negative for no hedging.
+     */
+    private final long hedge;
+
+    /**
+     * Ctor.
+     * @param mirrors Mirror slices
+     */
+    public MirrorsSlice(final Collection<? extends Slice> mirrors) {
+        this(mirrors, -1L);
+    }
+
+    /**
+     * Ctor.
+     * @param mirrors Mirror slices
+     * @param hedge Delay before request is sent to the next mirror
+     */
+    public MirrorsSlice(final Collection<? extends Slice> mirrors, final Duration hedge) {
+        this(mirrors, hedge.toMillis());
+    }
+
+    /**
+     * Primary ctor.
+     * @param mirrors Mirror slices
+     * @param hedge Hedging delay in milliseconds, negative for no hedging
+     */
+    private MirrorsSlice(final Collection<? extends Slice> mirrors, final long hedge) {
+        this.mirrors = mirrors.stream().map(Mirror::new).collect(Collectors.toList());
+        this.hedge = hedge;
+    }
+
+    @Override
+    public Response response(
+        final String line, final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        return connection -> new Attempts(connection, this.ranked()).start(
+            mirror -> mirror.origin.response(line, headers, body)
+        );
+    }
+
+    /**
+     * Mirrors in order of preference.
+     * @return Healthy mirrors by latency, then unhealthy ones
+     */
+    private List<Mirror> ranked() {
+        final long now = System.nanoTime();
+        final List<Mirror> res = new ArrayList<>(this.mirrors);
+        res.sort(
+            Comparator.<Mirror, Boolean>comparing(mirror -> !mirror.healthy(now))
+                .thenComparingLong(mirror -> mirror.latency.get())
+        );
+        return res;
+    }
+
+    /**
+     * Mirror with statistics.
+     * @since 1.0
+     */
+    private static final class Mirror {
+
+        /**
+         * Mirror slice.
+         */
+        private final Slice origin;
+
+        /**
+         * Average latency in nanoseconds.
+         */
+        private final AtomicLong latency;
+
+        /**
+         * Failures in a row.
+         */
+        private final AtomicInteger failures;
+
+        /**
+         * Time when mirror becomes healthy in nanoseconds.
+         */
+        private final AtomicLong down;
+
+        /**
+         * Ctor.
+         * @param origin Mirror slice
+         */
+        Mirror(final Slice origin) {
+            this.origin = origin;
+            this.latency = new AtomicLong();
+            this.failures = new AtomicInteger();
+            this.down = new AtomicLong(System.nanoTime());
+        }
+
+        /**
+         * Is mirror healthy.
+         * @param now Current time in nanoseconds
+         * @return True if healthy
+         */
+        boolean healthy(final long now) {
+            return now - this.down.get() >= 0;
+        }
+
+        /**
+         * Record successful answer.
+         * @param nanos Latency in nanoseconds
+         */
+        void success(final long nanos) {
+            this.failures.set(0);
+            this.latency.updateAndGet(
+                avg -> {
+                    final long res;
+                    if (avg == 0) {
+                        res = nanos;
+                    } else {
+                        res = avg + (nanos - avg) / MirrorsSlice.WEIGHT;
+                    }
+                    return Math.max(res, 1);
+                }
+            );
+        }
+
+        /**
+         * Record failure.
+         */
+        void failure() {
+            if (this.failures.incrementAndGet() >= MirrorsSlice.FAILURES) {
+                this.failures.set(0);
+                this.down.set(System.nanoTime() + MirrorsSlice.COOLDOWN);
+            }
+        }
+    }
+
+    /**
+     * Attempts to get response from mirrors.
+     * @since 1.0
+     */
+    private final class Attempts {
+
+        /**
+         * Client connection.
+         */
+        private final Connection connection;
+
+        /**
+         * Mirrors in order of preference.
+         */
+        private final List<Mirror> ranked;
+
+        /**
+         * Index of the next mirror to ask.
+         */
+        private final AtomicInteger next;
+
+        /**
+         * Amount of attempts in flight.
+         */
+        private final AtomicInteger running;
+
+        /**
+         * Is client answered.
+         */
+        private final AtomicBoolean answered;
+
+        /**
+         * Status of the last failure.
+         */
+        private final AtomicReference<RsStatus> failed;
+
+        /**
+         * Completion of response sending.
+         */
+        private final CompletableFuture<Void> sent;
+
+        /**
+         * Ctor.
+         * @param connection Client connection
+         * @param ranked Mirrors in order of preference
+         */
+        Attempts(final Connection connection, final List<Mirror> ranked) {
+            this.connection = connection;
+            this.ranked = ranked;
+            this.next = new AtomicInteger();
+            this.running = new AtomicInteger();
+            this.answered = new AtomicBoolean();
+            this.failed = new AtomicReference<>(RsStatus.UNAVAILABLE);
+            this.sent = new CompletableFuture<>();
+        }
+
+        /**
+         * Start attempts.
+         * @param request Response of mirror
+         * @return Completion of response sending
+         */
+        CompletionStage<Void> start(final Function<Mirror, Response> request) {
+            if (!this.launch(request)) {
+                this.fail();
+            }
+            return this.sent;
+        }
+
+        /**
+         * Ask the next mirror.
+         * @param request Response of mirror
+         * @return False if there are no more mirrors
+         */
+        private boolean launch(final Function<Mirror, Response> request) {
+            final int idx = this.next.getAndIncrement();
+            final boolean res = idx < this.ranked.size();
+            if (res) {
+                final Mirror mirror = this.ranked.get(idx);
+                final long start = System.nanoTime();
+                this.running.incrementAndGet();
+                if (MirrorsSlice.this.hedge >= 0 && idx + 1 < this.ranked.size()) {
+                    this.hedge(idx, request);
+                }
+                final AtomicBoolean success = new AtomicBoolean();
+                CompletableFuture.<Void>completedFuture(null).thenCompose(
+                    nothing -> request.apply(mirror).send(
+                        (status, headers, body) -> {
+                            success.set(!status.serverError());
+                            return this.answer(
+                                mirror, System.nanoTime() - start, status, headers, body
+                            );
+                        }
+                    )
+                ).whenComplete(
+                    (nothing, err) -> {
+                        if (err != null && !success.get()) {
+                            mirror.failure();
+                        }
+                        this.finished(request, success.get());
+                    }
+                );
+            }
+            return res;
+        }
+
+        /**
+         * Ask the next mirror after hedging delay unless the mirror answered
+         * or the next mirror was asked already.
+         * @param idx Index of the mirror
+         * @param request Response of mirror
+         */
+        private void hedge(final int idx, final Function<Mirror, Response> request) {
+            Completable.timer(MirrorsSlice.this.hedge, TimeUnit.MILLISECONDS).subscribe(
+                () -> {
+                    if (!this.answered.get() && this.next.get() == idx + 1) {
+                        this.launch(request);
+                    }
+                }
+            );
+        }
+
+        /**
+         * Handle answer of the mirror.
+         * @param mirror Mirror
+         * @param nanos Latency in nanoseconds
+         * @param status Status
+         * @param headers Headers
+         * @param body Body
+         * @return Completion of response sending
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        private CompletionStage<Void> answer(final Mirror mirror, final long nanos,
+            final RsStatus status, final Headers headers, final Publisher<ByteBuffer> body) {
+            final CompletionStage<Void> res;
+            if (status.serverError()) {
+                mirror.failure();
+                Flowable.fromPublisher(body).take(0).subscribe();
+                res = CompletableFuture.completedFuture(null);
+                this.failed.set(status);
+            } else {
+                mirror.success(nanos);
+                if (this.answered.compareAndSet(false, true)) {
+                    res = this.connection.accept(status, headers, body);
+                    res.whenComplete(this::complete);
+                } else {
+                    Flowable.fromPublisher(body).take(0).subscribe();
+                    res = CompletableFuture.completedFuture(null);
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Attempt is finished, ask the next mirror if it failed.
+         * @param request Response of mirror
+         * @param success Did mirror answer successfully
+         */
+        private void finished(final Function<Mirror, Response> request,
+            final boolean success) {
+            final int left = this.running.decrementAndGet();
+            if (!success && !this.answered.get() && !this.launch(request) && left == 0) {
+                this.fail();
+            }
+        }
+
+        /**
+         * Answer client with the last failure.
+         */
+        private void fail() {
+            if (this.answered.compareAndSet(false, true)) {
+                new RsWithStatus(this.failed.get()).send(this.connection)
+                    .whenComplete(this::complete);
+            }
+        }
+
+        /**
+         * Complete response sending.
+         * @param nothing Result
+         * @param err Error
+         */
+        private void complete(final Void nothing, final Throwable err) {
+            if (err == null) {
+                this.sent.complete(nothing);
+            } else {
+                this.sent.completeExceptionally(err);
+            }
+        }
+    }
+}
@@ -0,0 +1,458 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.asto.rx.RxStorageWrapper;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rq.RqParams;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.rs.StandardRs;
+import com.artipie.http.rt.RtRule;
+import com.artipie.http.slice.KeyFromPath;
+import io.reactivex.Flowable;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice which uploads large files in parts.
+ * <p>
+ * Upload is started with {@code POST /path?uploads} request, which
+ * responds with upload id in the body. Then parts are uploaded with
+ * {@code PUT /path?upload=id&part=n} requests, where {@code n} is part
+ * number from 1 to 9999, parts can be uploaded concurrently and in any order,
+ * failed part is uploaded again with the same number. {@code GET
+ * /path?upload=id} lists uploaded parts as lines of part number and size,
+ * so interrupted upload can be resumed by uploading missing parts only.
+ * {@code POST /path?upload=id} completes upload: parts are concatenated
+ * in order of numbers into the file, they must be numbered from 1 without
+ * gaps. Upload is marked as being completed before parts are concatenated,
+ * so other requests to it, including repeated completion, are rejected
+ * with {@code 409} while it's completed, the mark is removed if completion
+ * fails.
+ * {@code DELETE /path?upload=id} aborts upload. Parts are kept in
+ * the storage under {@code .uploads} key until upload is completed or
+ * aborted.
+ * </p>
+ *
+ * @since 1.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class MultipartSlice implements Slice {
+
+    /**
+     * Rule of requests served by this slice.
+     */
+    public static final RtRule REQUESTS = (line, headers) -> {
+        final URI uri = new RequestLineFrom(line).uri();
+        return MultipartSlice.initiating(uri)
+            || new RqParams(uri).value(MultipartSlice.UPLOAD).isPresent();
+    };
+
+    /**
+     * Root key of uploads data, it's reserved in {@link FilesSlice}.
+     */
+    static final Key ROOT = new Key.From(".uploads");
+
+    /**
+     * Upload id parameter.
+     */
+    private static final String UPLOAD = "upload";
+
+    /**
+     * Upload id.
+     */
+    private static final Pattern ID = Pattern.compile(
+        "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}"
+    );
+
+    /**
+     * Part number.
+     */
+    private static final Pattern PART = Pattern.compile("[1-9][0-9]{0,3}");
+
+    /**
+     * Parts key part.
+     */
+    private static final String PARTS = "parts";
+
+    /**
+     * Key of started upload marker in upload key.
+     */
+    private static final String MARKER = "started";
+
+    /**
+     * Key of marker of upload being completed in upload key.
+     */
+    private static final String COMPLETING = "completing";
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Ctor.
+     * @param storage Storage
+     */
+    public MultipartSlice(final Storage storage) {
+        this.storage = storage;
+    }
+
+    @Override
+    public Response response(final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body) {
+        final RequestLineFrom rql = new RequestLineFrom(line);
+        final URI uri = rql.uri();
+        final Key key = new KeyFromPath(uri.getPath());
+        final RqParams params = new RqParams(uri);
+        final Optional<String> upload = params.value(MultipartSlice.UPLOAD);
+        final Response res;
+        if (upload.isPresent() && MultipartSlice.ID.matcher(upload.get()).matches()) {
+            final Key base = MultipartSlice.base(key, upload.get());
+            res = new AsyncResponse(
+                this.storage.exists(new Key.From(base, MultipartSlice.MARKER)).thenCompose(
+                    found -> {
+                        final CompletionStage<Response> rsp;
+                        if (found) {
+                            rsp = this.perform(
+                                rql.method(), key, base, params.value("part"), body
+                            );
+                        } else {
+                            rsp = this.missing(base);
+                        }
+                        return rsp;
+                    }
+                )
+            );
+        } else if (upload.isPresent()) {
+            res = StandardRs.NOT_FOUND;
+        } else if (rql.method() == RqMethod.POST && MultipartSlice.initiating(uri)) {
+            res = new AsyncResponse(this.start(key));
+        } else {
+            res = new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+        return res;
+    }
+
+    /**
+     * Response to request of upload which isn't started.
+     * @param base Upload key
+     * @return Conflict if upload is being completed, not found otherwise
+     */
+    private CompletionStage<Response> missing(final Key base) {
+        return this.storage.exists(new Key.From(base, MultipartSlice.COMPLETING)).thenApply(
+            busy -> {
+                final Response res;
+                if (busy) {
+                    res = MultipartSlice.conflict();
+                } else {
+                    res = StandardRs.NOT_FOUND;
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Start upload.
+     * @param key File key
+     * @return Response with upload id
+     */
+    private CompletionStage<Response> start(final Key key) {
+        final String upload = UUID.randomUUID().toString();
+        return this.storage.save(
+            new Key.From(MultipartSlice.base(key, upload), MultipartSlice.MARKER), Content.EMPTY
+        ).thenApply(
+            nothing -> new RsWithBody(
+                new RsWithStatus(RsStatus.CREATED), upload, StandardCharsets.UTF_8
+            )
+        );
+    }
+
+    /**
+     * Perform request to started upload.
+     * @param method Request method
+     * @param key File key
+     * @param base Upload key
+     * @param part Part number parameter
+     * @param body Request body
+     * @return Response
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private CompletionStage<Response> perform(final RqMethod method, final Key key,
+        final Key base, final Optional<String> part, final Publisher<ByteBuffer> body) {
+        final CompletionStage<Response> res;
+        if (method == RqMethod.PUT && part.filter(MultipartSlice::valid).isPresent()) {
+            res = this.storage.save(
+                new Key.From(base, MultipartSlice.PARTS, part.get()), new Content.From(body)
+            ).thenApply(nothing -> new RsWithStatus(RsStatus.CREATED));
+        } else if (method == RqMethod.PUT) {
+            res = CompletableFuture.completedFuture(
+                MultipartSlice.badRequest("Part number from 1 to 9999 is required")
+            );
+        } else if (method == RqMethod.GET) {
+            res = this.uploaded(base).thenApply(MultipartSlice::listed);
+        } else if (method == RqMethod.POST) {
+            res = this.storage.move(
+                new Key.From(base, MultipartSlice.MARKER),
+                new Key.From(base, MultipartSlice.COMPLETING)
+            ).handle((nothing, err) -> err == null).thenCompose(
+                marked -> {
+                    final CompletionStage<Response> rsp;
+                    if (marked) {
+                        rsp = this.completed(key, base);
+                    } else {
+                        rsp = CompletableFuture.completedFuture(MultipartSlice.conflict());
+                    }
+                    return rsp;
+                }
+            );
+        } else if (method == RqMethod.DELETE) {
+            res = this.storage.deleteAll(base).thenApply(nothing -> StandardRs.NO_CONTENT);
+        } else {
+            res = CompletableFuture.completedFuture(
+                new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED)
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Uploaded parts.
+     * @param base Upload key
+     * @return Parts in order of numbers
+     */
+    private CompletionStage<List<Part>> uploaded(final Key base) {
+        return this.storage.list(new Key.From(base, MultipartSlice.PARTS)).thenCompose(
+            keys -> {
+                final List<CompletableFuture<Part>> parts = keys.stream().map(
+                    part -> this.storage.metadata(part).thenApply(
+                        meta -> new Part(
+                            part, meta.read(Meta.OP_SIZE).map(Long::longValue).orElse(0L)
+                        )
+                    )
+                ).collect(Collectors.toList());
+                return CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(
+                        nothing -> parts.stream().map(CompletableFuture::join)
+                            .sorted(Comparator.comparingInt(Part::number))
+                            .collect(Collectors.toList())
+                    );
+            }
+        );
+    }
+
+    /**
+     * Complete upload marked as being completed, the mark is removed if
+     * completion fails, so the upload can be fixed and completed again.
+     * @param key File key
+     * @param base Upload key
+     * @return Response
+     */
+    private CompletionStage<Response> completed(final Key key, final Key base) {
+        return this.uploaded(base).thenCompose(parts -> this.complete(key, base, parts)).handle(
+            (rsp, err) -> {
+                final CompletionStage<Response> res;
+                if (err == null) {
+                    res = CompletableFuture.completedFuture(rsp);
+                } else {
+                    final CompletableFuture<Response> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(err);
+                    res = this.unmark(base).handle((nothing, ignored) -> null)
+                        .thenCompose(nothing -> failed);
+                }
+                return res;
+            }
+        ).thenCompose(Function.identity());
+    }
+
+    /**
+     * Complete upload.
+     * @param key File key
+     * @param base Upload key
+     * @param parts Uploaded parts in order of numbers
+     * @return Response
+     */
+    private CompletionStage<Response> complete(final Key key, final Key base,
+        final List<Part> parts) {
+        final Optional<String> invalid = MultipartSlice.invalid(parts);
+        final CompletionStage<Response> res;
+        if (invalid.isPresent()) {
+            res = this.unmark(base).thenApply(
+                nothing -> MultipartSlice.badRequest(invalid.get())
+            );
+        } else {
+            final RxStorageWrapper rxsto = new RxStorageWrapper(this.storage);
+            res = this.storage.save(
+                key,
+                new Content.From(
+                    Optional.of(parts.stream().mapToLong(part -> part.size).sum()),
+                    Flowable.fromIterable(parts).concatMap(
+                        part -> rxsto.value(part.key).flatMapPublisher(content -> content)
+                    )
+                )
+            ).thenCompose(nothing -> this.storage.deleteAll(base))
+                .thenApply(nothing -> new RsWithStatus(RsStatus.CREATED));
+        }
+        return res;
+    }
+
+    /**
+     * Remove mark of upload being completed.
+     * @param base Upload key
+     * @return Completion of the operation
+     */
+    private CompletionStage<Void> unmark(final Key base) {
+        return this.storage.move(
+            new Key.From(base, MultipartSlice.COMPLETING),
+            new Key.From(base, MultipartSlice.MARKER)
+        );
+    }
+
+    /**
+     * Key of upload.
+     * @param key File key
+     * @param upload Upload id
+     * @return Key of upload parts and marker
+     */
+    private static Key base(final Key key, final String upload) {
+        return new Key.From(MultipartSlice.ROOT, key.string(), upload);
+    }
+
+    /**
+     * Is upload being started.
+     * @param uri Request URI
+     * @return True if query has {@code uploads} parameter
+     */
+    private static boolean initiating(final URI uri) {
+        return Arrays.asList(Optional.ofNullable(uri.getRawQuery()).orElse("").split("&"))
+            .contains("uploads");
+    }
+
+    /**
+     * Is part number valid.
+     * @param part Part number
+     * @return True if valid
+     */
+    private static boolean valid(final String part) {
+        return MultipartSlice.PART.matcher(part).matches();
+    }
+
+    /**
+     * Why parts can't be concatenated.
+     * @param parts Uploaded parts in order of numbers
+     * @return Error message or empty if parts are valid
+     */
+    private static Optional<String> invalid(final List<Part> parts) {
+        Optional<String> res = Optional.empty();
+        if (parts.isEmpty()) {
+            res = Optional.of("No parts were uploaded");
+        }
+        for (int idx = 0; idx < parts.size() && !res.isPresent(); idx += 1) {
+            if (parts.get(idx).number() != idx + 1) {
+                res = Optional.of(String.format("Part %d is missing", idx + 1));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Response with uploaded parts.
+     * @param parts Uploaded parts in order of numbers
+     * @return Response
+     */
+    private static Response listed(final Collection<Part> parts) {
+        return new RsWithBody(
+            StandardRs.OK,
+            parts.stream().map(part -> String.format("%d %d\n", part.number(), part.size))
+                .collect(Collectors.joining()),
+            StandardCharsets.UTF_8
+        );
+    }
+
+    /**
+     * Response to request of upload being completed.
+     * @return Response
+     */
+    private static Response conflict() {
+        return new RsWithBody(
+            new RsWithStatus(RsStatus.CONFLICT), "Upload is being completed",
+            StandardCharsets.UTF_8
+        );
+    }
+
+    /**
+     * Bad request response.
+     * @param message Error message
+     * @return Response
+     */
+    private static Response badRequest(final String message) {
+        return new RsWithBody(
+            new RsWithStatus(RsStatus.BAD_REQUEST), message, StandardCharsets.UTF_8
+        );
+    }
+
+    /**
+     * Uploaded part.
+     * @since 1.0
+     */
+    private static final class Part {
+
+        /**
+         * Part key.
+         */
+        private final Key key;
+
+        /**
+         * Part size.
+         */
+        private final long size;
+
+        /**
+         * Ctor.
+         * @param key Part key
+         * @param size Part size
+         */
+        Part(final Key key, final long size) {
+            this.key = key;
+            this.size = size;
+        }
+
+        /**
+         * Part number.
+         * @return Number
+         */
+        int number() {
+            final String str = this.key.string();
+            return Integer.parseInt(str.substring(str.lastIndexOf('/') + 1));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.rs.RsStatus;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Proxy cache which remembers files not found in remote.
+ * <p>
+ * If remote answers {@code 404 Not Found} and origin cache doesn't have
+ * the file, the key is remembered with limited amount of keys and time to
+ * live, and following loads of the key return empty result without
+ * contacting the remote. Other remote errors are not remembered. It cuts
+ * remote requests of clients which probe for optional files, like
+ * checksums or signatures:
+ * </p>
+ * <pre>{@code
+ * new FileProxySlice(
+ *     clients, remote, Authenticator.ANONYMOUS,
+ *     new NegativeCache(
+ *         new RevalidatingCache(storage, new Freshness.MaxAge(Duration.ofMinutes(10))),
+ *         1000, Duration.ofMinutes(5)
+ *     )
+ * )
+ * }</pre>
+ *
+ * @since 1.0
+ */
+public final class NegativeCache implements ProxyCache {
+
+    /**
+     * Origin cache.
+     */
+    private final ProxyCache origin;
+
+    /**
+     * Keys not found in remote.
+     */
+    private final BoundedCache<String, Boolean> missing;
+
+    /**
+     * Ctor.
+     * @param origin Origin cache
+     * @param size Max amount of remembered keys
+     * @param ttl Time to live of remembered key
+     */
+    public NegativeCache(final ProxyCache origin, final int size, final Duration ttl) {
+        this.origin = origin;
+        this.missing = new BoundedCache<>(size, ttl);
+    }
+
+    @Override
+    public CompletionStage<Optional<ProxiedFile>> load(final Key key,
+        final Function<Headers, Response> remote) {
+        final CompletionStage<Optional<ProxiedFile>> res;
+        if (this.missing.get(key.string()).isPresent()) {
+            res = CompletableFuture.completedFuture(Optional.empty());
+        } else {
+            final AtomicBoolean absent = new AtomicBoolean();
+            res = this.origin.load(
+                key,
+                headers -> {
+                    final Response rsp = remote.apply(headers);
+                    return connection -> rsp.send(
+                        (status, rsheaders, body) -> {
+                            absent.set(status == RsStatus.NOT_FOUND);
+                            return connection.accept(status, rsheaders, body);
+                        }
+                    );
+                }
+            ).thenApply(
+                file -> {
+                    if (!file.isPresent() && absent.get()) {
+                        this.missing.put(key.string(), true);
+                    }
+                    return file;
+                }
+            );
+        }
+        return res;
+    }
+
+    @Override
+    public CompletionStage<Optional<ProxiedFile>> cached(final Key key) {
+        return this.origin.cached(key);
+    }
+}
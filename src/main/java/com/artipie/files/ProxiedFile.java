@@ -0,0 +1,51 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.http.Headers;
+
+/**
+ * File loaded by {@link ProxyCache}.
+ * @since 1.0
+ */
+public final class ProxiedFile {
+
+    /**
+     * Response headers.
+     */
+    private final Headers hdrs;
+
+    /**
+     * File content.
+     */
+    private final Content cnt;
+
+    /**
+     * Ctor.
+     * @param headers Response headers
+     * @param content File content
+     */
+    public ProxiedFile(final Headers headers, final Content content) {
+        this.hdrs = headers;
+        this.cnt = content;
+    }
+
+    /**
+     * Response headers.
+     * @return Headers
+     */
+    public Headers headers() {
+        return this.hdrs;
+    }
+
+    /**
+     * File content.
+     * @return Content
+     */
+    public Content content() {
+        return this.cnt;
+    }
+}
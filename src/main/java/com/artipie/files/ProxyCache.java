@@ -0,0 +1,43 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Cache of remote files used by {@link FileProxySlice}.
+ * <p>
+ * Decides whether the file is loaded from remote or from cache. Remote is
+ * a function which sends request with given headers to the remote and
+ * returns its response, so cache may send conditional requests.
+ * </p>
+ *
+ * @since 1.0
+ */
+public interface ProxyCache {
+
+    /**
+     * Load file from cache or from remote.
+     * @param key File key
+     * @param remote Remote response by request headers
+     * @return File or empty if it's not found
+     */
+    CompletionStage<Optional<ProxiedFile>> load(Key key, Function<Headers, Response> remote);
+
+    /**
+     * Load file from cache only.
+     * <p>
+     * Used for requests which waited for another load of the same file.
+     * </p>
+     * @param key File key
+     * @return File or empty if cache doesn't keep it
+     */
+    CompletionStage<Optional<ProxiedFile>> cached(Key key);
+}
@@ -0,0 +1,249 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.Headers;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RqHeaders;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+/**
+ * Metadata of proxied file kept next to the cached file.
+ * <p>
+ * Metadata of file {@code a/b.txt} is stored as JSON in
+ * {@code .meta/a/b.txt} key of the cache storage. It keeps time when
+ * cached file stops being fresh and remote response headers which describe
+ * cached content: {@code Content-Type}, {@code Content-Encoding},
+ * {@code Content-Language}, {@code Content-Disposition} are served with
+ * cached file, {@code ETag} and {@code Last-Modified} are also used to
+ * revalidate it. {@code Content-Length} is not stored, it's known from
+ * cached content, hop-by-hop and other headers are not stored either.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class ProxyMeta {
+
+    /**
+     * Root key of metadata.
+     */
+    static final Key ROOT = new Key.From(".meta");
+
+    /**
+     * Expiration time field.
+     */
+    private static final String EXPIRES = "expires";
+
+    /**
+     * Headers field.
+     */
+    private static final String FIELDS = "headers";
+
+    /**
+     * Names of stored headers in lower case.
+     */
+    private static final List<String> ENTITY = Arrays.asList(
+        "content-type", "content-encoding", "content-language", "content-disposition",
+        "etag", "last-modified"
+    );
+
+    /**
+     * Expiration time.
+     */
+    private final Instant expires;
+
+    /**
+     * Stored remote response headers.
+     */
+    private final Headers hdrs;
+
+    /**
+     * Ctor.
+     * @param expires Expiration time
+     * @param headers Remote response headers
+     */
+    ProxyMeta(final Instant expires, final Headers headers) {
+        this.expires = expires;
+        this.hdrs = ProxyMeta.stored(headers);
+    }
+
+    /**
+     * Key of file metadata.
+     * @param key File key
+     * @return Metadata key
+     */
+    static Key key(final Key key) {
+        return new Key.From(ProxyMeta.ROOT, key);
+    }
+
+    /**
+     * Read metadata of the file.
+     * @param storage Cache storage
+     * @param key File key
+     * @return Metadata or empty if it's absent or invalid
+     */
+    static CompletionStage<Optional<ProxyMeta>> read(final Storage storage, final Key key) {
+        final Key meta = ProxyMeta.key(key);
+        return storage.exists(meta).thenCompose(
+            exists -> {
+                final CompletionStage<Optional<ProxyMeta>> res;
+                if (exists) {
+                    res = storage.value(meta)
+                        .thenCompose(
+                            content -> new PublisherAs(content).string(StandardCharsets.UTF_8)
+                        )
+                        .thenApply(ProxyMeta::parse);
+                } else {
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Save metadata of the file.
+     * @param storage Cache storage
+     * @param key File key
+     * @return Completion
+     */
+    CompletionStage<Void> save(final Storage storage, final Key key) {
+        final JsonArrayBuilder headers = Json.createArrayBuilder();
+        for (final Map.Entry<String, String> header : this.hdrs) {
+            headers.add(Json.createArrayBuilder().add(header.getKey()).add(header.getValue()));
+        }
+        return storage.save(
+            ProxyMeta.key(key),
+            new Content.From(
+                Json.createObjectBuilder()
+                    .add(ProxyMeta.EXPIRES, this.expires.toEpochMilli())
+                    .add(ProxyMeta.FIELDS, headers)
+                    .build().toString().getBytes(StandardCharsets.UTF_8)
+            )
+        );
+    }
+
+    /**
+     * Is cached file fresh.
+     * @param now Current time
+     * @return True if fresh
+     */
+    boolean fresh(final Instant now) {
+        return now.isBefore(this.expires);
+    }
+
+    /**
+     * Stored remote response headers.
+     * @return Headers
+     */
+    Headers headers() {
+        return this.hdrs;
+    }
+
+    /**
+     * Conditional request headers to revalidate cached file.
+     * @return Headers
+     */
+    Headers conditions() {
+        final List<Map.Entry<String, String>> res = new ArrayList<>(2);
+        new RqHeaders(this.hdrs, BlobValidators.ENTITY_TAG).stream().findFirst().ifPresent(
+            tag -> res.add(new Header("If-None-Match", tag))
+        );
+        new RqHeaders(this.hdrs, BlobValidators.LAST_MODIFIED).stream().findFirst().ifPresent(
+            date -> res.add(new Header("If-Modified-Since", date))
+        );
+        return new Headers.From(res);
+    }
+
+    /**
+     * Metadata of revalidated file.
+     * <p>
+     * Headers of {@code 304 Not Modified} response replace stored ones.
+     * </p>
+     * @param time New expiration time
+     * @param headers Headers of not modified response
+     * @return Updated metadata
+     */
+    ProxyMeta revalidated(final Instant time, final Headers headers) {
+        final Headers update = ProxyMeta.stored(headers);
+        final List<Map.Entry<String, String>> merged = new ArrayList<>(2);
+        for (final Map.Entry<String, String> header : this.hdrs) {
+            if (new RqHeaders(update, header.getKey()).isEmpty()) {
+                merged.add(header);
+            }
+        }
+        update.forEach(merged::add);
+        return new ProxyMeta(time, new Headers.From(merged));
+    }
+
+    /**
+     * Parse metadata JSON.
+     * @param json JSON string
+     * @return Metadata or empty if JSON is invalid
+     */
+    private static Optional<ProxyMeta> parse(final String json) {
+        Optional<ProxyMeta> res = Optional.empty();
+        try {
+            final JsonObject obj = Json.createReader(new StringReader(json)).readObject();
+            if (obj.containsKey(ProxyMeta.EXPIRES) && obj.containsKey(ProxyMeta.FIELDS)) {
+                final List<Map.Entry<String, String>> headers = new ArrayList<>(2);
+                for (final JsonValue header : obj.getJsonArray(ProxyMeta.FIELDS)) {
+                    headers.add(
+                        new Header(
+                            header.asJsonArray().getString(0),
+                            header.asJsonArray().getString(1)
+                        )
+                    );
+                }
+                res = Optional.of(
+                    new ProxyMeta(
+                        Instant.ofEpochMilli(
+                            obj.getJsonNumber(ProxyMeta.EXPIRES).longValueExact()
+                        ),
+                        new Headers.From(headers)
+                    )
+                );
+            }
+        } catch (final JsonException | ClassCastException | ArithmeticException
+            | IndexOutOfBoundsException ex) {
+            res = Optional.empty();
+        }
+        return res;
+    }
+
+    /**
+     * Remote response headers to store.
+     * @param headers Remote response headers
+     * @return Headers to store
+     */
+    private static Headers stored(final Headers headers) {
+        final List<Map.Entry<String, String>> res = new ArrayList<>(2);
+        for (final Map.Entry<String, String> header : headers) {
+            if (ProxyMeta.ENTITY.contains(header.getKey().toLowerCase(Locale.US))) {
+                res.add(new Header(header.getKey(), header.getValue()));
+            }
+        }
+        return new Headers.From(res);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.headers.ContentLength;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice which handles {@code Range} and {@code If-Range} headers of GET
+ * requests.
+ * <p>
+ * If none of the requested byte ranges can be satisfied by the full
+ * response of origin slice, {@code 416 Range Not Satisfiable} response with
+ * {@code Content-Range: bytes *}{@code /<length>} header is returned, and
+ * the body of origin response is cancelled unread. Ranges are ignored, as
+ * RFC 7233 allows, when {@code If-Range} validator doesn't match origin
+ * {@code ETag} or {@code Last-Modified}, when origin response has no
+ * {@code Content-Length} or when header is malformed. Satisfiable ranges are
+ * answered with full response, since {@code 206 Partial Content} status is
+ * not supported by {@link RsStatus}, so this slice doesn't let clients
+ * resume interrupted downloads: they get the whole body again.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class RangeSlice implements Slice {
+
+    /**
+     * Range request header.
+     */
+    private static final String RANGE = "Range";
+
+    /**
+     * If-Range request header.
+     */
+    private static final String IF_RANGE = "If-Range";
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Ctor.
+     * @param origin Origin slice
+     */
+    public RangeSlice(final Slice origin) {
+        this.origin = origin;
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final Response res;
+        final RqHeaders range = new RqHeaders(headers, RangeSlice.RANGE);
+        if (new RequestLineFrom(line).method() == RqMethod.GET && range.size() == 1
+            && new ByteRanges(range.get(0)).valid()) {
+            final ByteRanges ranges = new ByteRanges(range.get(0));
+            final Optional<String> validator = RangeSlice.first(headers, RangeSlice.IF_RANGE);
+            final Response rsp = this.origin.response(line, headers, body);
+            res = connection -> rsp.send(
+                (status, rsheaders, rsbody) -> {
+                    final Optional<String> length = RangeSlice.first(
+                        rsheaders, ContentLength.NAME
+                    );
+                    final boolean refuse = status == RsStatus.OK
+                        && length.isPresent()
+                        && validator.map(val -> RangeSlice.matches(val, rsheaders)).orElse(true)
+                        && !ranges.satisfiable(Long.parseLong(length.get()));
+                    final CompletionStage<Void> sent;
+                    if (refuse) {
+                        Flowable.fromPublisher(rsbody).take(0).subscribe();
+                        sent = connection.accept(
+                            RsStatus.BAD_RANGE,
+                            new Headers.From(
+                                new Header(
+                                    "Content-Range", String.format("bytes */%s", length.get())
+                                ),
+                                new ContentLength(0)
+                            ),
+                            Flowable.empty()
+                        );
+                    } else {
+                        sent = connection.accept(status, rsheaders, rsbody);
+                    }
+                    return sent;
+                }
+            );
+        } else {
+            res = this.origin.response(line, headers, body);
+        }
+        return res;
+    }
+
+    /**
+     * Does {@code If-Range} validator match response.
+     * <p>
+     * Strong entity tag is compared with {@code ETag} header, date is
+     * compared with {@code Last-Modified} header, weak tags never match.
+     * </p>
+     * @param validator If-Range header value
+     * @param headers Response headers
+     * @return True if matches
+     */
+    private static boolean matches(final String validator,
+        final Iterable<Map.Entry<String, String>> headers) {
+        final Optional<String> current;
+        if (validator.startsWith("\"")) {
+            current = RangeSlice.first(headers, "ETag");
+        } else {
+            current = RangeSlice.first(headers, "Last-Modified");
+        }
+        return current.map(validator::equals).orElse(false);
+    }
+
+    /**
+     * First value of header.
+     * @param headers Headers
+     * @param name Header name
+     * @return Value if present
+     */
+    private static Optional<String> first(final Iterable<Map.Entry<String, String>> headers,
+        final String name) {
+        return new RqHeaders(headers, name).stream().findFirst();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Storage which hides keys reserved for internal data from listings.
+ * <p>
+ * Keys under reserved roots, like {@code .uploads} of {@link MultipartSlice},
+ * are filtered out of {@link Storage#list(Key)} results, other operations
+ * are passed to origin storage. Use it with {@link ReservedSlice}, which
+ * rejects requests of reserved keys.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class ReservedKeysStorage extends Storage.Wrap {
+
+    /**
+     * Reserved root keys.
+     */
+    private final Collection<Key> roots;
+
+    /**
+     * Ctor.
+     * @param origin Origin storage
+     * @param roots Reserved root keys
+     */
+    ReservedKeysStorage(final Storage origin, final Key... roots) {
+        super(origin);
+        this.roots = Arrays.asList(roots);
+    }
+
+    @Override
+    public CompletableFuture<Collection<Key>> list(final Key prefix) {
+        return super.list(prefix).thenApply(
+            keys -> keys.stream()
+                .filter(key -> !ReservedSlice.reserved(key, this.roots))
+                .collect(Collectors.toList())
+        );
+    }
+}
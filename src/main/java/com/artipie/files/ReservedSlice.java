@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rs.StandardRs;
+import com.artipie.http.slice.KeyFromPath;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice which doesn't serve keys reserved for internal data.
+ * <p>
+ * Requests of reserved root keys, like {@code .meta} of proxy cache, and
+ * of keys under them are answered with {@code 404 Not Found} without
+ * calling origin slice, so clients can't read or overwrite internal data
+ * kept in the same storage as files.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class ReservedSlice implements Slice {
+
+    /**
+     * Origin slice.
+     */
+    private final Slice origin;
+
+    /**
+     * Reserved root keys.
+     */
+    private final Collection<Key> roots;
+
+    /**
+     * Ctor.
+     * @param origin Origin slice
+     * @param roots Reserved root keys
+     */
+    ReservedSlice(final Slice origin, final Key... roots) {
+        this.origin = origin;
+        this.roots = Arrays.asList(roots);
+    }
+
+    @Override
+    public Response response(
+        final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body
+    ) {
+        final Response res;
+        if (ReservedSlice.reserved(
+            new KeyFromPath(new RequestLineFrom(line).uri().getPath()), this.roots
+        )) {
+            res = StandardRs.NOT_FOUND;
+        } else {
+            res = this.origin.response(line, headers, body);
+        }
+        return res;
+    }
+
+    /**
+     * Is key reserved.
+     * @param key Key
+     * @param roots Reserved root keys
+     * @return True if key is one of roots or is under one of them
+     */
+    static boolean reserved(final Key key, final Collection<Key> roots) {
+        return roots.stream().anyMatch(
+            root -> key.string().equals(root.string())
+                || key.string().startsWith(String.join("", root.string(), Key.DELIMITER))
+        );
+    }
+}
@@ -0,0 +1,655 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.rx.RxStorageWrapper;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.async.AsyncResponse;
+import com.artipie.http.headers.Header;
+import com.artipie.http.headers.Location;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rq.RqParams;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.rs.StandardRs;
+import com.artipie.http.rt.ByMethodsRule;
+import com.artipie.http.rt.RtRule;
+import com.artipie.http.slice.KeyFromPath;
+import io.reactivex.Flowable;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.reactivestreams.Publisher;
+
+/**
+ * Slice which uploads files in upload sessions which can be resumed.
+ * <p>
+ * Implements core, creation and termination of
+ * <a href="https://tus.io/protocols/resumable-upload.html">tus 1.0.0</a>
+ * protocol. Session is created with {@code POST /path} request with
+ * {@code Upload-Length} header, which responds with session URL
+ * {@code /path?session=id} in {@code Location} header. Data is sent with
+ * {@code PATCH} requests to the session URL, each request has
+ * {@code Upload-Offset} header with the offset of sent data in the file and
+ * {@code application/offset+octet-stream} content type.
+ * Data of every request is streamed to the storage under {@code .uploads}
+ * key, so {@code HEAD} request to the session URL reports current offset in
+ * {@code Upload-Offset} header, and interrupted upload is resumed from this
+ * offset. When request body fails, data received before the failure is kept
+ * and counted in the offset. Request is rejected with
+ * {@code 413 Payload Too Large} as soon as its data exceeds upload length,
+ * and none of its data is kept. The file is saved when data reaches upload
+ * length. {@code DELETE} request terminates the session.
+ * </p>
+ * <p>
+ * Requests without {@code Tus-Resumable: 1.0.0} header and {@code PATCH}
+ * requests with other content type are rejected with
+ * {@code 400 Bad Request}, since responses can't have {@code 412} and
+ * {@code 415} statuses which the protocol uses for them. Only requests
+ * which create sessions or address them, and {@code OPTIONS} requests, are
+ * served by this slice, see {@link #REQUESTS}. Downloads can't be resumed,
+ * see {@link RangeSlice}.
+ * </p>
+ *
+ * @since 1.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class ResumableSlice implements Slice {
+
+    /**
+     * Rule of requests served by this slice.
+     */
+    public static final RtRule REQUESTS = new RtRule.Any(
+        new RtRule.All(
+            new RtRule.ByHeader(ResumableSlice.RESUMABLE),
+            new RtRule.Any(
+                new ByMethodsRule(RqMethod.POST),
+                new RtRule.All(
+                    new ByMethodsRule(RqMethod.HEAD, RqMethod.PATCH, RqMethod.DELETE),
+                    (line, headers) -> new RqParams(new RequestLineFrom(line).uri())
+                        .value(ResumableSlice.SESSION).isPresent()
+                )
+            )
+        ),
+        new ByMethodsRule(RqMethod.OPTIONS)
+    );
+
+    /**
+     * Protocol version header.
+     */
+    private static final String RESUMABLE = "Tus-Resumable";
+
+    /**
+     * Supported protocol versions header.
+     */
+    private static final String VERSIONS = "Tus-Version";
+
+    /**
+     * Supported protocol version.
+     */
+    private static final String VERSION = "1.0.0";
+
+    /**
+     * Content type of data.
+     */
+    private static final String OCTET_STREAM = "application/offset+octet-stream";
+
+    /**
+     * Upload offset header.
+     */
+    private static final String OFFSET_HEADER = "Upload-Offset";
+
+    /**
+     * Upload length header.
+     */
+    private static final String LENGTH_HEADER = "Upload-Length";
+
+    /**
+     * Session id parameter.
+     */
+    private static final String SESSION = "session";
+
+    /**
+     * Session id.
+     */
+    private static final Pattern ID = Pattern.compile(
+        "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}"
+    );
+
+    /**
+     * Key of upload length in session key.
+     */
+    private static final String TOTAL = "length";
+
+    /**
+     * Chunks key part.
+     */
+    private static final String CHUNKS_KEY = "chunks";
+
+    /**
+     * Error message of data over upload length.
+     */
+    private static final String EXCEEDED = "Upload-Length exceeded";
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Ctor.
+     * @param storage Storage
+     */
+    public ResumableSlice(final Storage storage) {
+        this.storage = storage;
+    }
+
+    @Override
+    public Response response(final String line,
+        final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body) {
+        final RequestLineFrom rql = new RequestLineFrom(line);
+        final URI uri = rql.uri();
+        final Key key = new KeyFromPath(uri.getPath());
+        final Optional<String> session = new RqParams(uri).value(ResumableSlice.SESSION);
+        final Response res;
+        if (rql.method() == RqMethod.OPTIONS) {
+            res = new RsWithHeaders(
+                StandardRs.NO_CONTENT,
+                new Headers.From(
+                    new Header(ResumableSlice.VERSIONS, ResumableSlice.VERSION),
+                    new Header("Tus-Extension", "creation,termination"),
+                    new Header(ResumableSlice.RESUMABLE, ResumableSlice.VERSION)
+                )
+            );
+        } else if (ResumableSlice.unsupported(headers)) {
+            res = new RsWithHeaders(
+                ResumableSlice.badRequest(
+                    String.format("Tus-Resumable %s is required", ResumableSlice.VERSION)
+                ),
+                new Headers.From(ResumableSlice.VERSIONS, ResumableSlice.VERSION)
+            );
+        } else if (session.isPresent() && ResumableSlice.ID.matcher(session.get()).matches()) {
+            final Key base = ResumableSlice.base(key, session.get());
+            res = new AsyncResponse(
+                this.length(base).thenCompose(
+                    length -> length.map(
+                        total -> this.perform(rql.method(), key, base, total, headers, body)
+                    ).orElseGet(() -> CompletableFuture.completedFuture(StandardRs.NOT_FOUND))
+                ).thenApply(ResumableSlice::versioned)
+            );
+        } else if (session.isPresent()) {
+            res = StandardRs.NOT_FOUND;
+        } else if (rql.method() == RqMethod.POST) {
+            res = new AsyncResponse(
+                this.create(uri, key, ResumableSlice.number(headers, ResumableSlice.LENGTH_HEADER))
+                    .thenApply(ResumableSlice::versioned)
+            );
+        } else {
+            res = new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED);
+        }
+        return res;
+    }
+
+    /**
+     * Create session.
+     * @param uri Request URI
+     * @param key File key
+     * @param length Upload length
+     * @return Response with session URL
+     */
+    private CompletionStage<Response> create(final URI uri, final Key key,
+        final Optional<Long> length) {
+        final CompletionStage<Response> res;
+        if (length.isPresent()) {
+            final String session = UUID.randomUUID().toString();
+            res = this.storage.save(
+                new Key.From(ResumableSlice.base(key, session), ResumableSlice.TOTAL),
+                new Content.From(String.valueOf(length.get()).getBytes(StandardCharsets.UTF_8))
+            ).thenApply(
+                nothing -> new RsWithHeaders(
+                    new RsWithStatus(RsStatus.CREATED),
+                    new Headers.From(
+                        new Location(
+                            String.format(
+                                "%s?%s=%s", uri.getRawPath(), ResumableSlice.SESSION, session
+                            )
+                        )
+                    )
+                )
+            );
+        } else {
+            res = CompletableFuture.completedFuture(
+                ResumableSlice.badRequest("Upload-Length header is required")
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Perform request to existing session.
+     * @param method Request method
+     * @param key File key
+     * @param base Session key
+     * @param length Upload length
+     * @param headers Request headers
+     * @param body Request body
+     * @return Response
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private CompletionStage<Response> perform(final RqMethod method, final Key key,
+        final Key base, final long length, final Iterable<Map.Entry<String, String>> headers,
+        final Publisher<ByteBuffer> body) {
+        final CompletionStage<Response> res;
+        if (method == RqMethod.HEAD) {
+            res = this.chunks(base).thenApply(
+                chunks -> new RsWithHeaders(
+                    StandardRs.OK,
+                    new Headers.From(
+                        new Header(ResumableSlice.OFFSET_HEADER, String.valueOf(chunks.offset())),
+                        new Header(ResumableSlice.LENGTH_HEADER, String.valueOf(length)),
+                        new Header("Cache-Control", "no-store")
+                    )
+                )
+            );
+        } else if (method == RqMethod.PATCH && !ResumableSlice.octets(headers)) {
+            res = CompletableFuture.completedFuture(
+                ResumableSlice.badRequest(
+                    String.format("Content-Type must be %s", ResumableSlice.OCTET_STREAM)
+                )
+            );
+        } else if (method == RqMethod.PATCH) {
+            final Optional<Long> offset = ResumableSlice.number(
+                headers, ResumableSlice.OFFSET_HEADER
+            );
+            if (offset.isPresent()) {
+                res = this.chunks(base).thenCompose(
+                    chunks -> this.append(key, base, length, chunks, offset.get(), body)
+                );
+            } else {
+                res = CompletableFuture.completedFuture(
+                    ResumableSlice.badRequest("Upload-Offset header is required")
+                );
+            }
+        } else if (method == RqMethod.DELETE) {
+            res = this.storage.deleteAll(base).thenApply(nothing -> StandardRs.NO_CONTENT);
+        } else {
+            res = CompletableFuture.completedFuture(
+                new RsWithStatus(RsStatus.METHOD_NOT_ALLOWED)
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Append data to session and save the file when all data is received.
+     * @param key File key
+     * @param base Session key
+     * @param length Upload length
+     * @param chunks Received chunks
+     * @param offset Offset of data
+     * @param body Data
+     * @return Response with new offset
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private CompletionStage<Response> append(final Key key, final Key base, final long length,
+        final Chunks chunks, final long offset, final Publisher<ByteBuffer> body) {
+        final CompletionStage<Response> res;
+        if (offset == chunks.offset()) {
+            final AtomicReference<Throwable> interrupted = new AtomicReference<>();
+            final AtomicBoolean exceeded = new AtomicBoolean();
+            final AtomicLong received = new AtomicLong(offset);
+            res = this.storage.save(
+                new Key.From(base, ResumableSlice.CHUNKS_KEY, String.valueOf(offset)),
+                new Content.From(
+                    Flowable.fromPublisher(body)
+                        .doOnError(interrupted::set)
+                        .onErrorResumeNext(Flowable.empty())
+                        .doOnNext(
+                            buf -> {
+                                if (received.addAndGet(buf.remaining()) > length) {
+                                    exceeded.set(true);
+                                    throw new IllegalStateException(ResumableSlice.EXCEEDED);
+                                }
+                            }
+                        )
+                )
+            ).handle(
+                (nothing, err) -> {
+                    final CompletableFuture<Response> rsp;
+                    if (exceeded.get()) {
+                        rsp = CompletableFuture.completedFuture(
+                            new RsWithBody(
+                                new RsWithStatus(RsStatus.PAYLOAD_TOO_LARGE),
+                                ResumableSlice.EXCEEDED, StandardCharsets.UTF_8
+                            )
+                        );
+                    } else if (err == null && interrupted.get() == null) {
+                        rsp = this.appended(key, base, length);
+                    } else {
+                        rsp = new CompletableFuture<>();
+                        rsp.completeExceptionally(
+                            Optional.ofNullable(err).orElseGet(interrupted::get)
+                        );
+                    }
+                    return rsp;
+                }
+            ).thenCompose(Function.identity());
+        } else {
+            res = CompletableFuture.completedFuture(
+                new RsWithBody(
+                    new RsWithStatus(RsStatus.CONFLICT),
+                    String.format("Upload-Offset must be %d", chunks.offset()),
+                    StandardCharsets.UTF_8
+                )
+            );
+        }
+        return res;
+    }
+
+    /**
+     * Save the file if all data is received.
+     * @param key File key
+     * @param base Session key
+     * @param length Upload length
+     * @return Response with new offset
+     */
+    private CompletableFuture<Response> appended(final Key key, final Key base,
+        final long length) {
+        return this.chunks(base).thenCompose(
+            received -> {
+                final CompletionStage<Response> rsp;
+                if (received.offset() == length) {
+                    rsp = this.complete(key, base, received)
+                        .thenApply(nothing -> ResumableSlice.offset(length));
+                } else {
+                    rsp = CompletableFuture.completedFuture(
+                        ResumableSlice.offset(received.offset())
+                    );
+                }
+                return rsp;
+            }
+        ).toCompletableFuture();
+    }
+
+    /**
+     * Save the file from received chunks and remove the session.
+     * @param key File key
+     * @param base Session key
+     * @param chunks Received chunks
+     * @return Completion
+     */
+    private CompletionStage<Void> complete(final Key key, final Key base, final Chunks chunks) {
+        final RxStorageWrapper rxsto = new RxStorageWrapper(this.storage);
+        return this.storage.save(
+            key,
+            new Content.From(
+                Optional.of(chunks.offset()),
+                Flowable.fromIterable(chunks.keys()).concatMap(
+                    chunk -> rxsto.value(chunk).flatMapPublisher(content -> content)
+                )
+            )
+        ).thenCompose(nothing -> this.storage.deleteAll(base));
+    }
+
+    /**
+     * Upload length of session.
+     * @param base Session key
+     * @return Upload length or empty if there is no session
+     */
+    private CompletionStage<Optional<Long>> length(final Key base) {
+        final Key total = new Key.From(base, ResumableSlice.TOTAL);
+        return this.storage.exists(total).thenCompose(
+            exists -> {
+                final CompletionStage<Optional<Long>> res;
+                if (exists) {
+                    res = this.storage.value(total)
+                        .thenCompose(content -> new PublisherAs(content).asciiString())
+                        .thenApply(str -> Optional.of(Long.parseLong(str)));
+                } else {
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Received chunks.
+     * @param base Session key
+     * @return Chunks
+     */
+    private CompletionStage<Chunks> chunks(final Key base) {
+        return this.storage.list(new Key.From(base, ResumableSlice.CHUNKS_KEY)).thenCompose(
+            keys -> {
+                final List<CompletableFuture<Chunk>> chunks = keys.stream().map(
+                    chunk -> this.storage.metadata(chunk).thenApply(
+                        meta -> new Chunk(
+                            chunk, meta.read(Meta.OP_SIZE).map(Long::longValue).orElse(0L)
+                        )
+                    )
+                ).collect(Collectors.toList());
+                return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(
+                        nothing -> new Chunks(
+                            chunks.stream().map(CompletableFuture::join)
+                                .collect(Collectors.toList())
+                        )
+                    );
+            }
+        );
+    }
+
+    /**
+     * Key of session.
+     * @param key File key
+     * @param session Session id
+     * @return Key of session chunks and upload length
+     */
+    private static Key base(final Key key, final String session) {
+        return new Key.From(MultipartSlice.ROOT, key.string(), session);
+    }
+
+    /**
+     * Response with tus protocol version.
+     * @param response Response
+     * @return Response with version header
+     */
+    private static Response versioned(final Response response) {
+        return new RsWithHeaders(
+            response, new Headers.From(ResumableSlice.RESUMABLE, ResumableSlice.VERSION)
+        );
+    }
+
+    /**
+     * Response with upload offset.
+     * @param offset Upload offset
+     * @return Response
+     */
+    private static Response offset(final long offset) {
+        return new RsWithHeaders(
+            StandardRs.NO_CONTENT,
+            new Headers.From(ResumableSlice.OFFSET_HEADER, String.valueOf(offset))
+        );
+    }
+
+    /**
+     * Non-negative number from request header.
+     * @param headers Request headers
+     * @param name Header name
+     * @return Number or empty if header is absent or invalid
+     */
+    private static Optional<Long> number(final Iterable<Map.Entry<String, String>> headers,
+        final String name) {
+        return new RqHeaders(headers, name).stream().findFirst()
+            .map(String::trim)
+            .filter(value -> value.matches("[0-9]{1,18}"))
+            .map(Long::parseLong);
+    }
+
+    /**
+     * Is protocol version of request unsupported.
+     * @param headers Request headers
+     * @return True if request has no supported version header
+     */
+    private static boolean unsupported(final Iterable<Map.Entry<String, String>> headers) {
+        return new RqHeaders(headers, ResumableSlice.RESUMABLE).stream()
+            .map(String::trim)
+            .noneMatch(ResumableSlice.VERSION::equals);
+    }
+
+    /**
+     * Is request data sent with content type of the protocol.
+     * @param headers Request headers
+     * @return True if content type is {@code application/offset+octet-stream}
+     */
+    private static boolean octets(final Iterable<Map.Entry<String, String>> headers) {
+        return new RqHeaders(headers, "Content-Type").stream()
+            .map(value -> value.split(";")[0].trim())
+            .anyMatch(ResumableSlice.OCTET_STREAM::equalsIgnoreCase);
+    }
+
+    /**
+     * Bad request response.
+     * @param message Error message
+     * @return Response
+     */
+    private static Response badRequest(final String message) {
+        return new RsWithBody(
+            new RsWithStatus(RsStatus.BAD_REQUEST), message, StandardCharsets.UTF_8
+        );
+    }
+
+    /**
+     * Received chunks of session.
+     * <p>
+     * Chunk keys are offsets of chunks in the file. Only chunks which
+     * follow each other from the start of the file are received, other
+     * chunks are left from concurrent requests and are ignored.
+     * </p>
+     * @since 1.0
+     */
+    private static final class Chunks {
+
+        /**
+         * Stored chunks in order of offsets.
+         */
+        private final List<Chunk> stored;
+
+        /**
+         * Ctor.
+         * @param stored Stored chunks
+         */
+        Chunks(final List<Chunk> stored) {
+            this.stored = Chunks.sorted(stored);
+        }
+
+        /**
+         * Keys of received chunks.
+         * @return Keys in order of offsets
+         */
+        List<Key> keys() {
+            return this.received().stream().map(chunk -> chunk.key).collect(Collectors.toList());
+        }
+
+        /**
+         * Offset after the last received chunk.
+         * @return Offset
+         */
+        long offset() {
+            return this.received().stream().mapToLong(chunk -> chunk.size).sum();
+        }
+
+        /**
+         * Received chunks.
+         * @return Chunks which follow each other from the start of the file
+         */
+        private List<Chunk> received() {
+            final List<Chunk> res = new ArrayList<>(this.stored.size());
+            long offset = 0;
+            for (final Chunk chunk : this.stored) {
+                if (chunk.start() == offset) {
+                    res.add(chunk);
+                    offset += chunk.size;
+                }
+            }
+            return res;
+        }
+
+        /**
+         * Chunks in order of offsets.
+         * @param chunks Chunks
+         * @return Sorted chunks
+         */
+        private static List<Chunk> sorted(final List<Chunk> chunks) {
+            return chunks.stream()
+                .sorted(Comparator.comparingLong(Chunk::start))
+                .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Stored chunk.
+     * @since 1.0
+     */
+    private static final class Chunk {
+
+        /**
+         * Chunk key.
+         */
+        private final Key key;
+
+        /**
+         * Chunk size.
+         */
+        private final long size;
+
+        /**
+         * Ctor.
+         * @param key Chunk key
+         * @param size Chunk size
+         */
+        Chunk(final Key key, final long size) {
+            this.key = key;
+            this.size = size;
+        }
+
+        /**
+         * Offset of chunk in the file.
+         * @return Offset
+         */
+        long start() {
+            final String str = this.key.string();
+            return Long.parseLong(str.substring(str.lastIndexOf('/') + 1));
+        }
+    }
+}
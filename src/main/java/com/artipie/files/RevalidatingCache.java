@@ -0,0 +1,413 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import org.reactivestreams.Publisher;
+
+/**
+ * Proxy cache which serves fresh files from storage and revalidates stale ones.
+ * <p>
+ * Freshness lifetime of loaded file is defined by {@link Freshness} policy,
+ * fresh files are served from storage without contacting the remote. Stale
+ * files are revalidated with {@code If-None-Match} and
+ * {@code If-Modified-Since} requests built from remote {@code ETag} and
+ * {@code Last-Modified} headers: {@code 304 Not Modified} response only
+ * prolongs freshness, new content replaces cached one. If remote fails or
+ * doesn't find stale file, the stale file is served. Metadata of cached
+ * files is stored in the same storage, see {@link ProxyMeta}.
+ * </p>
+ * <p>
+ * With stale-while-revalidate time, file which became stale not longer than
+ * this time ago is served from storage immediately and is revalidated in
+ * background, at most one background revalidation of the file runs at a
+ * time. Files which are stale for longer are revalidated before response.
+ * </p>
+ * <p>
+ * Content loaded from remote is streamed to the client while it's written
+ * to storage, see {@link TeeContent}, so the first client receives bytes as
+ * soon as remote sends them. Cached file and its metadata are replaced only
+ * when the whole content was received and its digests match checksums
+ * announced by remote, see {@link Checksums}. Loads of the file which is being
+ * written for the first time wait until the write completes and then read the
+ * cached file, while the file which is already cached is served as is until
+ * the new content replaces it.
+ * </p>
+ * <pre>{@code
+ * new FileProxySlice(
+ *     clients, remote, Authenticator.ANONYMOUS,
+ *     new RevalidatingCache(
+ *         storage, new Freshness.Upstream(new Freshness.MaxAge(Duration.ofMinutes(10))),
+ *         Duration.ofHours(1)
+ *     )
+ * )
+ * }</pre>
+ *
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class RevalidatingCache implements ProxyCache {
+
+    /**
+     * Latest expiration time which can be stored.
+     */
+    private static final Instant NEVER = Instant.ofEpochMilli(Long.MAX_VALUE);
+
+    /**
+     * Cache storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Freshness policy.
+     */
+    private final Freshness freshness;
+
+    /**
+     * Time after file becomes stale when it's served while it's revalidated.
+     */
+    private final Duration grace;
+
+    /**
+     * Writes of files in progress by key.
+     */
+    private final ConcurrentMap<String, CompletionStage<Void>> writes;
+
+    /**
+     * Keys of files revalidated in background.
+     */
+    private final Set<String> refreshing;
+
+    /**
+     * Ctor.
+     * @param storage Cache storage
+     * @param freshness Freshness policy
+     */
+    public RevalidatingCache(final Storage storage, final Freshness freshness) {
+        this(storage, freshness, Duration.ZERO);
+    }
+
+    /**
+     * Ctor.
+     * @param storage Cache storage
+     * @param freshness Freshness policy
+     * @param grace Time after file becomes stale when it's served while it's
+     *  revalidated in background
+     */
+    public RevalidatingCache(final Storage storage, final Freshness freshness,
+        final Duration grace) {
+        this.storage = storage;
+        this.freshness = freshness;
+        this.grace = grace;
+        this.writes = new ConcurrentHashMap<>();
+        this.refreshing = ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public CompletionStage<Optional<ProxiedFile>> load(final Key key,
+        final Function<Headers, Response> remote) {
+        final Optional<CompletionStage<Void>> write = this.writing(key);
+        return this.meta(key).thenCompose(
+            meta -> {
+                final CompletionStage<Optional<ProxiedFile>> res;
+                if (write.isPresent() && !meta.isPresent()) {
+                    res = write.get().thenCompose(nothing -> this.meta(key)).thenCompose(
+                        written -> this.served(key, remote, written)
+                    );
+                } else {
+                    res = this.served(key, remote, meta);
+                }
+                return res;
+            }
+        );
+    }
+
+    @Override
+    public CompletionStage<Optional<ProxiedFile>> cached(final Key key) {
+        final Optional<CompletionStage<Void>> write = this.writing(key);
+        return this.storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Boolean> committed;
+                if (write.isPresent() && !exists) {
+                    committed = write.get().thenCompose(nothing -> this.storage.exists(key));
+                } else {
+                    committed = CompletableFuture.completedFuture(exists);
+                }
+                return committed;
+            }
+        ).thenCompose(
+            exists -> {
+                final CompletionStage<Optional<ProxiedFile>> res;
+                if (exists) {
+                    res = ProxyMeta.read(this.storage, key).thenCompose(
+                        meta -> this.file(
+                            key, meta.map(ProxyMeta::headers).orElse(Headers.EMPTY)
+                        )
+                    );
+                } else {
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Serve cached file if it's fresh enough or load it from remote.
+     * @param key File key
+     * @param remote Remote response by request headers
+     * @param meta Metadata of cached file
+     * @return File or empty if it's not found
+     */
+    private CompletionStage<Optional<ProxiedFile>> served(final Key key,
+        final Function<Headers, Response> remote, final Optional<ProxyMeta> meta) {
+        final Instant now = Instant.now();
+        final CompletionStage<Optional<ProxiedFile>> res;
+        if (meta.isPresent() && meta.get().fresh(now.minus(this.grace))) {
+            res = this.file(key, meta.get().headers());
+            if (!meta.get().fresh(now)) {
+                res.thenRun(() -> this.refresh(key, remote, meta.get()));
+            }
+        } else {
+            res = this.revalidate(key, remote);
+        }
+        return res;
+    }
+
+    /**
+     * Load file from cache if it's fresh or from remote.
+     * @param key File key
+     * @param remote Remote response by request headers
+     * @return File or empty if it's not found
+     */
+    private CompletionStage<Optional<ProxiedFile>> revalidate(final Key key,
+        final Function<Headers, Response> remote) {
+        return this.storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Optional<ProxiedFile>> res;
+                if (exists) {
+                    res = ProxyMeta.read(this.storage, key).thenCompose(
+                        meta -> {
+                            final CompletionStage<Optional<ProxiedFile>> file;
+                            if (meta.isPresent() && meta.get().fresh(Instant.now())) {
+                                file = this.file(key, meta.get().headers());
+                            } else {
+                                file = this.fetch(key, remote, meta, true);
+                            }
+                            return file;
+                        }
+                    );
+                } else {
+                    res = this.fetch(key, remote, Optional.empty(), false);
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Revalidate stale file in background unless it's revalidated already.
+     * @param key File key
+     * @param remote Remote response by request headers
+     * @param meta Metadata of cached file
+     */
+    private void refresh(final Key key, final Function<Headers, Response> remote,
+        final ProxyMeta meta) {
+        if (this.refreshing.add(key.string())) {
+            this.fetch(key, remote, Optional.of(meta), true).thenCompose(
+                file -> file.map(loaded -> RevalidatingCache.drain(loaded.content()))
+                    .orElseGet(() -> CompletableFuture.completedFuture(null))
+            ).whenComplete((nothing, err) -> this.refreshing.remove(key.string()));
+        }
+    }
+
+    /**
+     * Metadata of cached file.
+     * @param key File key
+     * @return Metadata or empty if file or its metadata is not cached
+     */
+    private CompletionStage<Optional<ProxyMeta>> meta(final Key key) {
+        return this.storage.exists(key).thenCompose(
+            exists -> {
+                final CompletionStage<Optional<ProxyMeta>> res;
+                if (exists) {
+                    res = ProxyMeta.read(this.storage, key);
+                } else {
+                    res = CompletableFuture.completedFuture(Optional.empty());
+                }
+                return res;
+            }
+        );
+    }
+
+    /**
+     * Load file from remote.
+     * @param key File key
+     * @param remote Remote response by request headers
+     * @param meta Metadata of cached file
+     * @param stored Is file stored in cache
+     * @return File or empty if it's not found
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private CompletionStage<Optional<ProxiedFile>> fetch(final Key key,
+        final Function<Headers, Response> remote, final Optional<ProxyMeta> meta,
+        final boolean stored) {
+        final Headers conditions;
+        if (stored) {
+            conditions = meta.map(ProxyMeta::conditions).orElse(Headers.EMPTY);
+        } else {
+            conditions = Headers.EMPTY;
+        }
+        final CompletableFuture<Optional<ProxiedFile>> res = new CompletableFuture<>();
+        CompletableFuture.<Void>completedFuture(null).thenCompose(
+            nothing -> remote.apply(conditions).send(
+                (status, headers, body) -> {
+                    final CompletionStage<Optional<ProxiedFile>> loaded;
+                    if (status == RsStatus.OK) {
+                        loaded = this.update(key, headers, body);
+                    } else if (status == RsStatus.NOT_MODIFIED && stored) {
+                        final Instant expires = this.expires(headers);
+                        final ProxyMeta fresh = meta.map(
+                            cached -> cached.revalidated(expires, headers)
+                        ).orElseGet(() -> new ProxyMeta(expires, headers));
+                        loaded = RevalidatingCache.drain(body)
+                            .thenCompose(drained -> fresh.save(this.storage, key))
+                            .thenCompose(saved -> this.file(key, fresh.headers()));
+                    } else {
+                        loaded = RevalidatingCache.drain(body)
+                            .thenCompose(drained -> this.stale(key, meta, stored));
+                    }
+                    return loaded.thenAccept(res::complete);
+                }
+            )
+        ).exceptionally(
+            err -> {
+                if (!res.isDone()) {
+                    this.stale(key, meta, stored).thenAccept(res::complete);
+                }
+                return null;
+            }
+        );
+        return res;
+    }
+
+    /**
+     * Stream file loaded from remote and save it to cache.
+     * @param key File key
+     * @param headers Remote response headers
+     * @param body Remote response body
+     * @return File streamed from remote
+     */
+    private CompletionStage<Optional<ProxiedFile>> update(final Key key, final Headers headers,
+        final Publisher<ByteBuffer> body) {
+        final ProxyMeta meta = new ProxyMeta(this.expires(headers), headers);
+        final CompletableFuture<Void> stored = new CompletableFuture<>();
+        final Content content = new TeeContent(this.storage, key).content(
+            body,
+            new RqHeaders(headers, "Content-Length").stream().findFirst()
+                .filter(len -> len.matches("\\d{1,18}"))
+                .map(Long::parseLong),
+            new Checksums(headers),
+            stored
+        );
+        final CompletionStage<Void> write = stored.thenCompose(
+            nothing -> meta.save(this.storage, key)
+        );
+        this.writes.put(key.string(), write);
+        write.whenComplete((nothing, err) -> this.writes.remove(key.string(), write));
+        return CompletableFuture.completedFuture(
+            Optional.of(new ProxiedFile(meta.headers(), content))
+        );
+    }
+
+    /**
+     * Write of file in progress.
+     * @param key File key
+     * @return Completed when file is written or discarded, empty if file
+     *  isn't being written
+     */
+    private Optional<CompletionStage<Void>> writing(final Key key) {
+        return Optional.ofNullable(this.writes.get(key.string())).map(
+            write -> write.<Void>handle((nothing, err) -> null)
+        );
+    }
+
+    /**
+     * Stale file when remote can't provide fresh one.
+     * @param key File key
+     * @param meta Metadata of cached file
+     * @param stored Is file stored in cache
+     * @return Stale file or empty if it's not stored
+     */
+    private CompletionStage<Optional<ProxiedFile>> stale(final Key key,
+        final Optional<ProxyMeta> meta, final boolean stored) {
+        final CompletionStage<Optional<ProxiedFile>> res;
+        if (stored) {
+            res = this.file(key, meta.map(ProxyMeta::headers).orElse(Headers.EMPTY));
+        } else {
+            res = CompletableFuture.completedFuture(Optional.empty());
+        }
+        return res;
+    }
+
+    /**
+     * Cached file.
+     * @param key File key
+     * @param headers Stored headers
+     * @return File
+     */
+    private CompletionStage<Optional<ProxiedFile>> file(final Key key, final Headers headers) {
+        return this.storage.value(key).thenApply(
+            content -> Optional.of(new ProxiedFile(headers, content))
+        );
+    }
+
+    /**
+     * Expiration time of file loaded now.
+     * @param headers Remote response headers
+     * @return Expiration time
+     */
+    private Instant expires(final Headers headers) {
+        final Instant now = Instant.now();
+        final Duration ttl = this.freshness.ttl(headers);
+        final Instant res;
+        if (ttl.compareTo(Duration.between(now, RevalidatingCache.NEVER)) < 0) {
+            res = now.plus(ttl);
+        } else {
+            res = RevalidatingCache.NEVER;
+        }
+        return res;
+    }
+
+    /**
+     * Consume response body.
+     * @param body Body
+     * @return Completion
+     */
+    private static CompletionStage<Void> drain(final Publisher<ByteBuffer> body) {
+        final CompletableFuture<Void> res = new CompletableFuture<>();
+        Flowable.fromPublisher(body).ignoreElements().subscribe(
+            () -> res.complete(null), res::completeExceptionally
+        );
+        return res;
+    }
+}
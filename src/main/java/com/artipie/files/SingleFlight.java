@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent actions with the same key.
+ * <p>
+ * The first caller runs the action, callers which come while it is in
+ * flight wait for its result instead of running the action again. Result
+ * is shared through a function, so a value which can be consumed only once,
+ * like a stream, is given to the first caller and others make their own
+ * value from it.
+ * </p>
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ * @since 1.0
+ */
+final class SingleFlight<K, V> {
+
+    /**
+     * Actions in flight by key.
+     */
+    private final ConcurrentMap<K, CompletableFuture<V>> flights;
+
+    /**
+     * Ctor.
+     */
+    SingleFlight() {
+        this.flights = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Run action or wait for the one in flight.
+     * @param key Action key
+     * @param action Action to run
+     * @param share Value for waiting caller from result of the action
+     * @return Value
+     */
+    public CompletionStage<V> run(final K key,
+        final Supplier<? extends CompletionStage<V>> action,
+        final Function<? super V, ? extends CompletionStage<V>> share) {
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> running = this.flights.putIfAbsent(key, flight);
+        final CompletionStage<V> res;
+        if (running == null) {
+            CompletableFuture.<Void>completedFuture(null).thenCompose(
+                nothing -> action.get()
+            ).whenComplete(
+                (val, err) -> {
+                    this.flights.remove(key, flight);
+                    if (err == null) {
+                        flight.complete(val);
+                    } else {
+                        flight.completeExceptionally(err);
+                    }
+                }
+            );
+            res = flight;
+        } else {
+            res = running.thenCompose(share);
+        }
+        return res;
+    }
+}
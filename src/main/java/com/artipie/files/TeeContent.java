@@ -0,0 +1,229 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.http.Headers;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.processors.UnicastProcessor;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Publisher;
+
+/**
+ * Content which is saved to storage while it's read.
+ * <p>
+ * Bytes of the origin publisher are passed to the reader as soon as they
+ * arrive and are written to a temporary key of the storage at the same time.
+ * When origin completes, and its size matches expected one, the temporary
+ * key is moved to the target key, so readers of the target key never see
+ * partial content. Content is committed only when its digests match
+ * checksums announced by remote, see {@link Checksums}, digests are
+ * computed while bytes pass through. Reader receives completion signal only after the write
+ * finishes, even if it fails, so once content is read it can be found in
+ * storage. Failed, truncated or cancelled content is deleted from
+ * temporary key and target key stays unchanged. Storage write doesn't slow
+ * down the reader: if storage is slower, pending bytes are kept in memory,
+ * but not more than the limit. When the write falls behind the reader by
+ * more than the limit, it's abandoned and the content isn't saved, while the
+ * reader keeps receiving it. Storage write starts when content is
+ * subscribed, so reader must either consume or cancel it.
+ * </p>
+ *
+ * @since 1.0
+ */
+final class TeeContent {
+
+    /**
+     * Root key of temporary content.
+     */
+    static final Key PARTS = new Key.From(".parts");
+
+    /**
+     * Default limit of pending bytes, 16 MiB.
+     */
+    private static final long PENDING = 16L * 1024 * 1024;
+
+    /**
+     * Storage.
+     */
+    private final Storage storage;
+
+    /**
+     * Target key.
+     */
+    private final Key key;
+
+    /**
+     * Max amount of bytes read but not written yet.
+     */
+    private final long limit;
+
+    /**
+     * Ctor.
+     * @param storage Storage
+     * @param key Target key
+     */
+    TeeContent(final Storage storage, final Key key) {
+        this(storage, key, TeeContent.PENDING);
+    }
+
+    /**
+     * Ctor.
+     * @param storage Storage
+     * @param key Target key
+     * @param limit Max amount of bytes read but not written yet
+     */
+    TeeContent(final Storage storage, final Key key, final long limit) {
+        this.storage = storage;
+        this.key = key;
+        this.limit = limit;
+    }
+
+    /**
+     * Content which is saved to target key while it's read.
+     * @param origin Origin content
+     * @param size Expected size of content
+     * @param stored Completed when content is saved to target key,
+     *  completed exceptionally when content is discarded
+     * @return Content to read
+     */
+    public Content content(final Publisher<ByteBuffer> origin, final Optional<Long> size,
+        final CompletableFuture<Void> stored) {
+        return this.content(origin, size, new Checksums(Headers.EMPTY), stored);
+    }
+
+    /**
+     * Content which is saved to target key while it's read and verified.
+     * @param origin Origin content
+     * @param size Expected size of content
+     * @param checksums Expected checksums of content
+     * @param stored Completed when content is saved to target key,
+     *  completed exceptionally when content is discarded
+     * @return Content to read
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public Content content(final Publisher<ByteBuffer> origin, final Optional<Long> size,
+        final Checksums checksums, final CompletableFuture<Void> stored) {
+        return new Content.From(
+            size,
+            Flowable.defer(
+                () -> {
+                    final UnicastProcessor<ByteBuffer> copy = UnicastProcessor.create(
+                        Flowable.bufferSize(), () -> { }, false
+                    );
+                    final AtomicLong pending = new AtomicLong();
+                    this.save(
+                        new Content.From(
+                            size,
+                            copy.doOnNext(buf -> pending.addAndGet(-buf.remaining()))
+                        ),
+                        stored
+                    );
+                    final AtomicLong read = new AtomicLong();
+                    final Checksums.Check check = checksums.check();
+                    return Flowable.fromPublisher(origin)
+                        .doOnNext(
+                            buf -> {
+                                read.addAndGet(buf.remaining());
+                                check.update(buf);
+                                if (pending.addAndGet(buf.remaining()) <= this.limit) {
+                                    copy.onNext(buf.duplicate());
+                                } else {
+                                    TeeContent.abandon(
+                                        copy,
+                                        new IllegalStateException(
+                                            String.format(
+                                                "Storage write is behind by more than %d bytes",
+                                                this.limit
+                                            )
+                                        )
+                                    );
+                                }
+                            }
+                        )
+                        .concatWith(
+                            Flowable.defer(() -> TeeContent.verified(size, read.get(), check))
+                        )
+                        .doOnError(err -> TeeContent.abandon(copy, err))
+                        .doOnCancel(
+                            () -> TeeContent.abandon(
+                                copy, new IllegalStateException("Content read was cancelled")
+                            )
+                        )
+                        .concatWith(
+                            Completable.create(
+                                emitter -> {
+                                    copy.onComplete();
+                                    stored.handle(
+                                        (nothing, err) -> {
+                                            emitter.onComplete();
+                                            return nothing;
+                                        }
+                                    );
+                                }
+                            ).<ByteBuffer>toFlowable()
+                        );
+                }
+            )
+        );
+    }
+
+    /**
+     * Verify content which was read completely.
+     * @param size Expected size of content
+     * @param read Size of read content
+     * @param check Checksums check of read content
+     * @return Empty publisher or error if content is truncated or corrupted
+     */
+    private static Flowable<ByteBuffer> verified(final Optional<Long> size, final long read,
+        final Checksums.Check check) {
+        final Optional<String> error = size.filter(len -> len != read).map(
+            len -> String.format("Content is truncated: %d of %d bytes", read, len)
+        );
+        return error.map(Optional::of).orElseGet(check::mismatch)
+            .<Flowable<ByteBuffer>>map(msg -> Flowable.error(new IllegalStateException(msg)))
+            .orElseGet(Flowable::empty);
+    }
+
+    /**
+     * Abandon storage write of content, unless it's finished.
+     * @param copy Content to write
+     * @param err Reason
+     */
+    private static void abandon(final UnicastProcessor<ByteBuffer> copy, final Throwable err) {
+        if (!copy.hasComplete() && !copy.hasThrowable()) {
+            copy.onError(err);
+        }
+    }
+
+    /**
+     * Save content to temporary key and move it to target key.
+     * @param content Content
+     * @param stored Completed when content is saved to target key
+     */
+    private void save(final Content content, final CompletableFuture<Void> stored) {
+        final Key part = new Key.From(TeeContent.PARTS, UUID.randomUUID().toString());
+        this.storage.save(part, content)
+            .thenCompose(saved -> this.storage.move(part, this.key))
+            .whenComplete(
+                (moved, err) -> {
+                    if (err == null) {
+                        stored.complete(null);
+                    } else {
+                        this.storage.delete(part).handle(
+                            (deleted, ignored) -> stored.completeExceptionally(err)
+                        );
+                    }
+                }
+            );
+    }
+}
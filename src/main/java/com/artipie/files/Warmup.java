@@ -0,0 +1,244 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Warm-up of proxy cache.
+ * <p>
+ * Requests files from {@link FileProxySlice} in parallel and discards
+ * response bodies, so files get to the proxy cache before clients ask
+ * for them. At most {@code concurrency} files are requested at the same
+ * time. Paths are taken from any iterable, e.g. from recorded access log
+ * with {@link AccessLog}:
+ * </p>
+ * <pre>{@code
+ * new Warmup(proxy, 8).fetch(
+ *     new Warmup.AccessLog(Files.readAllLines(log)),
+ *     (path, success) -> Logger.info(this, "%s warmed up: %b", path, success)
+ * ).thenAccept(
+ *     report -> Logger.info(this, "%d fetched, %d failed", report.fetched(), report.failed())
+ * );
+ * }</pre>
+ *
+ * @since 1.0
+ */
+public final class Warmup {
+
+    /**
+     * Proxy slice.
+     */
+    private final Slice proxy;
+
+    /**
+     * Max amount of files requested at the same time.
+     */
+    private final int concurrency;
+
+    /**
+     * Ctor.
+     * @param proxy Proxy slice
+     * @param concurrency Max amount of files requested at the same time
+     */
+    public Warmup(final Slice proxy, final int concurrency) {
+        this.proxy = proxy;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Fetch files.
+     * @param paths Paths of files
+     * @return Report completed when all files are fetched
+     */
+    public CompletionStage<Report> fetch(final Iterable<String> paths) {
+        return this.fetch(paths, (path, success) -> { });
+    }
+
+    /**
+     * Fetch files.
+     * @param paths Paths of files
+     * @param progress Progress listener
+     * @return Report completed when all files are fetched, or failed when
+     *  progress listener fails
+     */
+    public CompletionStage<Report> fetch(final Iterable<String> paths, final Progress progress) {
+        final Report report = new Report();
+        final CompletableFuture<Report> res = new CompletableFuture<>();
+        Flowable.fromIterable(paths).flatMapCompletable(
+            path -> Completable.create(
+                emitter -> this.file(path).thenAccept(
+                    success -> {
+                        report.add(success);
+                        progress.done(path, success);
+                    }
+                ).whenComplete(
+                    (nothing, err) -> {
+                        if (err == null) {
+                            emitter.onComplete();
+                        } else {
+                            emitter.onError(err);
+                        }
+                    }
+                )
+            ),
+            false, this.concurrency
+        ).subscribe(() -> res.complete(report), res::completeExceptionally);
+        return res;
+    }
+
+    /**
+     * Request file from proxy and consume its body.
+     * @param path File path
+     * @return True if file was found and read
+     */
+    private CompletionStage<Boolean> file(final String path) {
+        final String target;
+        if (!path.isEmpty() && path.charAt(0) == '/') {
+            target = path;
+        } else {
+            target = String.format("/%s", path);
+        }
+        final AtomicBoolean success = new AtomicBoolean();
+        return CompletableFuture.<Void>completedFuture(null).thenCompose(
+            nothing -> this.proxy.response(
+                new RequestLine(RqMethod.GET, target).toString(), Headers.EMPTY, Flowable.empty()
+            ).send(
+                (status, headers, body) -> {
+                    success.set(status.success());
+                    final CompletableFuture<Void> read = new CompletableFuture<>();
+                    Flowable.fromPublisher(body).ignoreElements().subscribe(
+                        () -> read.complete(null), read::completeExceptionally
+                    );
+                    return read;
+                }
+            )
+        ).handle((nothing, err) -> err == null && success.get());
+    }
+
+    /**
+     * Warm-up progress listener.
+     * @since 1.0
+     */
+    @FunctionalInterface
+    public interface Progress {
+
+        /**
+         * File request is done.
+         * @param path File path
+         * @param success True if file was found and read
+         */
+        void done(String path, boolean success);
+    }
+
+    /**
+     * Warm-up report.
+     * @since 1.0
+     */
+    public static final class Report {
+
+        /**
+         * Amount of fetched files.
+         */
+        private final AtomicInteger found;
+
+        /**
+         * Amount of files which weren't fetched.
+         */
+        private final AtomicInteger missed;
+
+        /**
+         * Ctor.
+         */
+        Report() {
+            this.found = new AtomicInteger();
+            this.missed = new AtomicInteger();
+        }
+
+        /**
+         * Amount of fetched files.
+         * @return Amount
+         */
+        public int fetched() {
+            return this.found.get();
+        }
+
+        /**
+         * Amount of files which weren't fetched: not found or failed.
+         * @return Amount
+         */
+        public int failed() {
+            return this.missed.get();
+        }
+
+        /**
+         * Count file request.
+         * @param success True if file was fetched
+         */
+        void add(final boolean success) {
+            if (success) {
+                this.found.incrementAndGet();
+            } else {
+                this.missed.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Paths of files requested in access log.
+     * <p>
+     * Takes paths of {@code GET} requests from lines of access log in
+     * common or combined log format, each path once in order of the
+     * first request. Other lines are skipped.
+     * </p>
+     * @since 1.0
+     */
+    public static final class AccessLog implements Iterable<String> {
+
+        /**
+         * Request of access log line.
+         */
+        private static final Pattern REQUEST = Pattern.compile("\"GET (\\S+) [^\"]*\"");
+
+        /**
+         * Access log lines.
+         */
+        private final Iterable<String> lines;
+
+        /**
+         * Ctor.
+         * @param lines Access log lines
+         */
+        public AccessLog(final Iterable<String> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            final Set<String> paths = new LinkedHashSet<>();
+            for (final String line : this.lines) {
+                final Matcher matcher = AccessLog.REQUEST.matcher(line);
+                if (matcher.find()) {
+                    paths.add(matcher.group(1));
+                }
+            }
+            return paths.iterator();
+        }
+    }
+}
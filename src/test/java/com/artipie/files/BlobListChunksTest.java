@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.ext.PublisherAs;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.reactivestreams.Publisher;
+
+/**
+ * Test case for {@link BlobListChunks}.
+ * @since 1.0
+ */
+final class BlobListChunksTest {
+
+    /**
+     * Keys to render.
+     */
+    private static final List<Key> KEYS = Arrays.asList(
+        new Key.From("a", "one.txt"),
+        new Key.From("b", "two.txt"),
+        new Key.From("c", "three.txt"),
+        new Key.From("d", "four.txt"),
+        new Key.From("e", "five.txt")
+    );
+
+    @Test
+    void rendersKeysInSeveralChunks() {
+        MatcherAssert.assertThat(
+            "Head, three chunks of keys and tail are expected",
+            Flowable.fromPublisher(
+                new BlobListChunks(
+                    BlobListChunksTest.KEYS, "<", Key::string, ";", ">", 2
+                )
+            ).count().blockingGet(),
+            // @checkstyle MagicNumberCheck (1 line)
+            Matchers.equalTo(5L)
+        );
+    }
+
+    @Test
+    void joinsChunksWithDelimiter() {
+        MatcherAssert.assertThat(
+            BlobListChunksTest.text(
+                new BlobListChunks(BlobListChunksTest.KEYS, "<", Key::string, ";", ">", 2)
+            ),
+            Matchers.equalTo("<a/one.txt;b/two.txt;c/three.txt;d/four.txt;e/five.txt>")
+        );
+    }
+
+    @ParameterizedTest
+    @EnumSource(BlobListFormat.Standard.class)
+    void streamsSameTextAsFormat(final BlobListFormat.Standard format) {
+        MatcherAssert.assertThat(
+            BlobListChunksTest.text(format.publisher(BlobListChunksTest.KEYS)),
+            Matchers.equalTo(format.apply(BlobListChunksTest.KEYS))
+        );
+    }
+
+    @ParameterizedTest
+    @EnumSource(BlobListFormat.Standard.class)
+    void streamsEmptyList(final BlobListFormat.Standard format) {
+        final Collection<Key> empty = Collections.emptyList();
+        MatcherAssert.assertThat(
+            BlobListChunksTest.text(format.publisher(empty)),
+            Matchers.equalTo(format.apply(empty))
+        );
+    }
+
+    /**
+     * Read publisher as text.
+     * @param pub Publisher
+     * @return Text
+     */
+    private static String text(final Publisher<ByteBuffer> pub) {
+        return new PublisherAs(pub).string(StandardCharsets.UTF_8)
+            .toCompletableFuture().join();
+    }
+}
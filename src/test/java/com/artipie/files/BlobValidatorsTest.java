@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Meta;
+import com.artipie.http.Headers;
+import com.artipie.http.headers.Header;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test case for {@link BlobValidators}.
+ * @since 1.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class BlobValidatorsTest {
+
+    /**
+     * Creation time.
+     */
+    private static final Instant CREATED = Instant.parse("2021-03-04T05:06:07.890Z");
+
+    @Test
+    void buildsStrongTagFromChecksum() {
+        final Map<String, String> meta = new HashMap<>();
+        Meta.OP_MD5.put(meta, "abc");
+        MatcherAssert.assertThat(
+            new BlobValidators(BlobValidatorsTest.meta(meta)).etag(),
+            Matchers.equalTo(Optional.of("\"abc\""))
+        );
+    }
+
+    @Test
+    void buildsWeakTagFromSizeAndTime() {
+        MatcherAssert.assertThat(
+            new BlobValidators(BlobValidatorsTest.meta(BlobValidatorsTest.file())).etag(),
+            Matchers.equalTo(Optional.of("W/\"ff-177fba0fa18\""))
+        );
+    }
+
+    @Test
+    void returnsValidatorHeaders() {
+        MatcherAssert.assertThat(
+            new BlobValidators(BlobValidatorsTest.meta(BlobValidatorsTest.file())).headers(),
+            Matchers.containsInAnyOrder(
+                new Header("ETag", "W/\"ff-177fba0fa18\""),
+                new Header("Last-Modified", "Thu, 04 Mar 2021 05:06:07 GMT")
+            )
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+        delimiter = '|',
+        value = {
+            "If-None-Match|W/\"ff-177fba0fa18\"|true",
+            "If-None-Match|\"ff-177fba0fa18\"|true",
+            "If-None-Match|\"other\", W/\"ff-177fba0fa18\"|true",
+            "If-None-Match|*|true",
+            "If-None-Match|\"other\"|false",
+            "If-Modified-Since|Thu, 04 Mar 2021 05:06:07 GMT|true",
+            "If-Modified-Since|Fri, 5 Mar 2021 00:00:00 GMT|true",
+            "If-Modified-Since|Thu, 04 Mar 2021 05:06:06 GMT|false",
+            "If-Modified-Since|yesterday|false"
+        }
+    )
+    void checksPreconditions(final String name, final String value, final boolean expected) {
+        MatcherAssert.assertThat(
+            new BlobValidators(BlobValidatorsTest.meta(BlobValidatorsTest.file()))
+                .notModified(new Headers.From(name, value)),
+            Matchers.equalTo(expected)
+        );
+    }
+
+    @Test
+    void ignoresModificationDateWhenTagPresent() {
+        MatcherAssert.assertThat(
+            new BlobValidators(BlobValidatorsTest.meta(BlobValidatorsTest.file())).notModified(
+                new Headers.From(
+                    new Header("If-None-Match", "\"other\""),
+                    new Header("If-Modified-Since", "Fri, 05 Mar 2021 00:00:00 GMT")
+                )
+            ),
+            Matchers.equalTo(false)
+        );
+    }
+
+    /**
+     * Metadata of file without MD5.
+     * @return Metadata map
+     */
+    private static Map<String, String> file() {
+        final Map<String, String> meta = new HashMap<>();
+        Meta.OP_SIZE.put(meta, 255L);
+        Meta.OP_CREATED_AT.put(meta, BlobValidatorsTest.CREATED);
+        return meta;
+    }
+
+    /**
+     * Metadata from map.
+     * @param map Metadata map
+     * @return Meta
+     */
+    private static Meta meta(final Map<String, String> map) {
+        return new Meta() {
+            @Override
+            public <T> T read(final ReadOperator<T> opr) {
+                return opr.take(map);
+            }
+        };
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import java.time.Duration;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link BoundedCache}.
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class BoundedCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(2, Duration.ofMinutes(1));
+        cache.put("one", "1");
+        cache.put("two", "2");
+        cache.get("one");
+        cache.put("three", "3");
+        MatcherAssert.assertThat(
+            "Least recently used entry should be evicted",
+            cache.get("two"),
+            Matchers.equalTo(Optional.empty())
+        );
+        MatcherAssert.assertThat(
+            "Recently used entry should be kept",
+            cache.get("one"),
+            Matchers.equalTo(Optional.of("1"))
+        );
+    }
+
+    @Test
+    void expiresEntries() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(2, Duration.ZERO);
+        cache.put("four", "4");
+        MatcherAssert.assertThat(
+            cache.get("four"),
+            Matchers.equalTo(Optional.empty())
+        );
+    }
+
+    @Test
+    void invalidatesMatchingEntries() {
+        final BoundedCache<String, String> cache = new BoundedCache<>(3, Duration.ofMinutes(1));
+        cache.put("a/b", "1");
+        cache.put("a/c", "2");
+        cache.put("d", "3");
+        cache.invalidate(key -> key.startsWith("a/"));
+        MatcherAssert.assertThat(
+            "Matching entry should be removed",
+            cache.get("a/b"),
+            Matchers.equalTo(Optional.empty())
+        );
+        MatcherAssert.assertThat(
+            "Other entry should be kept",
+            cache.get("d"),
+            Matchers.equalTo(Optional.of("3"))
+        );
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test case for {@link ByteRanges}.
+ * @since 1.0
+ */
+final class ByteRangesTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"bytes=0-1", "bytes=5-", "bytes=-5", "Bytes=0-1, 4-5", "bytes=1-1"})
+    void acceptsValidRanges(final String header) {
+        MatcherAssert.assertThat(
+            new ByteRanges(header).valid(),
+            Matchers.equalTo(true)
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+        strings = {
+            "", "bytes=", "bytes=-", "bytes=5-1", "items=0-1", "bytes=a-b", "bytes=0-1,",
+            "bytes=99999999999999999999-"
+        }
+    )
+    void rejectsInvalidRanges(final String header) {
+        MatcherAssert.assertThat(
+            new ByteRanges(header).valid(),
+            Matchers.equalTo(false)
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+        delimiter = '|',
+        value = {
+            "bytes=0-1|10|true",
+            "bytes=9-|10|true",
+            "bytes=10-|10|false",
+            "bytes=10-20, 3-4|10|true",
+            "bytes=-3|10|true",
+            "bytes=-0|10|false",
+            "bytes=-3|0|false"
+        }
+    )
+    void checksSatisfiable(final String header, final long length, final boolean expected) {
+        MatcherAssert.assertThat(
+            new ByteRanges(header).satisfiable(length),
+            Matchers.equalTo(expected)
+        );
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.http.Headers;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test case for {@link Checksums}.
+ * @since 1.0
+ */
+final class ChecksumsTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "X-Checksum-Sha256,88d4266fd4e6338d13b845fcf289579d209c897823b9217da3e161936f031589",
+        "X-Checksum-Sha1,81FE8BFE87576C3ECB22426F8E57847382917ACF",
+        "X-Checksum-Md5,e2fc714c4727ee9395f324cd2e7f331f",
+        "Digest,SHA-256=iNQmb9TmM40TuEX88olXnSCciXgjuSF9o+Fhk28DFYk=",
+        "Digest,'unixsum=30, MD5=4vxxTEcn7pOV8yTNLn8zHw=='",
+        "Content-MD5,4vxxTEcn7pOV8yTNLn8zHw==",
+        "Content-Type,text/plain",
+        "X-Checksum-Md5,not-a-checksum"
+    })
+    void acceptsMatchingContent(final String name, final String value) {
+        MatcherAssert.assertThat(
+            ChecksumsTest.mismatch(new Headers.From(name, value), "ab", "cd"),
+            Matchers.equalTo(Optional.empty())
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "X-Checksum-Sha256,88d4266fd4e6338d13b845fcf289579d209c897823b9217da3e161936f031589",
+        "X-Checksum-Sha1,81fe8bfe87576c3ecb22426f8e57847382917acf",
+        "Digest,md5=4vxxTEcn7pOV8yTNLn8zHw==",
+        "Content-MD5,4vxxTEcn7pOV8yTNLn8zHw=="
+    })
+    void rejectsCorruptedContent(final String name, final String value) {
+        MatcherAssert.assertThat(
+            ChecksumsTest.mismatch(new Headers.From(name, value), "ab", "cc").isPresent(),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * Check chunks against checksums from headers.
+     * @param headers Headers
+     * @param chunks Content chunks
+     * @return Mismatch
+     */
+    private static Optional<String> mismatch(final Headers headers, final String... chunks) {
+        final Checksums.Check check = new Checksums(headers).check();
+        for (final String chunk : chunks) {
+            check.update(ByteBuffer.wrap(chunk.getBytes(StandardCharsets.US_ASCII)));
+        }
+        return check.mismatch();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ChildKeys}.
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class ChildKeysTest {
+
+    /**
+     * Recursive listing.
+     */
+    private static final List<Key> KEYS = Arrays.asList(
+        new Key.From("foo", "a.txt"),
+        new Key.From("foo", "bar", "b.txt"),
+        new Key.From("foo", "bar", "baz", "c.txt"),
+        new Key.From("foo", "qux", "d.txt"),
+        new Key.From("foo.txt"),
+        new Key.From("foobar", "e.txt")
+    );
+
+    @Test
+    void listsRootChildren() {
+        MatcherAssert.assertThat(
+            ChildKeysTest.strings(Key.ROOT),
+            Matchers.contains("foo/", "foo.txt", "foobar/")
+        );
+    }
+
+    @Test
+    void listsPrefixChildren() {
+        MatcherAssert.assertThat(
+            ChildKeysTest.strings(new Key.From("foo")),
+            Matchers.contains("foo/a.txt", "foo/bar/", "foo/qux/")
+        );
+    }
+
+    @Test
+    void listsNothingForFile() {
+        MatcherAssert.assertThat(
+            ChildKeysTest.strings(new Key.From("foo.txt")),
+            Matchers.empty()
+        );
+    }
+
+    /**
+     * Children of the prefix as strings.
+     * @param prefix Prefix
+     * @return Strings
+     */
+    private static List<String> strings(final Key prefix) {
+        return new ChildKeys(prefix, ChildKeysTest.KEYS).list().stream()
+            .map(Key::string)
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.fs.FileStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.headers.Header;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.slice.SliceDownload;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link ConditionalSlice}.
+ * @since 1.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class ConditionalSliceTest {
+
+    /**
+     * Blob content.
+     */
+    private static final byte[] DATA = "conditional".getBytes();
+
+    /**
+     * Test storage.
+     */
+    private Storage storage;
+
+    /**
+     * Validator headers of saved blob.
+     */
+    private Headers validators;
+
+    @BeforeEach
+    void setUp(@TempDir final Path dir) {
+        this.storage = new FileStorage(dir);
+        final Key key = new Key.From("blob.bin");
+        this.storage.save(key, new Content.From(ConditionalSliceTest.DATA)).join();
+        this.validators = new BlobValidators(this.storage.metadata(key).join()).headers();
+    }
+
+    @Test
+    void addsValidatorsToResponse() {
+        MatcherAssert.assertThat(
+            new ConditionalSlice(new SliceDownload(this.storage), this.storage),
+            new SliceHasResponse(
+                Matchers.allOf(
+                    new RsHasStatus(RsStatus.OK),
+                    new RsHasBody(ConditionalSliceTest.DATA),
+                    new RsHasHeaders(
+                        Matchers.equalTo(
+                            new Header(
+                                BlobValidators.ENTITY_TAG,
+                                new RqHeaders(this.validators, BlobValidators.ENTITY_TAG).get(0)
+                            )
+                        ),
+                        Matchers.equalTo(
+                            new Header(
+                                BlobValidators.LAST_MODIFIED,
+                                new RqHeaders(
+                                    this.validators, BlobValidators.LAST_MODIFIED
+                                ).get(0)
+                            )
+                        )
+                    )
+                ),
+                new RequestLine(RqMethod.GET, "/blob.bin")
+            )
+        );
+    }
+
+    @Test
+    void returnsNotModifiedWithoutCallingOrigin() {
+        final AtomicInteger calls = new AtomicInteger();
+        final String etag = new RqHeaders(this.validators, BlobValidators.ENTITY_TAG).get(0);
+        MatcherAssert.assertThat(
+            "Should return not modified",
+            new ConditionalSlice(
+                (line, headers, body) -> {
+                    calls.incrementAndGet();
+                    return new SliceDownload(this.storage).response(line, headers, body);
+                },
+                this.storage
+            ),
+            new SliceHasResponse(
+                Matchers.allOf(
+                    new RsHasStatus(RsStatus.NOT_MODIFIED),
+                    new RsHasBody(new byte[0])
+                ),
+                new RequestLine(RqMethod.GET, "/blob.bin"),
+                new Headers.From("If-None-Match", etag),
+                Content.EMPTY
+            )
+        );
+        MatcherAssert.assertThat(
+            "Should not call origin",
+            calls.get(),
+            Matchers.equalTo(0)
+        );
+    }
+
+    @Test
+    void returnsBodyWhenModifiedSince() {
+        MatcherAssert.assertThat(
+            new ConditionalSlice(new SliceDownload(this.storage), this.storage),
+            new SliceHasResponse(
+                new RsHasBody(ConditionalSliceTest.DATA),
+                new RequestLine(RqMethod.GET, "/blob.bin"),
+                new Headers.From("If-Modified-Since", "Thu, 01 Jan 1970 00:00:00 GMT"),
+                Content.EMPTY
+            )
+        );
+    }
+
+    @Test
+    void passesMissingBlobToOrigin() {
+        MatcherAssert.assertThat(
+            new ConditionalSlice(new SliceDownload(this.storage), this.storage),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.GET, "/missing.bin"),
+                new Headers.From("If-None-Match", "*"),
+                Content.EMPTY
+            )
+        );
+    }
+
+    @Test
+    void sharesMetadataLookupWithOrigin() {
+        final CountingStorage counting = new CountingStorage(this.storage);
+        final Slice slice = new FilesSlice(counting);
+        MatcherAssert.assertThat(
+            "Should download blob",
+            slice,
+            new SliceHasResponse(
+                new RsHasBody(ConditionalSliceTest.DATA),
+                new RequestLine(RqMethod.GET, "/blob.bin")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Should find blob",
+            slice,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.OK),
+                new RequestLine(RqMethod.HEAD, "/blob.bin")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Should not find missing blob",
+            slice,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.GET, "/missing.bin")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Should look up blob once per request",
+            new int[] {
+                counting.count("metadata"), counting.count("exists"), counting.count("value"),
+            },
+            Matchers.equalTo(new int[] {2, 3, 1})
+        );
+    }
+
+    @Test
+    void doesNotServeDirectory() {
+        this.storage.save(new Key.From("dir", "inner.bin"), new Content.From(new byte[1]))
+            .join();
+        final Slice slice = new FilesSlice(this.storage);
+        MatcherAssert.assertThat(
+            new RsStatus[] {
+                ConditionalSliceTest.status(slice, RqMethod.GET),
+                ConditionalSliceTest.status(slice, RqMethod.HEAD),
+            },
+            Matchers.arrayContaining(RsStatus.NOT_FOUND, RsStatus.NOT_FOUND)
+        );
+    }
+
+    /**
+     * Response status of directory request.
+     * @param slice Slice
+     * @param method Request method
+     * @return Status
+     */
+    private static RsStatus status(final Slice slice, final RqMethod method) {
+        final AtomicReference<RsStatus> res = new AtomicReference<>();
+        slice.response(
+            new RequestLine(method, "/dir").toString(), Headers.EMPTY, Content.EMPTY
+        ).send(
+            (status, headers, body) -> {
+                res.set(status);
+                return CompletableFuture.allOf();
+            }
+        ).toCompletableFuture().join();
+        return res.get();
+    }
+}
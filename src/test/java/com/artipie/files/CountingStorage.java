@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.Storage;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Storage which counts calls of its operations.
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+final class CountingStorage implements Storage {
+
+    /**
+     * Origin storage.
+     */
+    private final Storage origin;
+
+    /**
+     * Amount of calls by operation name.
+     */
+    private final Map<String, Integer> calls;
+
+    /**
+     * Ctor.
+     * @param origin Origin storage
+     */
+    CountingStorage(final Storage origin) {
+        this.origin = origin;
+        this.calls = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(final Key key) {
+        this.called("exists");
+        return this.origin.exists(key);
+    }
+
+    @Override
+    public CompletableFuture<Collection<Key>> list(final Key prefix) {
+        this.called("list");
+        return this.origin.list(prefix);
+    }
+
+    @Override
+    public CompletableFuture<Void> save(final Key key, final Content content) {
+        this.called("save");
+        return this.origin.save(key, content);
+    }
+
+    @Override
+    public CompletableFuture<Void> move(final Key source, final Key destination) {
+        this.called("move");
+        return this.origin.move(source, destination);
+    }
+
+    @Override
+    public CompletableFuture<? extends Meta> metadata(final Key key) {
+        this.called("metadata");
+        return this.origin.metadata(key);
+    }
+
+    @Override
+    public CompletableFuture<Content> value(final Key key) {
+        this.called("value");
+        return this.origin.value(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final Key key) {
+        this.called("delete");
+        return this.origin.delete(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAll(final Key prefix) {
+        this.called("deleteAll");
+        return this.origin.deleteAll(prefix);
+    }
+
+    @Override
+    public <T> CompletionStage<T> exclusively(final Key key,
+        final Function<Storage, CompletionStage<T>> operation) {
+        return this.origin.exclusively(key, operation);
+    }
+
+    /**
+     * Amount of operation calls.
+     * @param operation Operation name
+     * @return Amount of calls
+     */
+    int count(final String operation) {
+        return this.calls.getOrDefault(operation, 0);
+    }
+
+    /**
+     * Count operation call.
+     * @param operation Operation name
+     */
+    private void called(final String operation) {
+        this.calls.merge(operation, 1, Integer::sum);
+    }
+}
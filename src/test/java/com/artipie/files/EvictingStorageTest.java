@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import io.reactivex.Flowable;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link EvictingStorage}.
+ * @since 1.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class EvictingStorageTest {
+
+    /**
+     * Origin storage.
+     */
+    private Storage origin;
+
+    @BeforeEach
+    void setUp() {
+        this.origin = new InMemoryStorage();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedFile() {
+        final Storage storage = new EvictingStorage(this.origin, 10, EvictingStorage.Policy.LRU);
+        EvictingStorageTest.save(storage, "a");
+        EvictingStorageTest.save(storage, "b");
+        new ProxyMeta(Instant.EPOCH, Headers.EMPTY)
+            .save(storage, new Key.From("b")).toCompletableFuture().join();
+        storage.value(new Key.From("a")).join();
+        EvictingStorageTest.save(storage, "c");
+        MatcherAssert.assertThat(
+            this.awaitKeys(2),
+            Matchers.containsInAnyOrder("a", "c")
+        );
+    }
+
+    @Test
+    void evictsLeastFrequentlyUsedFile() {
+        final Storage storage = new EvictingStorage(this.origin, 10, EvictingStorage.Policy.LFU);
+        EvictingStorageTest.save(storage, "a");
+        EvictingStorageTest.save(storage, "b");
+        storage.value(new Key.From("b")).join();
+        storage.value(new Key.From("b")).join();
+        EvictingStorageTest.save(storage, "c");
+        storage.value(new Key.From("c")).join();
+        MatcherAssert.assertThat(
+            this.awaitKeys(2),
+            Matchers.containsInAnyOrder("b", "c")
+        );
+    }
+
+    @Test
+    void evictsFilesStoredBefore() {
+        EvictingStorageTest.save(this.origin, "old");
+        final Storage storage = new EvictingStorage(this.origin, 6, EvictingStorage.Policy.LRU);
+        EvictingStorageTest.save(storage, "new");
+        MatcherAssert.assertThat(
+            this.awaitKeys(1),
+            Matchers.contains("new")
+        );
+    }
+
+    @Test
+    void scansStoredFilesOnFirstRead() {
+        EvictingStorageTest.save(this.origin, "a");
+        EvictingStorageTest.save(this.origin, "b");
+        EvictingStorageTest.save(this.origin, "c");
+        new EvictingStorage(this.origin, 6, EvictingStorage.Policy.LRU)
+            .exists(new Key.From("a")).join();
+        MatcherAssert.assertThat(
+            this.awaitKeys(1),
+            Matchers.hasSize(1)
+        );
+    }
+
+    @Test
+    void keepsFilesWithinCapacity() {
+        final Storage storage = new EvictingStorage(this.origin, 12, EvictingStorage.Policy.LRU);
+        EvictingStorageTest.save(storage, "a");
+        EvictingStorageTest.save(storage, "b");
+        EvictingStorageTest.save(storage, "c");
+        MatcherAssert.assertThat(
+            this.keys(),
+            Matchers.containsInAnyOrder("a", "b", "c")
+        );
+    }
+
+    /**
+     * Wait until origin storage has expected amount of keys.
+     * @param count Amount of keys
+     * @return Keys
+     */
+    private Collection<String> awaitKeys(final int count) {
+        return Flowable.interval(10, TimeUnit.MILLISECONDS)
+            .map(num -> this.keys())
+            .filter(keys -> keys.size() == count)
+            .firstOrError()
+            .timeout(1, TimeUnit.MINUTES)
+            .blockingGet();
+    }
+
+    /**
+     * Keys of origin storage.
+     * @return Keys
+     */
+    private Collection<String> keys() {
+        return this.origin.list(Key.ROOT).join().stream()
+            .map(Key::string)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Save four bytes to the key.
+     * @param storage Storage
+     * @param key Key
+     */
+    private static void save(final Storage storage, final String key) {
+        final byte[] data = new byte[4];
+        Arrays.fill(data, (byte) 'x');
+        storage.save(new Key.From(key), new Content.From(data)).join();
+    }
+}
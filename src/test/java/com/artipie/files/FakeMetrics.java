@@ -0,0 +1,66 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metrics which keep reported values in memory.
+ * <p>
+ * Counters and gauges keep sum of reported values, timers keep amount
+ * of recorded durations.
+ * </p>
+ * @since 1.0
+ */
+final class FakeMetrics implements Metrics {
+
+    /**
+     * Values by meter name and tags.
+     */
+    private final Map<String, Long> values;
+
+    /**
+     * Ctor.
+     */
+    FakeMetrics() {
+        this.values = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void increment(final String name, final long amount, final String... tags) {
+        this.values.merge(FakeMetrics.meter(name, tags), amount, Long::sum);
+    }
+
+    @Override
+    public void record(final String name, final long nanos, final String... tags) {
+        this.values.merge(FakeMetrics.meter(name, tags), 1L, Long::sum);
+    }
+
+    @Override
+    public void adjust(final String name, final long delta, final String... tags) {
+        this.values.merge(FakeMetrics.meter(name, tags), delta, Long::sum);
+    }
+
+    /**
+     * Value of meter.
+     * @param name Meter name
+     * @param tags Tag names and values
+     * @return Sum of counter or gauge values, amount of timer records
+     */
+    long value(final String name, final String... tags) {
+        return this.values.getOrDefault(FakeMetrics.meter(name, tags), 0L);
+    }
+
+    /**
+     * Meter id.
+     * @param name Meter name
+     * @param tags Tag names and values
+     * @return Id
+     */
+    private static String meter(final String name, final String... tags) {
+        return String.join(" ", name, String.join(",", tags));
+    }
+}
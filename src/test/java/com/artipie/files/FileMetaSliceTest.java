@@ -0,0 +1,109 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.headers.Header;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.slice.HeadSlice;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.hamcrest.core.IsNot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link FileMetaSlice}.
+ * @since 1.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class FileMetaSliceTest {
+
+    /**
+     * Test storage.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.storage.save(new Key.From("foo", "bar.txt"), new Content.From("abc".getBytes()))
+            .join();
+    }
+
+    @Test
+    void returnsMetadataWhenRequested() {
+        MatcherAssert.assertThat(
+            new FileMetaSlice(new HeadSlice(this.storage), this.storage),
+            new SliceHasResponse(
+                Matchers.allOf(
+                    new RsHasStatus(RsStatus.OK),
+                    new RsHasHeaders(
+                        Matchers.equalTo(new Header("X-Artipie-Size", "3"))
+                    )
+                ),
+                new RequestLine(RqMethod.HEAD, "/foo/bar.txt?meta=true")
+            )
+        );
+    }
+
+    @Test
+    void returnsNoMetadataByDefault() {
+        MatcherAssert.assertThat(
+            new FileMetaSlice(new HeadSlice(this.storage), this.storage),
+            new SliceHasResponse(
+                new RsHasHeaders(
+                    Matchers.everyItem(
+                        new IsNot<>(Matchers.equalTo(new Header("X-Artipie-Size", "3")))
+                    )
+                ),
+                new RequestLine(RqMethod.HEAD, "/foo/bar.txt")
+            )
+        );
+    }
+
+    @Test
+    void returnsOriginResponseForMissingFile() {
+        MatcherAssert.assertThat(
+            new FileMetaSlice(new HeadSlice(this.storage), this.storage),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.HEAD, "/foo/missing.txt?meta=true")
+            )
+        );
+    }
+
+    @Test
+    void readsMetadataOncePerHeadRequest() {
+        final CountingStorage counting = new CountingStorage(this.storage);
+        MatcherAssert.assertThat(
+            "Should return metadata",
+            new FilesSlice(counting),
+            new SliceHasResponse(
+                Matchers.allOf(
+                    new RsHasStatus(RsStatus.OK),
+                    new RsHasHeaders(
+                        Matchers.equalTo(new Header("X-Artipie-Size", "3"))
+                    )
+                ),
+                new RequestLine(RqMethod.HEAD, "/foo/bar.txt?meta=true")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Should look up metadata and existence once",
+            new int[] {counting.count("metadata"), counting.count("exists")},
+            Matchers.equalTo(new int[] {1, 1})
+        );
+    }
+}
@@ -12,6 +12,7 @@ import com.artipie.asto.cache.FromRemoteCache;
 import com.artipie.asto.ext.PublisherAs;
 import com.artipie.asto.memory.InMemoryStorage;
 import com.artipie.http.Headers;
+import com.artipie.http.Response;
 import com.artipie.http.Slice;
 import com.artipie.http.async.AsyncResponse;
 import com.artipie.http.client.ClientSlices;
@@ -28,8 +29,12 @@ import com.artipie.http.rs.RsWithStatus;
 import com.artipie.http.rs.StandardRs;
 import com.artipie.http.slice.SliceSimple;
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -43,6 +48,8 @@ import org.junit.jupiter.api.Test;
  *
  * @since 0.7
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle ClassFanOutComplexityCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
  */
 @SuppressWarnings("PMD.AvoidDuplicateLiterals")
 final class FileProxySliceTest {
@@ -157,6 +164,157 @@ final class FileProxySliceTest {
         );
     }
 
+    @Test
+    void servesCachedHeadersWhenRemoteFails() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = new FileProxySlice(
+            (line, headers, rqbody) -> {
+                final Response rsp;
+                if (calls.getAndIncrement() == 0) {
+                    rsp = new RsFull(
+                        RsStatus.OK,
+                        new Headers.From(
+                            new Header("Content-Type", "text/plain"),
+                            new Header("ETag", "\"abc\""),
+                            new Header("X-Request-Id", "1")
+                        ),
+                        new Content.From("abc".getBytes())
+                    );
+                } else {
+                    rsp = new RsWithStatus(RsStatus.INTERNAL_ERROR);
+                }
+                return rsp;
+            },
+            new RevalidatingCache(this.storage, new Freshness.MaxAge(Duration.ZERO))
+        );
+        final RequestLine line = new RequestLine(RqMethod.GET, "/headers.txt");
+        MatcherAssert.assertThat(
+            "Should load file from remote",
+            slice,
+            new SliceHasResponse(new RsHasBody("abc".getBytes()), line)
+        );
+        MatcherAssert.assertThat(
+            "Should serve cached file with stored headers",
+            slice,
+            new SliceHasResponse(
+                Matchers.allOf(
+                    new RsHasBody("abc".getBytes()),
+                    new RsHasHeaders(
+                        new Header("Content-Type", "text/plain"),
+                        new Header("ETag", "\"abc\""),
+                        new Header("Content-Length", "3")
+                    )
+                ),
+                line
+            )
+        );
+    }
+
+    @Test
+    void checksRangeOfCachedContent() {
+        final String key = "cached";
+        this.storage.save(new Key.From(key), new Content.From("xyz".getBytes())).join();
+        MatcherAssert.assertThat(
+            new FileProxySlice(
+                new SliceSimple(new RsWithStatus(RsStatus.INTERNAL_ERROR)),
+                new FromRemoteCache(this.storage)
+            ),
+            new SliceHasResponse(
+                Matchers.allOf(
+                    new RsHasStatus(RsStatus.BAD_RANGE),
+                    new RsHasHeaders(
+                        new Header("Content-Range", "bytes */3"),
+                        new Header("Content-Length", "0")
+                    )
+                ),
+                new RequestLine(RqMethod.GET, String.format("/%s", key)),
+                new Headers.From("Range", "bytes=3-"),
+                Content.EMPTY
+            )
+        );
+    }
+
+    @Test
+    void loadsContentOnceForConcurrentRequests() {
+        final byte[] body = "popular".getBytes();
+        final AtomicInteger calls = new AtomicInteger();
+        final CompletableFuture<Void> release = new CompletableFuture<>();
+        final Slice slice = new FileProxySlice(
+            (line, headers, rqbody) -> {
+                calls.incrementAndGet();
+                return new AsyncResponse(
+                    release.thenApply(
+                        nothing -> new RsFull(RsStatus.OK, Headers.EMPTY, new Content.From(body))
+                    )
+                );
+            },
+            new FromRemoteCache(this.storage)
+        );
+        final List<CompletableFuture<byte[]>> responses = new ArrayList<>(5);
+        for (int num = 0; num < 5; num += 1) {
+            final CompletableFuture<byte[]> rsp = new CompletableFuture<>();
+            slice.response(
+                new RequestLine(RqMethod.GET, "/popular").toString(),
+                Headers.EMPTY,
+                Content.EMPTY
+            ).send(
+                (status, rsheaders, rsbody) -> new PublisherAs(rsbody).bytes()
+                    .thenAccept(rsp::complete)
+            );
+            responses.add(rsp);
+        }
+        release.complete(null);
+        for (final CompletableFuture<byte[]> rsp : responses) {
+            MatcherAssert.assertThat(
+                "Should return body to every request",
+                rsp.join(),
+                new IsEqual<>(body)
+            );
+        }
+        MatcherAssert.assertThat(
+            "Should load content from remote once",
+            calls.get(),
+            new IsEqual<>(1)
+        );
+    }
+
+    @Test
+    void servesFreshFileWithoutRemote() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = new FileProxySlice(
+            (line, headers, rqbody) -> {
+                calls.incrementAndGet();
+                return new RsFull(
+                    RsStatus.OK,
+                    new Headers.From("ETag", "\"1\""),
+                    new Content.From("fresh".getBytes())
+                );
+            },
+            new RevalidatingCache(this.storage, new Freshness.MaxAge(Duration.ofHours(1)))
+        );
+        for (int num = 0; num < 2; num += 1) {
+            MatcherAssert.assertThat(
+                "Should return body and cached headers",
+                slice,
+                new SliceHasResponse(
+                    Matchers.allOf(
+                        new RsHasBody("fresh".getBytes()),
+                        new RsHasHeaders(
+                            new Header("ETag", "\"1\""),
+                            new Header("Content-Length", "5")
+                        )
+                    ),
+                    new RequestLine(RqMethod.GET, "/fresh.txt")
+                )
+            );
+        }
+        MatcherAssert.assertThat(
+            "Should load content from remote once",
+            calls.get(),
+            new IsEqual<>(1)
+        );
+    }
+
     @Test
     void returnsNotFoundWhenRemoteReturnedBadRequest() {
         MatcherAssert.assertThat(
@@ -177,6 +335,41 @@ final class FileProxySliceTest {
         );
     }
 
+    @Test
+    void doesNotServeReservedKeys() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = new FileProxySlice(
+            (line, headers, rqbody) -> {
+                calls.incrementAndGet();
+                return new RsFull(
+                    RsStatus.OK, Headers.EMPTY, new Content.From("forged".getBytes())
+                );
+            },
+            new RevalidatingCache(this.storage, new Freshness.MaxAge(Duration.ofHours(1)))
+        );
+        this.storage.save(new Key.From(".parts", "uuid"), Content.EMPTY).join();
+        for (final String path : new String[] {"/.meta/file.txt", "/.parts/uuid", "/.meta"}) {
+            MatcherAssert.assertThat(
+                String.format("Should not find %s", path),
+                slice,
+                new SliceHasResponse(
+                    new RsHasStatus(RsStatus.NOT_FOUND),
+                    new RequestLine(RqMethod.GET, path)
+                )
+            );
+        }
+        MatcherAssert.assertThat(
+            "Should not call remote",
+            calls.get(),
+            new IsEqual<>(0)
+        );
+        MatcherAssert.assertThat(
+            "Should not overwrite metadata",
+            this.storage.exists(new Key.From(".meta", "file.txt")).join(),
+            new IsEqual<>(false)
+        );
+    }
+
     /**
      * Fake {@link ClientSlices} implementation that returns specified result.
      *
@@ -30,6 +30,7 @@ import org.junit.jupiter.params.provider.ValueSource;
  * Tests for files adapter.
  * @since 0.5
  */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
 final class FileSliceITCase {
 
     /**
@@ -217,6 +218,57 @@ final class FileSliceITCase {
         );
     }
 
+    @Test
+    void testBlobListInPages() {
+        final WebClient web = WebClient.create(this.vertx);
+        final BlockingStorage sto = new BlockingStorage(this.storage);
+        sto.save(new Key.From("foo/pages/file3.txt"), "Content 3".getBytes());
+        sto.save(new Key.From("foo/pages/file1.txt"), "Content 1".getBytes());
+        sto.save(new Key.From("foo/pages/file2.txt"), "Content 2".getBytes());
+        final HttpResponse<Buffer> first = web.get(
+            this.port, FileSliceITCase.HOST, "/foo/pages?limit=2"
+        ).putHeader(Accept.NAME, "application/json").rxSend().blockingGet();
+        MatcherAssert.assertThat(
+            "First page should contain two first keys",
+            first.bodyAsString(),
+            new IsEqual<>("[\"foo/pages/file1.txt\",\"foo/pages/file2.txt\"]")
+        );
+        final HttpResponse<Buffer> second = web.get(
+            this.port, FileSliceITCase.HOST,
+            String.format(
+                "/foo/pages?limit=2&after=%s",
+                first.headers().get(ListBlobsSlice.NEXT_CURSOR)
+            )
+        ).putHeader(Accept.NAME, "application/json").rxSend().blockingGet();
+        MatcherAssert.assertThat(
+            "Second page should contain the last key",
+            second.bodyAsString(),
+            new IsEqual<>("[\"foo/pages/file3.txt\"]")
+        );
+        MatcherAssert.assertThat(
+            "Second page should not have next cursor",
+            second.headers().contains(ListBlobsSlice.NEXT_CURSOR),
+            new IsEqual<>(false)
+        );
+    }
+
+    @Test
+    void testBlobListInDirectoryView() {
+        final WebClient web = WebClient.create(this.vertx);
+        final BlockingStorage sto = new BlockingStorage(this.storage);
+        sto.save(new Key.From("foo/dir/file.txt"), "Content".getBytes());
+        sto.save(new Key.From("foo/dir/sub/one.txt"), "One".getBytes());
+        sto.save(new Key.From("foo/dir/sub/two.txt"), "Two".getBytes());
+        MatcherAssert.assertThat(
+            web.get(this.port, FileSliceITCase.HOST, "/foo/dir?delimiter=/")
+                .putHeader(Accept.NAME, FilesSlice.PLAIN_TEXT)
+                .rxSend()
+                .blockingGet()
+                .bodyAsString(),
+            new IsEqual<>("foo/dir/file.txt\nfoo/dir/sub/")
+        );
+    }
+
     @Test
     void testDeletesFile() throws Exception {
         final String hello = "Hello world!";
@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.http.Headers;
+import com.artipie.http.headers.Header;
+import java.time.Duration;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Test case for {@link Freshness}.
+ * @since 1.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class FreshnessTest {
+
+    @Test
+    void returnsMaxAge() {
+        MatcherAssert.assertThat(
+            new Freshness.MaxAge(Duration.ofMinutes(5))
+                .ttl(new Headers.From("Cache-Control", "max-age=1")),
+            Matchers.equalTo(Duration.ofMinutes(5))
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+        delimiter = '|',
+        value = {
+            "max-age=60|60",
+            "public, max-age=60, s-maxage=30|30",
+            "max-age=\"15\"|15",
+            "no-cache|0",
+            "max-age=60, no-store|0",
+            "public|7",
+            "max-age=99999999999999999999|2147483648",
+            "s-maxage=4294967296|2147483648"
+        }
+    )
+    void readsCacheControl(final String header, final long seconds) {
+        MatcherAssert.assertThat(
+            new Freshness.Upstream(new Freshness.MaxAge(Duration.ofSeconds(7)))
+                .ttl(new Headers.From("Cache-Control", header)),
+            Matchers.equalTo(Duration.ofSeconds(seconds))
+        );
+    }
+
+    @ParameterizedTest
+    @CsvSource(
+        delimiter = '|',
+        value = {
+            "Sun, 06 Nov 1994 08:59:37 GMT|600",
+            "Sun, 06 Nov 1994 08:39:37 GMT|0",
+            "0|0"
+        }
+    )
+    void readsExpires(final String expires, final long seconds) {
+        MatcherAssert.assertThat(
+            new Freshness.Upstream(new Freshness.MaxAge(Duration.ofSeconds(7))).ttl(
+                new Headers.From(
+                    new Header("Date", "Sun, 06 Nov 1994 08:49:37 GMT"),
+                    new Header("Expires", expires)
+                )
+            ),
+            Matchers.equalTo(Duration.ofSeconds(seconds))
+        );
+    }
+
+    @Test
+    void usesFallbackWithoutHeaders() {
+        MatcherAssert.assertThat(
+            new Freshness.Upstream(new Freshness.MaxAge(Duration.ofSeconds(3)))
+                .ttl(Headers.EMPTY),
+            Matchers.equalTo(Duration.ofSeconds(3))
+        );
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import com.artipie.http.ArtipieHttpException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test case for {@link KeysPage}.
+ * @since 1.0
+ */
+final class KeysPageTest {
+
+    /**
+     * Unordered keys.
+     */
+    private static final List<Key> KEYS = Arrays.asList(
+        new Key.From("c"),
+        new Key.From("a", "2"),
+        new Key.From("e"),
+        new Key.From("a", "1"),
+        new Key.From("d"),
+        new Key.From("b")
+    );
+
+    @Test
+    void returnsAllKeysWithoutPagination() {
+        MatcherAssert.assertThat(
+            new KeysPage(KeysPageTest.KEYS, Optional.empty(), Optional.empty())
+                .apply((keys, next) -> keys),
+            Matchers.sameInstance(KeysPageTest.KEYS)
+        );
+    }
+
+    @Test
+    void walksThroughAllPages() {
+        final List<String> walked = new ArrayList<>(KeysPageTest.KEYS.size());
+        Optional<String> cursor = Optional.empty();
+        int pages = 0;
+        do {
+            final Optional<String> after = cursor;
+            cursor = new KeysPage(KeysPageTest.KEYS, Optional.of("4"), after).apply(
+                (keys, next) -> {
+                    walked.addAll(KeysPageTest.strings(keys));
+                    return next;
+                }
+            );
+            pages += 1;
+        } while (cursor.isPresent());
+        MatcherAssert.assertThat(
+            "Keys should be walked in order",
+            walked,
+            Matchers.contains("a/1", "a/2", "b", "c", "d", "e")
+        );
+        MatcherAssert.assertThat(
+            "Two pages expected",
+            pages,
+            Matchers.equalTo(2)
+        );
+    }
+
+    @Test
+    void doesNotReturnCursorForLastFullPage() {
+        MatcherAssert.assertThat(
+            new KeysPage(KeysPageTest.KEYS, Optional.of("6"), Optional.empty())
+                .apply((keys, next) -> next),
+            Matchers.equalTo(Optional.empty())
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-1", "ten"})
+    void failsOnInvalidLimit(final String limit) {
+        Assertions.assertThrows(
+            ArtipieHttpException.class,
+            () -> new KeysPage(KeysPageTest.KEYS, Optional.of(limit), Optional.empty())
+                .apply((keys, next) -> keys)
+        );
+    }
+
+    @Test
+    void failsOnInvalidCursor() {
+        Assertions.assertThrows(
+            ArtipieHttpException.class,
+            () -> new KeysPage(KeysPageTest.KEYS, Optional.empty(), Optional.of("%%%"))
+                .apply((keys, next) -> keys)
+        );
+    }
+
+    /**
+     * Keys as strings.
+     * @param keys Keys
+     * @return Strings
+     */
+    private static List<String> strings(final Collection<? extends Key> keys) {
+        return keys.stream().map(Key::string).collect(Collectors.toList());
+    }
+}
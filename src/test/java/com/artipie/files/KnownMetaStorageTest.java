@@ -0,0 +1,79 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Meta;
+import com.artipie.asto.MetaCommon;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ValueNotFoundException;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.slice.KeyFromPath;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link KnownMetaStorage}.
+ * @since 1.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class KnownMetaStorageTest {
+
+    @Test
+    void answersKnownKeyWithoutOrigin() {
+        final Storage origin = new InMemoryStorage();
+        final Key key = new Key.From("dir", "one.txt");
+        origin.save(key, new Content.From(new byte[2])).join();
+        final Meta meta = origin.metadata(key).join();
+        final CountingStorage counting = new CountingStorage(origin);
+        final Storage storage = new KnownMetaStorage(counting, key, Optional.of(meta));
+        MatcherAssert.assertThat(
+            "Should answer metadata of the same key string",
+            new MetaCommon(storage.metadata(new KeyFromPath("/dir/one.txt")).join()).size(),
+            Matchers.equalTo(2L)
+        );
+        MatcherAssert.assertThat(
+            "Should answer existence",
+            storage.exists(key).join(),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            "Should not call origin",
+            new int[] {counting.count("metadata"), counting.count("exists")},
+            Matchers.equalTo(new int[] {0, 0})
+        );
+        MatcherAssert.assertThat(
+            "Should pass other keys to origin",
+            storage.exists(new Key.From("two.txt")).join(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void answersMissingKey() {
+        final Key key = new Key.From("three.txt");
+        final Storage storage = new KnownMetaStorage(
+            new InMemoryStorage(), key, Optional.empty()
+        );
+        MatcherAssert.assertThat(
+            "Should not find missing key",
+            storage.exists(key).join(),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            "Should fail to read metadata of missing key",
+            Assertions.assertThrows(
+                CompletionException.class,
+                () -> storage.metadata(key).join()
+            ).getCause(),
+            Matchers.instanceOf(ValueNotFoundException.class)
+        );
+    }
+}
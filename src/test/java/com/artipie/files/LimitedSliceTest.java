@@ -0,0 +1,282 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.StandardRs;
+import com.artipie.http.slice.SliceSimple;
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.processors.UnicastProcessor;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+/**
+ * Test case for {@link LimitedSlice}.
+ * @since 1.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class LimitedSliceTest {
+
+    /**
+     * Request line.
+     */
+    private static final String LINE = new RequestLine(RqMethod.GET, "/file").toString();
+
+    @Test
+    void passesResponsesOneByOne() {
+        final Slice slice = new LimitedSlice(
+            new SliceSimple(new RsWithBody(StandardRs.OK, "data", StandardCharsets.UTF_8)),
+            1, 0, Duration.ofMinutes(1)
+        );
+        for (int num = 0; num < 3; num += 1) {
+            MatcherAssert.assertThat(
+                slice,
+                new SliceHasResponse(
+                    new RsHasBody("data".getBytes()),
+                    new RequestLine(RqMethod.GET, "/file")
+                )
+            );
+        }
+    }
+
+    @Test
+    void rejectsRequestsOverQueue() {
+        final Slice slice = new LimitedSlice(
+            (line, headers, body) -> connection -> new CompletableFuture<>(),
+            1, 1, Duration.ofMinutes(1)
+        );
+        final CompletableFuture<RsStatus> first = LimitedSliceTest.status(slice);
+        final CompletableFuture<RsStatus> second = LimitedSliceTest.status(slice);
+        MatcherAssert.assertThat(
+            "Should reject request over the queue",
+            LimitedSliceTest.status(slice).join(),
+            Matchers.equalTo(RsStatus.UNAVAILABLE)
+        );
+        MatcherAssert.assertThat(
+            "Should keep requests in flight and in the queue",
+            first.isDone() || second.isDone(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void timesOutSlowRemote() {
+        MatcherAssert.assertThat(
+            LimitedSliceTest.status(
+                new LimitedSlice(
+                    (line, headers, body) -> connection -> new CompletableFuture<>(),
+                    1, 0, Duration.ofMillis(100)
+                )
+            ).join(),
+            Matchers.equalTo(RsStatus.UNAVAILABLE)
+        );
+    }
+
+    @Test
+    void startsWaitingRequestWhenPreviousIsDone() {
+        final CompletableFuture<Void> release = new CompletableFuture<>();
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = new LimitedSlice(
+            (line, headers, body) -> {
+                calls.incrementAndGet();
+                final Response rsp = new SliceSimple(StandardRs.OK)
+                    .response(line, headers, body);
+                return connection -> release.thenCompose(nothing -> rsp.send(connection));
+            },
+            1, 1, Duration.ofMinutes(1)
+        );
+        final CompletableFuture<RsStatus> first = LimitedSliceTest.status(slice);
+        final CompletableFuture<RsStatus> second = LimitedSliceTest.status(slice);
+        MatcherAssert.assertThat(
+            "Should not start waiting request",
+            calls.get(),
+            Matchers.equalTo(1)
+        );
+        release.complete(null);
+        MatcherAssert.assertThat(
+            "Should answer both requests",
+            first.join() == RsStatus.OK && second.join() == RsStatus.OK,
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            "Should start waiting request",
+            calls.get(),
+            Matchers.equalTo(2)
+        );
+    }
+
+    @Test
+    void answersAgainWhenTimedOutResponseCompletes() {
+        final AtomicInteger calls = new AtomicInteger();
+        final CompletableFuture<Void> late = new CompletableFuture<>();
+        final Slice slice = new LimitedSlice(
+            (line, headers, body) -> {
+                final Response rsp;
+                if (calls.getAndIncrement() == 0) {
+                    rsp = connection -> late.thenCompose(
+                        nothing -> StandardRs.OK.send(connection)
+                    );
+                } else {
+                    rsp = StandardRs.OK;
+                }
+                return rsp;
+            },
+            1, 0, Duration.ofMillis(100)
+        );
+        MatcherAssert.assertThat(
+            "Should time out slow request",
+            LimitedSliceTest.status(slice).join(),
+            Matchers.equalTo(RsStatus.UNAVAILABLE)
+        );
+        MatcherAssert.assertThat(
+            "Should keep place of timed out request",
+            LimitedSliceTest.status(slice).join(),
+            Matchers.equalTo(RsStatus.UNAVAILABLE)
+        );
+        late.complete(null);
+        MatcherAssert.assertThat(
+            "Should answer when timed out request completes",
+            slice,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.OK),
+                new RequestLine(RqMethod.GET, "/file")
+            )
+        );
+    }
+
+    @Test
+    void doesNotExceedLimitWhenRemoteHangs() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger max = new AtomicInteger();
+        final Slice slice = new LimitedSlice(
+            (line, headers, body) -> connection -> {
+                max.accumulateAndGet(running.incrementAndGet(), Math::max);
+                return new CompletableFuture<>();
+            },
+            2, 1, Duration.ofMillis(50)
+        );
+        for (int num = 0; num < 10; num += 1) {
+            LimitedSliceTest.status(slice).join();
+        }
+        MatcherAssert.assertThat(
+            max.get(),
+            Matchers.equalTo(2)
+        );
+    }
+
+    @Test
+    void keepsPlaceUntilBodyIsRead() {
+        final UnicastProcessor<ByteBuffer> held = UnicastProcessor.create();
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = new LimitedSlice(
+            (line, headers, body) -> {
+                final Publisher<ByteBuffer> content;
+                if (calls.getAndIncrement() == 0) {
+                    content = held;
+                } else {
+                    content = Flowable.empty();
+                }
+                return new RsWithBody(StandardRs.OK, content);
+            },
+            1, 1, Duration.ofMinutes(1)
+        );
+        slice.response(LimitedSliceTest.LINE, Headers.EMPTY, Content.EMPTY).send(
+            (status, headers, body) -> {
+                Flowable.fromPublisher(body).subscribe();
+                return CompletableFuture.allOf();
+            }
+        );
+        final CompletableFuture<RsStatus> second = LimitedSliceTest.status(slice);
+        MatcherAssert.assertThat(
+            "Should not start request while body is streaming",
+            calls.get(),
+            Matchers.equalTo(1)
+        );
+        held.onNext(ByteBuffer.wrap("data".getBytes()));
+        held.onComplete();
+        MatcherAssert.assertThat(
+            "Should answer waiting request when body is read",
+            second.join(),
+            Matchers.equalTo(RsStatus.OK)
+        );
+    }
+
+    @Test
+    void timesOutRequestWaitingForStreamingBody() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Slice slice = new LimitedSlice(
+            (line, headers, body) -> {
+                calls.incrementAndGet();
+                return new RsWithBody(
+                    StandardRs.OK,
+                    Flowable.interval(10, TimeUnit.MILLISECONDS)
+                        .map(num -> ByteBuffer.wrap(new byte[1]))
+                );
+            },
+            1, 1, Duration.ofMillis(200)
+        );
+        final AtomicReference<Disposable> streaming = new AtomicReference<>();
+        slice.response(LimitedSliceTest.LINE, Headers.EMPTY, Content.EMPTY).send(
+            (status, headers, body) -> {
+                streaming.set(Flowable.fromPublisher(body).subscribe());
+                return CompletableFuture.allOf();
+            }
+        );
+        MatcherAssert.assertThat(
+            "Should time out request waiting in the queue",
+            LimitedSliceTest.status(slice).join(),
+            Matchers.equalTo(RsStatus.UNAVAILABLE)
+        );
+        MatcherAssert.assertThat(
+            "Should not start waiting request",
+            calls.get(),
+            Matchers.equalTo(1)
+        );
+        streaming.get().dispose();
+        MatcherAssert.assertThat(
+            "Should start request when body is cancelled",
+            LimitedSliceTest.status(slice).join(),
+            Matchers.equalTo(RsStatus.OK)
+        );
+    }
+
+    /**
+     * Send request and read response status.
+     * @param slice Slice
+     * @return Status
+     */
+    private static CompletableFuture<RsStatus> status(final Slice slice) {
+        final CompletableFuture<RsStatus> res = new CompletableFuture<>();
+        slice.response(LimitedSliceTest.LINE, Headers.EMPTY, Content.EMPTY).send(
+            (status, headers, body) -> {
+                res.complete(status);
+                return CompletableFuture.allOf();
+            }
+        );
+        return res;
+    }
+}
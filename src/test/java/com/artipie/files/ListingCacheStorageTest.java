@@ -0,0 +1,148 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.blocking.BlockingStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ListingCacheStorage}.
+ * @since 1.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class ListingCacheStorageTest {
+
+    /**
+     * Origin storage.
+     */
+    private Storage origin;
+
+    /**
+     * Caching storage.
+     */
+    private BlockingStorage cached;
+
+    @BeforeEach
+    void setUp() {
+        this.origin = new InMemoryStorage();
+        this.cached = new BlockingStorage(
+            new ListingCacheStorage(this.origin, 10, Duration.ofMinutes(1))
+        );
+    }
+
+    @Test
+    void servesListingFromMemory() {
+        this.cached.save(new Key.From("foo", "one"), new byte[0]);
+        this.cached.list(new Key.From("foo"));
+        this.origin.save(new Key.From("foo", "two"), Content.EMPTY).join();
+        MatcherAssert.assertThat(
+            this.cached.list(new Key.From("foo")),
+            Matchers.contains(new Key.From("foo", "one"))
+        );
+    }
+
+    @Test
+    void invalidatesListingOnSave() {
+        this.cached.save(new Key.From("bar", "one"), new byte[0]);
+        this.cached.list(Key.ROOT);
+        this.cached.list(new Key.From("bar"));
+        this.cached.save(new Key.From("bar", "two"), new byte[0]);
+        MatcherAssert.assertThat(
+            "Prefix listing should be invalidated",
+            this.cached.list(new Key.From("bar")),
+            Matchers.hasSize(2)
+        );
+        MatcherAssert.assertThat(
+            "Root listing should be invalidated",
+            this.cached.list(Key.ROOT),
+            Matchers.hasSize(2)
+        );
+    }
+
+    @Test
+    void invalidatesListingOnDelete() {
+        this.cached.save(new Key.From("baz", "one"), new byte[0]);
+        this.cached.list(new Key.From("baz"));
+        this.cached.delete(new Key.From("baz", "one"));
+        MatcherAssert.assertThat(
+            this.cached.list(new Key.From("baz")),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void invalidatesListingListedDuringMove() {
+        final CompletableFuture<Void> release = new CompletableFuture<>();
+        final Storage storage = new ListingCacheStorage(
+            new Storage.Wrap(this.origin) {
+                @Override
+                public CompletableFuture<Void> move(final Key source, final Key dest) {
+                    return release.thenCompose(nothing -> super.move(source, dest));
+                }
+            },
+            10, Duration.ofMinutes(1)
+        );
+        this.origin.save(new Key.From("quux", "one"), Content.EMPTY).join();
+        final CompletableFuture<Void> moved = storage.move(
+            new Key.From("quux", "one"), new Key.From("moved", "one")
+        );
+        storage.list(new Key.From("quux")).join();
+        storage.list(new Key.From("moved")).join();
+        release.complete(null);
+        moved.join();
+        MatcherAssert.assertThat(
+            "Source listing should be invalidated",
+            storage.list(new Key.From("quux")).join(),
+            Matchers.empty()
+        );
+        MatcherAssert.assertThat(
+            "Destination listing should be invalidated",
+            storage.list(new Key.From("moved")).join(),
+            Matchers.contains(new Key.From("moved", "one"))
+        );
+    }
+
+    @Test
+    void servesRepeatedListingRequestsFromMemory() {
+        final CountingStorage counting = new CountingStorage(this.origin);
+        final Slice slice = new FilesSlice(
+            new ListingCacheStorage(counting, 10, Duration.ofMinutes(1))
+        );
+        this.origin.save(new Key.From("qux", "one"), Content.EMPTY).join();
+        for (int idx = 0; idx < 3; idx += 1) {
+            MatcherAssert.assertThat(
+                slice,
+                new SliceHasResponse(
+                    new RsHasStatus(RsStatus.OK),
+                    new RequestLine(RqMethod.GET, "/qux"),
+                    new Headers.From("Accept", "text/plain"),
+                    Content.EMPTY
+                )
+            );
+        }
+        MatcherAssert.assertThat(
+            counting.count("list"),
+            Matchers.equalTo(1)
+        );
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link MappedFileStorage}.
+ * @since 1.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class MappedFileStorageTest {
+
+    /**
+     * File key.
+     */
+    private static final Key KEY = new Key.From("dir", "file.bin");
+
+    /**
+     * Storage.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void setUp(@TempDir final Path dir) {
+        this.storage = new MappedFileStorage(dir, 4);
+    }
+
+    @Test
+    void readsFileInMappedRegions() {
+        this.storage.save(
+            MappedFileStorageTest.KEY, new Content.From("0123456789".getBytes())
+        ).join();
+        final Content content = this.storage.value(MappedFileStorageTest.KEY).join();
+        MatcherAssert.assertThat(
+            "Should know content size",
+            content.size(),
+            Matchers.equalTo(Optional.of(10L))
+        );
+        final List<ByteBuffer> regions = Flowable.fromPublisher(content).toList().blockingGet();
+        MatcherAssert.assertThat(
+            "Should read regions of max size",
+            regions.stream().map(ByteBuffer::remaining).collect(Collectors.toList()),
+            Matchers.contains(4, 4, 2)
+        );
+        MatcherAssert.assertThat(
+            "Should read direct buffers",
+            regions.stream().allMatch(ByteBuffer::isDirect),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            "Should read file content",
+            new PublisherAs(this.storage.value(MappedFileStorageTest.KEY).join())
+                .asciiString().toCompletableFuture().join(),
+            Matchers.equalTo("0123456789")
+        );
+    }
+
+    @Test
+    void readsEmptyFile() {
+        this.storage.save(MappedFileStorageTest.KEY, Content.EMPTY).join();
+        MatcherAssert.assertThat(
+            new PublisherAs(this.storage.value(MappedFileStorageTest.KEY).join())
+                .bytes().toCompletableFuture().join().length,
+            Matchers.equalTo(0)
+        );
+    }
+
+    @Test
+    void failsToReadMissingFile() {
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> this.storage.value(MappedFileStorageTest.KEY).join()
+        );
+    }
+
+    @Test
+    void servesDownloads() {
+        this.storage.save(
+            MappedFileStorageTest.KEY, new Content.From("downloaded".getBytes())
+        ).join();
+        MatcherAssert.assertThat(
+            new FilesSlice(this.storage),
+            new SliceHasResponse(
+                new RsHasBody("downloaded", StandardCharsets.UTF_8),
+                new RequestLine(RqMethod.GET, "/dir/file.bin")
+            )
+        );
+    }
+}
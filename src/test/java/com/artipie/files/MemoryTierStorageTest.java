@@ -0,0 +1,182 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ValueNotFoundException;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.slice.KeyFromPath;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link MemoryTierStorage}.
+ * @since 1.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
+final class MemoryTierStorageTest {
+
+    /**
+     * First key.
+     */
+    private static final Key FIRST = new Key.From("one.sha1");
+
+    /**
+     * Second key.
+     */
+    private static final Key SECOND = new Key.From("two.sha1");
+
+    /**
+     * Origin storage.
+     */
+    private Storage origin;
+
+    @BeforeEach
+    void setUp() {
+        this.origin = new InMemoryStorage();
+        this.origin.save(MemoryTierStorageTest.FIRST, MemoryTierStorageTest.content("abc"))
+            .join();
+        this.origin.save(MemoryTierStorageTest.SECOND, MemoryTierStorageTest.content("xyz"))
+            .join();
+    }
+
+    @Test
+    void servesSmallValueFromMemory() {
+        final Storage tier = new MemoryTierStorage(this.origin, 3, 100);
+        MemoryTierStorageTest.read(tier, MemoryTierStorageTest.FIRST);
+        this.origin.delete(MemoryTierStorageTest.FIRST).join();
+        MatcherAssert.assertThat(
+            "Should read value from memory",
+            MemoryTierStorageTest.read(tier, MemoryTierStorageTest.FIRST),
+            Matchers.equalTo("abc")
+        );
+        MatcherAssert.assertThat(
+            "Should find value in memory",
+            tier.exists(MemoryTierStorageTest.FIRST).join(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void readsLargeValueFromOrigin() {
+        final Storage tier = new MemoryTierStorage(this.origin, 2, 100);
+        MatcherAssert.assertThat(
+            MemoryTierStorageTest.read(tier, MemoryTierStorageTest.FIRST),
+            Matchers.equalTo("abc")
+        );
+        this.origin.delete(MemoryTierStorageTest.FIRST).join();
+        MemoryTierStorageTest.assertMissing(tier, MemoryTierStorageTest.FIRST);
+    }
+
+    @Test
+    void dropsValueOnSave() {
+        final Storage tier = new MemoryTierStorage(this.origin, 3, 100);
+        MemoryTierStorageTest.read(tier, MemoryTierStorageTest.FIRST);
+        tier.save(MemoryTierStorageTest.FIRST, MemoryTierStorageTest.content("new")).join();
+        MatcherAssert.assertThat(
+            MemoryTierStorageTest.read(tier, MemoryTierStorageTest.FIRST),
+            Matchers.equalTo("new")
+        );
+    }
+
+    @Test
+    void dropsValueOnDelete() {
+        final Storage tier = new MemoryTierStorage(this.origin, 3, 100);
+        MemoryTierStorageTest.read(tier, MemoryTierStorageTest.FIRST);
+        tier.delete(MemoryTierStorageTest.FIRST).join();
+        MemoryTierStorageTest.assertMissing(tier, MemoryTierStorageTest.FIRST);
+    }
+
+    @Test
+    void dropsValuesOnMove() {
+        final Storage tier = new MemoryTierStorage(this.origin, 3, 100);
+        MemoryTierStorageTest.read(tier, MemoryTierStorageTest.FIRST);
+        MemoryTierStorageTest.read(tier, MemoryTierStorageTest.SECOND);
+        tier.move(MemoryTierStorageTest.FIRST, MemoryTierStorageTest.SECOND).join();
+        MemoryTierStorageTest.assertMissing(tier, MemoryTierStorageTest.FIRST);
+        MatcherAssert.assertThat(
+            MemoryTierStorageTest.read(tier, MemoryTierStorageTest.SECOND),
+            Matchers.equalTo("abc")
+        );
+    }
+
+    @Test
+    void dropsValuesOnDeleteOfRoot() {
+        final Storage tier = new MemoryTierStorage(this.origin, 3, 100);
+        MemoryTierStorageTest.read(tier, MemoryTierStorageTest.FIRST);
+        tier.deleteAll(new KeyFromPath("/")).join();
+        MemoryTierStorageTest.assertMissing(tier, MemoryTierStorageTest.FIRST);
+    }
+
+    @Test
+    void evictsLeastRecentlyReadValueOverBudget() {
+        final Storage tier = new MemoryTierStorage(this.origin, 3, 5);
+        MemoryTierStorageTest.read(tier, MemoryTierStorageTest.FIRST);
+        MemoryTierStorageTest.read(tier, MemoryTierStorageTest.SECOND);
+        this.origin.deleteAll(Key.ROOT).join();
+        MemoryTierStorageTest.assertMissing(tier, MemoryTierStorageTest.FIRST);
+        MatcherAssert.assertThat(
+            MemoryTierStorageTest.read(tier, MemoryTierStorageTest.SECOND),
+            Matchers.equalTo("xyz")
+        );
+    }
+
+    @Test
+    void servesIndependentReads() {
+        final Storage tier = new MemoryTierStorage(this.origin, 3, 100);
+        MemoryTierStorageTest.read(tier, MemoryTierStorageTest.FIRST);
+        MemoryTierStorageTest.read(tier, MemoryTierStorageTest.FIRST);
+        MatcherAssert.assertThat(
+            MemoryTierStorageTest.read(tier, MemoryTierStorageTest.FIRST),
+            Matchers.equalTo("abc")
+        );
+    }
+
+    /**
+     * Assert value is missing.
+     * @param storage Storage
+     * @param key Key
+     */
+    private static void assertMissing(final Storage storage, final Key key) {
+        final CompletionException err = Assertions.assertThrows(
+            CompletionException.class,
+            () -> MemoryTierStorageTest.read(storage, key)
+        );
+        MatcherAssert.assertThat(
+            err.getCause(),
+            Matchers.instanceOf(ValueNotFoundException.class)
+        );
+    }
+
+    /**
+     * Read value.
+     * @param storage Storage
+     * @param key Key
+     * @return Value
+     */
+    private static String read(final Storage storage, final Key key) {
+        return storage.value(key)
+            .thenCompose(content -> new PublisherAs(content).asciiString())
+            .toCompletableFuture().join();
+    }
+
+    /**
+     * Content of the string.
+     * @param value String
+     * @return Content
+     */
+    private static Content content(final String value) {
+        return new Content.From(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
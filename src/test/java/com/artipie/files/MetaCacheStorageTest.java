@@ -0,0 +1,258 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.MetaCommon;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ValueNotFoundException;
+import com.artipie.asto.fs.FileStorage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link MetaCacheStorage}.
+ * @since 1.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class MetaCacheStorageTest {
+
+    /**
+     * Origin storage.
+     */
+    private Storage origin;
+
+    /**
+     * Caching storage.
+     */
+    private Storage cached;
+
+    @BeforeEach
+    void setUp() {
+        this.origin = new InMemoryStorage();
+        this.cached = new MetaCacheStorage(this.origin, 10, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void servesMetadataFromMemory() {
+        final Key key = new Key.From("one.txt");
+        this.cached.save(key, new Content.From(new byte[2])).join();
+        this.cached.metadata(key).join();
+        this.cached.exists(key).join();
+        this.origin.delete(key).join();
+        MatcherAssert.assertThat(
+            "Metadata should be cached",
+            new MetaCommon(this.cached.metadata(key).join()).size(),
+            Matchers.equalTo(2L)
+        );
+        MatcherAssert.assertThat(
+            "Existence should be answered from cache",
+            this.cached.exists(key).join(),
+            Matchers.equalTo(true)
+        );
+    }
+
+    @Test
+    void invalidatesMetadataOnSave() {
+        final Key key = new Key.From("two.txt");
+        this.cached.save(key, new Content.From(new byte[2])).join();
+        this.cached.metadata(key).join();
+        this.cached.save(key, new Content.From(new byte[5])).join();
+        MatcherAssert.assertThat(
+            new MetaCommon(this.cached.metadata(key).join()).size(),
+            Matchers.equalTo(5L)
+        );
+    }
+
+    @Test
+    void invalidatesMetadataOnDelete() {
+        final Key key = new Key.From("dir", "three.txt");
+        this.cached.save(key, new Content.From(new byte[2])).join();
+        this.cached.metadata(key).join();
+        this.cached.deleteAll(new Key.From("dir")).join();
+        MatcherAssert.assertThat(
+            this.cached.exists(key).join(),
+            Matchers.equalTo(false)
+        );
+    }
+
+    @Test
+    void invalidatesMetadataLookedUpDuringMove() {
+        final Key source = new Key.From("four.txt");
+        final Key destination = new Key.From("moved", "four.txt");
+        final CompletableFuture<Void> release = new CompletableFuture<>();
+        final Storage storage = new MetaCacheStorage(
+            new Storage.Wrap(this.origin) {
+                @Override
+                public CompletableFuture<Void> move(final Key src, final Key dest) {
+                    return release.thenCompose(nothing -> super.move(src, dest));
+                }
+            },
+            10, Duration.ofMinutes(1)
+        );
+        this.origin.save(source, new Content.From(new byte[2])).join();
+        final CompletableFuture<Void> moved = storage.move(source, destination);
+        storage.exists(source).join();
+        storage.exists(destination).join();
+        release.complete(null);
+        moved.join();
+        MatcherAssert.assertThat(
+            "Source should be missing after move",
+            storage.exists(source).join(),
+            Matchers.equalTo(false)
+        );
+        MatcherAssert.assertThat(
+            "Destination should exist after move",
+            storage.exists(destination).join(),
+            Matchers.equalTo(true)
+        );
+    }
+
+    @Test
+    void cachesMissingKeys() {
+        final Key key = new Key.From("four.txt");
+        this.cached.exists(key).join();
+        this.origin.save(key, new Content.From(new byte[2])).join();
+        MatcherAssert.assertThat(
+            "Missing key should be cached",
+            this.cached.exists(key).join(),
+            Matchers.equalTo(false)
+        );
+        final CompletionException err = Assertions.assertThrows(
+            CompletionException.class,
+            () -> this.cached.metadata(key).join()
+        );
+        MatcherAssert.assertThat(
+            "Metadata of missing key should not be found",
+            err.getCause(),
+            Matchers.instanceOf(ValueNotFoundException.class)
+        );
+    }
+
+    @Test
+    void invalidatesMissingKeyOnSave() {
+        final Key key = new Key.From("five.txt");
+        this.cached.exists(key).join();
+        this.cached.save(key, new Content.From(new byte[3])).join();
+        MatcherAssert.assertThat(
+            new MetaCommon(this.cached.metadata(key).join()).size(),
+            Matchers.equalTo(3L)
+        );
+    }
+
+    @Test
+    void keepsHeadConsistentWithUploadsAndDeletes() {
+        final Slice slice = new FilesSlice(this.cached);
+        final RequestLine head = new RequestLine(RqMethod.HEAD, "/six.txt?meta=true");
+        MatcherAssert.assertThat(
+            "Missing file should not be found",
+            slice,
+            new SliceHasResponse(new RsHasStatus(RsStatus.NOT_FOUND), head)
+        );
+        MatcherAssert.assertThat(
+            "File should be uploaded",
+            slice,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.CREATED),
+                new RequestLine(RqMethod.PUT, "/six.txt"),
+                Headers.EMPTY,
+                new Content.From(new byte[4])
+            )
+        );
+        MatcherAssert.assertThat(
+            "Uploaded file should be found",
+            slice,
+            new SliceHasResponse(new RsHasStatus(RsStatus.OK), head)
+        );
+        MatcherAssert.assertThat(
+            "File should be deleted",
+            slice,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NO_CONTENT),
+                new RequestLine(RqMethod.DELETE, "/six.txt")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Deleted file should not be found",
+            slice,
+            new SliceHasResponse(new RsHasStatus(RsStatus.NOT_FOUND), head)
+        );
+    }
+
+    @Test
+    void servesRepeatedHeadRequestsFromMemory() {
+        final CountingStorage counting = new CountingStorage(this.origin);
+        final Slice slice = new FilesSlice(
+            new MetaCacheStorage(counting, 10, Duration.ofMinutes(1))
+        );
+        this.origin.save(new Key.From("seven.txt"), new Content.From(new byte[3])).join();
+        for (int idx = 0; idx < 3; idx += 1) {
+            MatcherAssert.assertThat(
+                slice,
+                new SliceHasResponse(
+                    new RsHasStatus(RsStatus.OK),
+                    new RequestLine(RqMethod.HEAD, "/seven.txt?meta=true")
+                )
+            );
+            MatcherAssert.assertThat(
+                slice,
+                new SliceHasResponse(
+                    new RsHasStatus(RsStatus.NOT_FOUND),
+                    new RequestLine(RqMethod.HEAD, "/eight.txt?meta=true")
+                )
+            );
+        }
+        MatcherAssert.assertThat(
+            "Metadata should be read once per existing key",
+            counting.count("metadata"),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            "Existence should be checked once per key",
+            counting.count("exists"),
+            Matchers.equalTo(2)
+        );
+    }
+
+    @Test
+    void doesNotTakeDirectoryForBlob(@TempDir final Path dir) {
+        final Storage files = new FileStorage(dir);
+        files.save(new Key.From("nine", "ten.txt"), new Content.From(new byte[2])).join();
+        final Storage storage = new MetaCacheStorage(files, 10, Duration.ofMinutes(1));
+        storage.metadata(new Key.From("nine")).join();
+        MatcherAssert.assertThat(
+            "Directory should not exist as blob",
+            storage.exists(new Key.From("nine")).join(),
+            Matchers.equalTo(false)
+        );
+        MatcherAssert.assertThat(
+            "Directory should not be found",
+            new FilesSlice(storage),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.HEAD, "/nine")
+            )
+        );
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.rs.RsFull;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link MeteredCache}.
+ * @since 1.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class MeteredCacheTest {
+
+    /**
+     * File key.
+     */
+    private static final Key KEY = new Key.From("file.txt");
+
+    /**
+     * Loads counter.
+     */
+    private static final String LOADS = "files.proxy.cache";
+
+    /**
+     * Result tag.
+     */
+    private static final String RESULT = "result";
+
+    /**
+     * Metrics.
+     */
+    private FakeMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        this.metrics = new FakeMetrics();
+    }
+
+    @Test
+    void countsMissesAndHits() {
+        final ProxyCache cache = this.cache(Duration.ofHours(1));
+        MeteredCacheTest.load(cache, MeteredCacheTest.file());
+        MeteredCacheTest.load(cache, new RsWithStatus(RsStatus.INTERNAL_ERROR));
+        cache.cached(MeteredCacheTest.KEY).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            Arrays.asList(
+                this.metrics.value(MeteredCacheTest.LOADS, MeteredCacheTest.RESULT, "miss"),
+                this.metrics.value(MeteredCacheTest.LOADS, MeteredCacheTest.RESULT, "hit"),
+                this.metrics.value("files.proxy.upstream", "status", "200")
+            ),
+            Matchers.contains(1L, 2L, 1L)
+        );
+    }
+
+    @Test
+    void countsRevalidatedAndStaleFiles() {
+        final ProxyCache cache = this.cache(Duration.ZERO);
+        MeteredCacheTest.load(cache, MeteredCacheTest.file());
+        MeteredCacheTest.load(cache, new RsWithStatus(RsStatus.NOT_MODIFIED));
+        MeteredCacheTest.load(cache, new RsWithStatus(RsStatus.INTERNAL_ERROR));
+        MatcherAssert.assertThat(
+            Arrays.asList(
+                this.metrics.value(
+                    MeteredCacheTest.LOADS, MeteredCacheTest.RESULT, "revalidated"
+                ),
+                this.metrics.value(MeteredCacheTest.LOADS, MeteredCacheTest.RESULT, "stale"),
+                this.metrics.value("files.proxy.upstream", "status", "500")
+            ),
+            Matchers.contains(1L, 1L, 1L)
+        );
+    }
+
+    @Test
+    void countsMissingFiles() {
+        MeteredCacheTest.load(
+            this.cache(Duration.ofHours(1)), new RsWithStatus(RsStatus.NOT_FOUND)
+        );
+        MatcherAssert.assertThat(
+            this.metrics.value(MeteredCacheTest.LOADS, MeteredCacheTest.RESULT, "not_found"),
+            Matchers.equalTo(1L)
+        );
+    }
+
+    /**
+     * Metered revalidating cache.
+     * @param freshness Max age of cached files
+     * @return Cache
+     */
+    private ProxyCache cache(final Duration freshness) {
+        return new MeteredCache(
+            new RevalidatingCache(new InMemoryStorage(), new Freshness.MaxAge(freshness)),
+            this.metrics
+        );
+    }
+
+    /**
+     * Load file and read its content.
+     * @param cache Cache
+     * @param response Remote response
+     */
+    private static void load(final ProxyCache cache, final Response response) {
+        final Optional<ProxiedFile> file = cache.load(MeteredCacheTest.KEY, headers -> response)
+            .toCompletableFuture().join();
+        if (file.isPresent()) {
+            new PublisherAs(file.get().content()).bytes().toCompletableFuture().join();
+        }
+    }
+
+    /**
+     * Remote response with file.
+     * @return Response
+     */
+    private static Response file() {
+        return new RsFull(RsStatus.OK, Headers.EMPTY, new Content.From("one".getBytes()));
+    }
+}
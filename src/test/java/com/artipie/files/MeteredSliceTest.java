@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.slice.SliceSimple;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link MeteredSlice}.
+ * @since 1.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class MeteredSliceTest {
+
+    /**
+     * Request line.
+     */
+    private static final String LINE = new RequestLine(RqMethod.PUT, "/file").toString();
+
+    /**
+     * Operation tag.
+     */
+    private static final String OPERATION = "operation";
+
+    /**
+     * Metrics.
+     */
+    private FakeMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        this.metrics = new FakeMetrics();
+    }
+
+    @Test
+    void reportsRequest() {
+        final Slice slice = new MeteredSlice(
+            (line, headers, body) -> connection -> new PublisherAs(body).bytes().thenCompose(
+                bytes -> new RsWithBody(
+                    new RsWithStatus(RsStatus.CREATED), "created", StandardCharsets.UTF_8
+                ).send(connection)
+            ),
+            this.metrics, "put"
+        );
+        MeteredSliceTest.send(slice, "data").toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            Arrays.asList(
+                this.metrics.value(
+                    "files.requests", MeteredSliceTest.OPERATION, "put", "status", "201"
+                ),
+                this.metrics.value("files.bytes.received", MeteredSliceTest.OPERATION, "put"),
+                this.metrics.value("files.bytes.sent", MeteredSliceTest.OPERATION, "put"),
+                this.metrics.value("files.requests.active", MeteredSliceTest.OPERATION, "put")
+            ),
+            Matchers.contains(1L, 4L, 7L, 0L)
+        );
+    }
+
+    @Test
+    void reportsFailedResponse() {
+        final Slice slice = new MeteredSlice(
+            (line, headers, body) -> connection -> {
+                final CompletableFuture<Void> res = new CompletableFuture<>();
+                res.completeExceptionally(new IllegalStateException("failed"));
+                return res;
+            },
+            this.metrics, "get"
+        );
+        MeteredSliceTest.send(slice, "").handle((nothing, err) -> err).toCompletableFuture()
+            .join();
+        MatcherAssert.assertThat(
+            Arrays.asList(
+                this.metrics.value(
+                    "files.requests", MeteredSliceTest.OPERATION, "get", "status", "error"
+                ),
+                this.metrics.value("files.requests.active", MeteredSliceTest.OPERATION, "get")
+            ),
+            Matchers.contains(1L, 0L)
+        );
+    }
+
+    @Test
+    void countsRequestsInFlight() {
+        final Slice slice = new MeteredSlice(
+            new SliceSimple(new RsWithStatus(RsStatus.OK)), this.metrics, "head"
+        );
+        final CompletableFuture<Void> sent = new CompletableFuture<>();
+        final CompletionStage<Void> done = slice.response(
+            MeteredSliceTest.LINE, Headers.EMPTY, Flowable.empty()
+        ).send((status, headers, body) -> sent);
+        MatcherAssert.assertThat(
+            "Should count request in flight",
+            this.metrics.value("files.requests.active", MeteredSliceTest.OPERATION, "head"),
+            Matchers.equalTo(1L)
+        );
+        sent.complete(null);
+        done.toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should not count finished request",
+            this.metrics.value("files.requests.active", MeteredSliceTest.OPERATION, "head"),
+            Matchers.equalTo(0L)
+        );
+    }
+
+    /**
+     * Send request and read response body.
+     * @param slice Slice
+     * @param body Request body
+     * @return Completion of response
+     */
+    private static CompletionStage<Void> send(final Slice slice, final String body) {
+        return slice.response(
+            MeteredSliceTest.LINE, Headers.EMPTY,
+            Flowable.just(ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8)))
+        ).send(
+            (status, headers, rsbody) -> {
+                final CompletableFuture<Void> read = new CompletableFuture<>();
+                Flowable.fromPublisher(rsbody).ignoreElements().subscribe(
+                    () -> read.complete(null), read::completeExceptionally
+                );
+                return read;
+            }
+        );
+    }
+}
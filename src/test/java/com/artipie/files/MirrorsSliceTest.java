@@ -0,0 +1,176 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.rs.StandardRs;
+import io.reactivex.Completable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link MirrorsSlice}.
+ * @since 1.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class MirrorsSliceTest {
+
+    @Test
+    void failsOverToNextMirror() {
+        MatcherAssert.assertThat(
+            new MirrorsSlice(
+                Arrays.asList(
+                    MirrorsSliceTest.mirror(new AtomicInteger(), RsStatus.INTERNAL_ERROR),
+                    MirrorsSliceTest.mirror(new AtomicInteger(), RsStatus.OK)
+                )
+            ),
+            new SliceHasResponse(
+                new RsHasBody("OK".getBytes()),
+                new RequestLine(RqMethod.GET, "/file")
+            )
+        );
+    }
+
+    @Test
+    void returnsLastFailureWhenAllMirrorsFail() {
+        MatcherAssert.assertThat(
+            new MirrorsSlice(
+                Arrays.asList(
+                    MirrorsSliceTest.mirror(new AtomicInteger(), RsStatus.INTERNAL_ERROR),
+                    (line, headers, body) -> {
+                        throw new IllegalStateException("Connection refused");
+                    },
+                    MirrorsSliceTest.mirror(new AtomicInteger(), RsStatus.NOT_IMPLEMENTED)
+                )
+            ),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_IMPLEMENTED),
+                new RequestLine(RqMethod.GET, "/file")
+            )
+        );
+    }
+
+    @Test
+    void skipsUnhealthyMirror() {
+        final AtomicInteger failing = new AtomicInteger();
+        final Slice slice = new MirrorsSlice(
+            Arrays.asList(
+                MirrorsSliceTest.mirror(failing, RsStatus.INTERNAL_ERROR),
+                MirrorsSliceTest.mirror(new AtomicInteger(), RsStatus.OK)
+            )
+        );
+        for (int num = 0; num < 5; num += 1) {
+            MatcherAssert.assertThat(
+                slice,
+                new SliceHasResponse(
+                    new RsHasStatus(RsStatus.OK),
+                    new RequestLine(RqMethod.GET, "/file")
+                )
+            );
+        }
+        MatcherAssert.assertThat(
+            failing.get(),
+            Matchers.equalTo(3)
+        );
+    }
+
+    @Test
+    void prefersFastestMirror() {
+        final AtomicInteger slow = new AtomicInteger();
+        final AtomicInteger fast = new AtomicInteger();
+        final Slice slice = new MirrorsSlice(
+            Arrays.asList(
+                (line, headers, body) -> {
+                    slow.incrementAndGet();
+                    return MirrorsSliceTest.delayed(StandardRs.OK, 100);
+                },
+                MirrorsSliceTest.mirror(fast, RsStatus.OK)
+            )
+        );
+        for (int num = 0; num < 4; num += 1) {
+            MatcherAssert.assertThat(
+                slice,
+                new SliceHasResponse(
+                    new RsHasStatus(RsStatus.OK),
+                    new RequestLine(RqMethod.GET, "/file")
+                )
+            );
+        }
+        MatcherAssert.assertThat(
+            "Should ask slow mirror once",
+            slow.get(),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            "Should ask fast mirror after the first request",
+            fast.get(),
+            Matchers.equalTo(3)
+        );
+    }
+
+    @Test
+    void hedgesSlowRequest() {
+        MatcherAssert.assertThat(
+            new MirrorsSlice(
+                Arrays.asList(
+                    (line, headers, body) -> connection -> new CompletableFuture<>(),
+                    MirrorsSliceTest.mirror(new AtomicInteger(), RsStatus.OK)
+                ),
+                Duration.ofMillis(50)
+            ),
+            new SliceHasResponse(
+                new RsHasBody("OK".getBytes()),
+                new RequestLine(RqMethod.GET, "/file")
+            )
+        );
+    }
+
+    /**
+     * Mirror which counts requests.
+     * @param calls Requests count
+     * @param status Response status
+     * @return Mirror slice
+     */
+    private static Slice mirror(final AtomicInteger calls, final RsStatus status) {
+        return (line, headers, body) -> {
+            calls.incrementAndGet();
+            return new RsWithBody(new RsWithStatus(status), "OK", StandardCharsets.UTF_8);
+        };
+    }
+
+    /**
+     * Response sent after delay.
+     * @param response Response
+     * @param millis Delay in milliseconds
+     * @return Delayed response
+     */
+    private static Response delayed(final Response response, final long millis) {
+        return connection -> {
+            final CompletableFuture<Void> res = new CompletableFuture<>();
+            Completable.timer(millis, TimeUnit.MILLISECONDS).subscribe(
+                () -> response.send(connection).thenAccept(res::complete)
+            );
+            return res;
+        };
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link MultipartSlice}.
+ * @since 1.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
+final class MultipartSliceTest {
+
+    /**
+     * File path.
+     */
+    private static final String PATH = "/dir/file.bin";
+
+    /**
+     * Storage.
+     */
+    private Storage storage;
+
+    /**
+     * Slice.
+     */
+    private Slice slice;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.slice = new FilesSlice(this.storage);
+    }
+
+    @Test
+    void uploadsFileInParts() {
+        final String upload = this.started();
+        final String part = String.format("%s?upload=%s&part=", MultipartSliceTest.PATH, upload);
+        MatcherAssert.assertThat(
+            "Should upload parts in any order",
+            new String[] {
+                this.send(RqMethod.PUT, String.format("%s2", part), "second"),
+                this.send(RqMethod.PUT, String.format("%s1", part), "first-"),
+                this.send(RqMethod.PUT, String.format("%s3", part), "-third"),
+            },
+            Matchers.arrayContaining("201 ", "201 ", "201 ")
+        );
+        MatcherAssert.assertThat(
+            "Should list uploaded parts",
+            this.send(RqMethod.GET, this.uri(upload), ""),
+            Matchers.equalTo("200 1 6\n2 6\n3 6\n")
+        );
+        MatcherAssert.assertThat(
+            "Should complete upload",
+            this.send(RqMethod.POST, this.uri(upload), ""),
+            Matchers.equalTo("201 ")
+        );
+        MatcherAssert.assertThat(
+            "Should concatenate parts",
+            new PublisherAs(this.storage.value(new Key.From("dir", "file.bin")).join())
+                .asciiString().toCompletableFuture().join(),
+            Matchers.equalTo("first-second-third")
+        );
+        MatcherAssert.assertThat(
+            "Should remove parts",
+            this.storage.list(new Key.From(".uploads")).join(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void replacesFailedPart() {
+        final String upload = this.started();
+        final String part = String.format("%s&part=1", this.uri(upload));
+        this.send(RqMethod.PUT, part, "broken");
+        this.send(RqMethod.PUT, part, "ok");
+        this.send(RqMethod.POST, this.uri(upload), "");
+        MatcherAssert.assertThat(
+            new PublisherAs(this.storage.value(new Key.From("dir", "file.bin")).join())
+                .asciiString().toCompletableFuture().join(),
+            Matchers.equalTo("ok")
+        );
+    }
+
+    @Test
+    void rejectsMissingPart() {
+        final String upload = this.started();
+        this.send(RqMethod.PUT, String.format("%s&part=2", this.uri(upload)), "second");
+        MatcherAssert.assertThat(
+            this.send(RqMethod.POST, this.uri(upload), ""),
+            Matchers.equalTo("400 Part 1 is missing")
+        );
+    }
+
+    @Test
+    void rejectsInvalidPartNumber() {
+        MatcherAssert.assertThat(
+            this.send(RqMethod.PUT, String.format("%s&part=0", this.uri(this.started())), "a"),
+            Matchers.startsWith("400 ")
+        );
+    }
+
+    @Test
+    void completesUploadOnce() {
+        final CompletableFuture<Void> release = new CompletableFuture<>();
+        this.slice = new FilesSlice(
+            new Storage.Wrap(this.storage) {
+                @Override
+                public CompletableFuture<Void> save(final Key key, final Content content) {
+                    final CompletableFuture<Void> res;
+                    if (key.string().equals("dir/file.bin")) {
+                        res = release.thenCompose(nothing -> super.save(key, content));
+                    } else {
+                        res = super.save(key, content);
+                    }
+                    return res;
+                }
+            }
+        );
+        final String upload = this.started();
+        final String part = String.format("%s&part=1", this.uri(upload));
+        this.send(RqMethod.PUT, part, "data");
+        final CompletableFuture<String> first = this.sending(RqMethod.POST, this.uri(upload), "");
+        final CompletableFuture<String> second = this.sending(
+            RqMethod.POST, this.uri(upload), ""
+        );
+        CompletableFuture.anyOf(first, second).join();
+        MatcherAssert.assertThat(
+            "Should reject part of upload being completed",
+            this.send(RqMethod.PUT, part, "other"),
+            Matchers.startsWith("409 ")
+        );
+        release.complete(null);
+        MatcherAssert.assertThat(
+            "Should complete upload once",
+            Arrays.asList(first.join(), second.join()),
+            Matchers.containsInAnyOrder(
+                Matchers.equalTo("201 "), Matchers.startsWith("409 ")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Should concatenate parts",
+            new PublisherAs(this.storage.value(new Key.From("dir", "file.bin")).join())
+                .asciiString().toCompletableFuture().join(),
+            Matchers.equalTo("data")
+        );
+    }
+
+    @Test
+    void completesUploadAfterRejectedCompletion() {
+        final String upload = this.started();
+        this.send(RqMethod.PUT, String.format("%s&part=2", this.uri(upload)), "second");
+        this.send(RqMethod.POST, this.uri(upload), "");
+        this.send(RqMethod.PUT, String.format("%s&part=1", this.uri(upload)), "first-");
+        MatcherAssert.assertThat(
+            this.send(RqMethod.POST, this.uri(upload), ""),
+            Matchers.equalTo("201 ")
+        );
+    }
+
+    @Test
+    void abortsUpload() {
+        final String upload = this.started();
+        this.send(RqMethod.PUT, String.format("%s&part=1", this.uri(upload)), "data");
+        MatcherAssert.assertThat(
+            "Should abort upload",
+            this.send(RqMethod.DELETE, this.uri(upload), ""),
+            Matchers.equalTo("204 ")
+        );
+        MatcherAssert.assertThat(
+            "Should not find aborted upload",
+            this.send(RqMethod.POST, this.uri(upload), ""),
+            Matchers.startsWith("404 ")
+        );
+        MatcherAssert.assertThat(
+            "Should remove parts",
+            this.storage.list(new Key.From(".uploads")).join(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void doesNotFindUnknownUpload() {
+        MatcherAssert.assertThat(
+            this.slice,
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(
+                    RqMethod.PUT,
+                    String.format(
+                        "%s?upload=%s&part=1",
+                        MultipartSliceTest.PATH, "0f8fad5b-d9cb-469f-a165-70867728950e"
+                    )
+                ),
+                Headers.EMPTY,
+                new Content.From("data".getBytes())
+            )
+        );
+    }
+
+    @Test
+    void hidesUploadsFromListing() {
+        this.started();
+        final AtomicReference<String> listing = new AtomicReference<>();
+        this.slice.response(
+            new RequestLine(RqMethod.GET, "/").toString(),
+            new Headers.From("Accept", FilesSlice.PLAIN_TEXT), Content.EMPTY
+        ).send(
+            (status, headers, body) -> new PublisherAs(body).asciiString()
+                .thenAccept(listing::set)
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should keep upload data in storage",
+            this.storage.list(new Key.From(".uploads")).join(),
+            Matchers.not(Matchers.empty())
+        );
+        MatcherAssert.assertThat(
+            "Should not list upload data",
+            listing.get(),
+            Matchers.not(Matchers.containsString(".uploads"))
+        );
+    }
+
+    @Test
+    void rejectsRequestsOfUploadsData() {
+        final String upload = this.started();
+        final String path = String.format("/.uploads/dir/file.bin/%s/started", upload);
+        MatcherAssert.assertThat(
+            new String[] {
+                this.send(RqMethod.GET, path, ""),
+                this.send(RqMethod.PUT, path, "data"),
+                this.send(RqMethod.DELETE, "/.uploads", ""),
+            },
+            Matchers.arrayContaining(
+                Matchers.startsWith("404 "), Matchers.startsWith("404 "),
+                Matchers.startsWith("404 ")
+            )
+        );
+    }
+
+    /**
+     * Start upload.
+     * @return Upload id
+     */
+    private String started() {
+        return this.send(RqMethod.POST, String.format("%s?uploads", MultipartSliceTest.PATH), "")
+            .substring(4);
+    }
+
+    /**
+     * Upload URI.
+     * @param upload Upload id
+     * @return URI
+     */
+    private String uri(final String upload) {
+        return String.format("%s?upload=%s", MultipartSliceTest.PATH, upload);
+    }
+
+    /**
+     * Send request.
+     * @param method Request method
+     * @param uri Request URI
+     * @param body Request body
+     * @return Response status and body
+     */
+    private String send(final RqMethod method, final String uri, final String body) {
+        return this.sending(method, uri, body).join();
+    }
+
+    /**
+     * Send request without waiting for response.
+     * @param method Request method
+     * @param uri Request URI
+     * @param body Request body
+     * @return Response status and body
+     */
+    private CompletableFuture<String> sending(final RqMethod method, final String uri,
+        final String body) {
+        final AtomicReference<String> res = new AtomicReference<>();
+        return this.slice.response(
+            new RequestLine(method, uri).toString(), Headers.EMPTY,
+            new Content.From(body.getBytes(StandardCharsets.UTF_8))
+        ).send(
+            (status, headers, rsbody) -> new PublisherAs(rsbody).asciiString().thenAccept(
+                text -> res.set(String.format("%s %s", status.code(), text))
+            )
+        ).toCompletableFuture().thenApply(nothing -> res.get());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithStatus;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link NegativeCache}.
+ * @since 1.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class NegativeCacheTest {
+
+    /**
+     * File key.
+     */
+    private static final Key KEY = new Key.From("file.sha1");
+
+    /**
+     * Remote calls count.
+     */
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        this.calls = new AtomicInteger();
+    }
+
+    @Test
+    void remembersNotFoundFile() {
+        final ProxyCache cache = NegativeCacheTest.cache(Duration.ofMinutes(1));
+        final Function<Headers, Response> remote = this.remote(RsStatus.NOT_FOUND);
+        for (int num = 0; num < 2; num += 1) {
+            MatcherAssert.assertThat(
+                "Should not find file",
+                cache.load(NegativeCacheTest.KEY, remote).toCompletableFuture().join()
+                    .isPresent(),
+                Matchers.is(false)
+            );
+        }
+        MatcherAssert.assertThat(
+            "Should contact remote once",
+            this.calls.get(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void forgetsNotFoundFileAfterTtl() {
+        final ProxyCache cache = NegativeCacheTest.cache(Duration.ZERO);
+        final Function<Headers, Response> remote = this.remote(RsStatus.NOT_FOUND);
+        cache.load(NegativeCacheTest.KEY, remote).toCompletableFuture().join();
+        cache.load(NegativeCacheTest.KEY, remote).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.calls.get(),
+            Matchers.equalTo(2)
+        );
+    }
+
+    @Test
+    void doesNotRememberRemoteErrors() {
+        final ProxyCache cache = NegativeCacheTest.cache(Duration.ofMinutes(1));
+        final Function<Headers, Response> remote = this.remote(RsStatus.INTERNAL_ERROR);
+        cache.load(NegativeCacheTest.KEY, remote).toCompletableFuture().join();
+        cache.load(NegativeCacheTest.KEY, remote).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            this.calls.get(),
+            Matchers.equalTo(2)
+        );
+    }
+
+    /**
+     * Remote which counts calls.
+     * @param status Response status
+     * @return Remote
+     */
+    private Function<Headers, Response> remote(final RsStatus status) {
+        return headers -> {
+            this.calls.incrementAndGet();
+            return new RsWithStatus(status);
+        };
+    }
+
+    /**
+     * Negative cache over revalidating cache.
+     * @param ttl Time to live of missing keys
+     * @return Cache
+     */
+    private static ProxyCache cache(final Duration ttl) {
+        return new NegativeCache(
+            new RevalidatingCache(new InMemoryStorage(), new Freshness.MaxAge(Duration.ZERO)),
+            10, ttl
+        );
+    }
+}
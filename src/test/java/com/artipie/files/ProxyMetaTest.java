@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.headers.Header;
+import java.time.Instant;
+import java.util.Optional;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link ProxyMeta}.
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class ProxyMetaTest {
+
+    /**
+     * File key.
+     */
+    private static final Key KEY = new Key.From("dir", "file.bin");
+
+    /**
+     * Test storage.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void savesAndReadsMetadata() {
+        final Instant expires = Instant.parse("2030-01-02T03:04:05.678Z");
+        new ProxyMeta(
+            expires,
+            new Headers.From(
+                new Header("Content-Type", "text/plain"),
+                new Header("ETag", "\"abc\""),
+                new Header("Last-Modified", "Sun, 06 Nov 1994 08:49:37 GMT"),
+                new Header("Set-Cookie", "secret"),
+                new Header("Content-Length", "3")
+            )
+        ).save(this.storage, ProxyMetaTest.KEY).toCompletableFuture().join();
+        final ProxyMeta meta = ProxyMeta.read(this.storage, ProxyMetaTest.KEY)
+            .toCompletableFuture().join().get();
+        MatcherAssert.assertThat(
+            "Should keep entity headers only",
+            meta.headers(),
+            Matchers.contains(
+                new Header("Content-Type", "text/plain"),
+                new Header("ETag", "\"abc\""),
+                new Header("Last-Modified", "Sun, 06 Nov 1994 08:49:37 GMT")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Should build conditional headers",
+            meta.conditions(),
+            Matchers.contains(
+                new Header("If-None-Match", "\"abc\""),
+                new Header("If-Modified-Since", "Sun, 06 Nov 1994 08:49:37 GMT")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Should keep expiration time",
+            meta.fresh(expires.minusMillis(1)) && !meta.fresh(expires),
+            Matchers.equalTo(true)
+        );
+    }
+
+    @Test
+    void keepsNonAsciiHeaders() {
+        final Header disposition = new Header(
+            "Content-Disposition", "attachment; filename=\"r\u00e9sum\u00e9.pdf\""
+        );
+        new ProxyMeta(Instant.EPOCH, new Headers.From(disposition))
+            .save(this.storage, ProxyMetaTest.KEY).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            ProxyMeta.read(this.storage, ProxyMetaTest.KEY)
+                .toCompletableFuture().join().get().headers(),
+            Matchers.contains(disposition)
+        );
+    }
+
+    @Test
+    void replacesHeadersOnRevalidation() {
+        MatcherAssert.assertThat(
+            new ProxyMeta(
+                Instant.EPOCH,
+                new Headers.From(
+                    new Header("ETag", "\"old\""),
+                    new Header("Last-Modified", "Sun, 06 Nov 1994 08:49:37 GMT")
+                )
+            ).revalidated(Instant.EPOCH, new Headers.From("etag", "\"new\"")).headers(),
+            Matchers.containsInAnyOrder(
+                new Header("etag", "\"new\""),
+                new Header("Last-Modified", "Sun, 06 Nov 1994 08:49:37 GMT")
+            )
+        );
+    }
+
+    @Test
+    void ignoresInvalidMetadata() {
+        this.storage.save(
+            new Key.From(".meta", "dir", "file.bin"), new Content.From("{\"a\":1}".getBytes())
+        ).join();
+        MatcherAssert.assertThat(
+            ProxyMeta.read(this.storage, ProxyMetaTest.KEY).toCompletableFuture().join(),
+            Matchers.equalTo(Optional.empty())
+        );
+    }
+}
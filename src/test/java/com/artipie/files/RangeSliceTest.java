@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.headers.Header;
+import com.artipie.http.hm.RsHasBody;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsFull;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.slice.SliceSimple;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link RangeSlice}.
+ * @since 1.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class RangeSliceTest {
+
+    /**
+     * Response body.
+     */
+    private static final byte[] BODY = "0123456789".getBytes();
+
+    @Test
+    void returnsNotSatisfiableWithoutReadingBody() {
+        final AtomicBoolean read = new AtomicBoolean();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        MatcherAssert.assertThat(
+            "Range should not be satisfiable",
+            new RangeSlice(
+                new SliceSimple(
+                    new RsFull(
+                        RsStatus.OK,
+                        Headers.EMPTY,
+                        new Content.From(
+                            Optional.of((long) RangeSliceTest.BODY.length),
+                            Flowable.just(ByteBuffer.wrap(RangeSliceTest.BODY))
+                                .doOnNext(buf -> read.set(true))
+                                .doOnCancel(() -> cancelled.set(true))
+                        )
+                    )
+                )
+            ),
+            new SliceHasResponse(
+                Matchers.allOf(
+                    new RsHasStatus(RsStatus.BAD_RANGE),
+                    new RsHasHeaders(
+                        new Header("Content-Range", "bytes */10"),
+                        new Header("Content-Length", "0")
+                    )
+                ),
+                new RequestLine(RqMethod.GET, "/file.bin"),
+                new Headers.From("Range", "bytes=10-"),
+                Content.EMPTY
+            )
+        );
+        MatcherAssert.assertThat(
+            "Body should not be read",
+            read.get(),
+            Matchers.equalTo(false)
+        );
+        MatcherAssert.assertThat(
+            "Body should be cancelled",
+            cancelled.get(),
+            Matchers.equalTo(true)
+        );
+    }
+
+    @Test
+    void returnsFullBodyForSatisfiableRange() {
+        MatcherAssert.assertThat(
+            new RangeSlice(RangeSliceTest.origin(Headers.EMPTY)),
+            new SliceHasResponse(
+                Matchers.allOf(
+                    new RsHasStatus(RsStatus.OK),
+                    new RsHasBody(RangeSliceTest.BODY)
+                ),
+                new RequestLine(RqMethod.GET, "/file.bin"),
+                new Headers.From("Range", "bytes=2-4"),
+                Content.EMPTY
+            )
+        );
+    }
+
+    @Test
+    void ignoresRangeWhenValidatorDoesNotMatch() {
+        MatcherAssert.assertThat(
+            new RangeSlice(RangeSliceTest.origin(new Headers.From("ETag", "\"abc\""))),
+            new SliceHasResponse(
+                Matchers.allOf(
+                    new RsHasStatus(RsStatus.OK),
+                    new RsHasBody(RangeSliceTest.BODY)
+                ),
+                new RequestLine(RqMethod.GET, "/file.bin"),
+                new Headers.From(
+                    new Header("Range", "bytes=20-"),
+                    new Header("If-Range", "\"xyz\"")
+                ),
+                Content.EMPTY
+            )
+        );
+    }
+
+    @Test
+    void checksRangeWhenValidatorMatches() {
+        MatcherAssert.assertThat(
+            new RangeSlice(RangeSliceTest.origin(new Headers.From("ETag", "\"abc\""))),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.BAD_RANGE),
+                new RequestLine(RqMethod.GET, "/file.bin"),
+                new Headers.From(
+                    new Header("Range", "bytes=20-"),
+                    new Header("If-Range", "\"abc\"")
+                ),
+                Content.EMPTY
+            )
+        );
+    }
+
+    @Test
+    void ignoresRangeOfHeadRequest() {
+        MatcherAssert.assertThat(
+            new RangeSlice(RangeSliceTest.origin(Headers.EMPTY)),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.OK),
+                new RequestLine(RqMethod.HEAD, "/file.bin"),
+                new Headers.From("Range", "bytes=20-"),
+                Content.EMPTY
+            )
+        );
+    }
+
+    /**
+     * Origin slice with body of known size.
+     * @param headers Response headers
+     * @return Slice
+     */
+    private static Slice origin(final Headers headers) {
+        return new SliceSimple(
+            new RsFull(RsStatus.OK, headers, new Content.From(RangeSliceTest.BODY))
+        );
+    }
+}
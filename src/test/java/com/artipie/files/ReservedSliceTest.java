@@ -0,0 +1,49 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.StandardRs;
+import com.artipie.http.slice.SliceSimple;
+import org.hamcrest.MatcherAssert;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Test case for {@link ReservedSlice}.
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class ReservedSliceTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/.meta", "/.meta/a.txt", "/.meta/dir/b.txt"})
+    void doesNotFindReservedKeys(final String path) {
+        MatcherAssert.assertThat(
+            new ReservedSlice(new SliceSimple(StandardRs.OK), new Key.From(".meta")),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.NOT_FOUND),
+                new RequestLine(RqMethod.GET, path)
+            )
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/.metadata", "/dir/.meta/a.txt", "/a.txt"})
+    void passesOtherKeysToOrigin(final String path) {
+        MatcherAssert.assertThat(
+            new ReservedSlice(new SliceSimple(StandardRs.OK), new Key.From(".meta")),
+            new SliceHasResponse(
+                new RsHasStatus(RsStatus.OK),
+                new RequestLine(RqMethod.GET, path)
+            )
+        );
+    }
+}
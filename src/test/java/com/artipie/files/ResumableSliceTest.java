@@ -0,0 +1,337 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.Slice;
+import com.artipie.http.headers.Header;
+import com.artipie.http.hm.RsHasHeaders;
+import com.artipie.http.hm.RsHasStatus;
+import com.artipie.http.hm.SliceHasResponse;
+import com.artipie.http.rq.RequestLine;
+import com.artipie.http.rq.RqMethod;
+import com.artipie.http.rs.RsStatus;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+/**
+ * Test case for {@link ResumableSlice}.
+ * @since 1.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
+final class ResumableSliceTest {
+
+    /**
+     * Upload offset header.
+     */
+    private static final String OFFSET = "Upload-Offset";
+
+    /**
+     * Response status pseudo header.
+     */
+    private static final String STATUS = ":status";
+
+    /**
+     * Storage.
+     */
+    private Storage storage;
+
+    /**
+     * Slice.
+     */
+    private Slice slice;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.slice = new FilesSlice(this.storage);
+    }
+
+    @Test
+    void uploadsFileInSeveralRequests() {
+        final String session = this.created(10);
+        MatcherAssert.assertThat(
+            "Should receive first chunk",
+            this.patch(session, 0, "01234"),
+            Matchers.allOf(
+                Matchers.hasEntry(ResumableSliceTest.STATUS, "204"),
+                Matchers.hasEntry(ResumableSliceTest.OFFSET, "5")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Should report offset",
+            this.send(RqMethod.HEAD, session, Headers.EMPTY, Flowable.empty()),
+            Matchers.allOf(
+                Matchers.hasEntry(ResumableSliceTest.OFFSET, "5"),
+                Matchers.hasEntry("Upload-Length", "10")
+            )
+        );
+        MatcherAssert.assertThat(
+            "Should receive last chunk",
+            this.patch(session, 5, "56789"),
+            Matchers.hasEntry(ResumableSliceTest.OFFSET, "10")
+        );
+        MatcherAssert.assertThat(
+            "Should save file",
+            new PublisherAs(this.storage.value(new Key.From("dir", "file.bin")).join())
+                .asciiString().toCompletableFuture().join(),
+            Matchers.equalTo("0123456789")
+        );
+        MatcherAssert.assertThat(
+            "Should remove session",
+            this.storage.list(new Key.From(".uploads")).join(),
+            Matchers.empty()
+        );
+    }
+
+    @Test
+    void resumesAfterInterruptedRequest() {
+        final String session = this.created(4);
+        this.patch(session, 0, "ab");
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> this.send(
+                RqMethod.PATCH, session,
+                ResumableSliceTest.data(2),
+                Flowable.concat(
+                    Flowable.just(ByteBuffer.wrap("c".getBytes())),
+                    Flowable.error(new IllegalStateException("Connection reset"))
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            "Should keep offset of received data",
+            this.send(RqMethod.HEAD, session, Headers.EMPTY, Flowable.empty()),
+            Matchers.hasEntry(ResumableSliceTest.OFFSET, "3")
+        );
+        this.patch(session, 3, "d");
+        MatcherAssert.assertThat(
+            "Should save file",
+            new PublisherAs(this.storage.value(new Key.From("dir", "file.bin")).join())
+                .asciiString().toCompletableFuture().join(),
+            Matchers.equalTo("abcd")
+        );
+    }
+
+    @Test
+    void rejectsWrongOffset() {
+        MatcherAssert.assertThat(
+            this.patch(this.created(10), 3, "345"),
+            Matchers.hasEntry(ResumableSliceTest.STATUS, "409")
+        );
+    }
+
+    @Test
+    void rejectsDataOverLength() {
+        final String session = this.created(3);
+        MatcherAssert.assertThat(
+            "Should reject data",
+            this.patch(session, 0, "12345"),
+            Matchers.hasEntry(ResumableSliceTest.STATUS, "413")
+        );
+        MatcherAssert.assertThat(
+            "Should not keep rejected data",
+            this.send(RqMethod.HEAD, session, Headers.EMPTY, Flowable.empty()),
+            Matchers.hasEntry(ResumableSliceTest.OFFSET, "0")
+        );
+    }
+
+    @Test
+    void rejectsDataOverLengthWhileReceivingIt() {
+        final String session = this.created(3);
+        MatcherAssert.assertThat(
+            "Should reject data before body completes",
+            this.send(
+                RqMethod.PATCH, session,
+                ResumableSliceTest.data(0),
+                Flowable.concat(
+                    Flowable.just(ByteBuffer.wrap("12".getBytes())),
+                    Flowable.just(ByteBuffer.wrap("34".getBytes())),
+                    Flowable.never()
+                )
+            ),
+            Matchers.hasEntry(ResumableSliceTest.STATUS, "413")
+        );
+        MatcherAssert.assertThat(
+            "Should not keep rejected data",
+            this.send(RqMethod.HEAD, session, Headers.EMPTY, Flowable.empty()),
+            Matchers.hasEntry(ResumableSliceTest.OFFSET, "0")
+        );
+    }
+
+    @Test
+    void rejectsDataOfOtherContentType() {
+        final String session = this.created(3);
+        MatcherAssert.assertThat(
+            "Should reject data",
+            this.send(
+                RqMethod.PATCH, session,
+                new Headers.From(ResumableSliceTest.OFFSET, "0"),
+                Flowable.just(ByteBuffer.wrap("123".getBytes()))
+            ),
+            Matchers.hasEntry(ResumableSliceTest.STATUS, "400")
+        );
+        MatcherAssert.assertThat(
+            "Should not keep rejected data",
+            this.send(RqMethod.HEAD, session, Headers.EMPTY, Flowable.empty()),
+            Matchers.hasEntry(ResumableSliceTest.OFFSET, "0")
+        );
+    }
+
+    @Test
+    void rejectsUnsupportedVersion() {
+        MatcherAssert.assertThat(
+            this.slice,
+            new SliceHasResponse(
+                Matchers.allOf(
+                    new RsHasStatus(RsStatus.BAD_REQUEST),
+                    new RsHasHeaders(
+                        Matchers.equalTo(new Header("Tus-Version", "1.0.0"))
+                    )
+                ),
+                new RequestLine(RqMethod.POST, "/dir/file.bin"),
+                new Headers.From(
+                    new Header("Tus-Resumable", "0.2.2"), new Header("Upload-Length", "3")
+                ),
+                Content.EMPTY
+            )
+        );
+    }
+
+    @Test
+    void servesPlainRequestsWithProtocolHeader() {
+        MatcherAssert.assertThat(
+            "Should upload file",
+            this.send(
+                RqMethod.PUT, "/dir/plain.bin", Headers.EMPTY,
+                Flowable.just(ByteBuffer.wrap("abc".getBytes()))
+            ),
+            Matchers.hasEntry(ResumableSliceTest.STATUS, "201")
+        );
+        MatcherAssert.assertThat(
+            "Should download file",
+            this.send(RqMethod.GET, "/dir/plain.bin", Headers.EMPTY, Flowable.empty()),
+            Matchers.hasEntry(ResumableSliceTest.STATUS, "200")
+        );
+    }
+
+    @Test
+    void requiresUploadLength() {
+        MatcherAssert.assertThat(
+            this.send(RqMethod.POST, "/dir/file.bin", Headers.EMPTY, Flowable.empty()),
+            Matchers.hasEntry(ResumableSliceTest.STATUS, "400")
+        );
+    }
+
+    @Test
+    void terminatesSession() {
+        final String session = this.created(10);
+        this.patch(session, 0, "01234");
+        MatcherAssert.assertThat(
+            "Should terminate session",
+            this.send(RqMethod.DELETE, session, Headers.EMPTY, Flowable.empty()),
+            Matchers.hasEntry(ResumableSliceTest.STATUS, "204")
+        );
+        MatcherAssert.assertThat(
+            "Should not find terminated session",
+            this.send(RqMethod.HEAD, session, Headers.EMPTY, Flowable.empty()),
+            Matchers.hasEntry(ResumableSliceTest.STATUS, "404")
+        );
+    }
+
+    @Test
+    void reportsProtocolOptions() {
+        MatcherAssert.assertThat(
+            this.send(RqMethod.OPTIONS, "/", Headers.EMPTY, Flowable.empty()),
+            Matchers.allOf(
+                Matchers.hasEntry("Tus-Version", "1.0.0"),
+                Matchers.hasEntry("Tus-Extension", "creation,termination")
+            )
+        );
+    }
+
+    /**
+     * Create upload session.
+     * @param length Upload length
+     * @return Session URL
+     */
+    private String created(final long length) {
+        return this.send(
+            RqMethod.POST, "/dir/file.bin",
+            new Headers.From("Upload-Length", String.valueOf(length)), Flowable.empty()
+        ).get("Location");
+    }
+
+    /**
+     * Send data to session.
+     * @param session Session URL
+     * @param offset Data offset
+     * @param data Data
+     * @return Response headers and status
+     */
+    private Map<String, String> patch(final String session, final long offset,
+        final String data) {
+        return this.send(
+            RqMethod.PATCH, session,
+            ResumableSliceTest.data(offset),
+            Flowable.just(ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8)))
+        );
+    }
+
+    /**
+     * Headers of data request.
+     * @param offset Data offset
+     * @return Headers
+     */
+    private static Headers data(final long offset) {
+        return new Headers.From(
+            new Header(ResumableSliceTest.OFFSET, String.valueOf(offset)),
+            new Header("Content-Type", "application/offset+octet-stream")
+        );
+    }
+
+    /**
+     * Send tus request.
+     * @param method Request method
+     * @param uri Request URI
+     * @param headers Request headers
+     * @param body Request body
+     * @return Response headers and status
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    private Map<String, String> send(final RqMethod method, final String uri,
+        final Headers headers, final Publisher<ByteBuffer> body) {
+        final Map<String, String> res = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        this.slice.response(
+            new RequestLine(method, uri).toString(),
+            new Headers.From(headers, "Tus-Resumable", "1.0.0"),
+            body
+        ).send(
+            (status, rsheaders, rsbody) -> {
+                res.put(ResumableSliceTest.STATUS, status.code());
+                rsheaders.forEach(header -> res.put(header.getKey(), header.getValue()));
+                return new PublisherAs(rsbody).bytes().thenAccept(bytes -> { });
+            }
+        ).toCompletableFuture().join();
+        return res;
+    }
+}
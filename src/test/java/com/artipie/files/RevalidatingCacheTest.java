@@ -0,0 +1,330 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import com.artipie.http.Response;
+import com.artipie.http.headers.Header;
+import com.artipie.http.rq.RqHeaders;
+import com.artipie.http.rs.RsFull;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithHeaders;
+import com.artipie.http.rs.RsWithStatus;
+import io.reactivex.Flowable;
+import io.reactivex.processors.UnicastProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link RevalidatingCache}.
+ * @since 1.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings({"PMD.AvoidDuplicateLiterals", "PMD.TooManyMethods"})
+final class RevalidatingCacheTest {
+
+    /**
+     * File key.
+     */
+    private static final Key KEY = new Key.From("file.txt");
+
+    /**
+     * Entity tag of the first version.
+     */
+    private static final String TAG = "\"v1\"";
+
+    /**
+     * Cache storage.
+     */
+    private Storage storage;
+
+    /**
+     * Request headers sent to remote.
+     */
+    private List<Headers> requests;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.requests = new ArrayList<>(2);
+    }
+
+    @Test
+    void servesFreshFileFromCache() {
+        final ProxyCache cache = new RevalidatingCache(
+            this.storage, new Freshness.MaxAge(Duration.ofHours(1))
+        );
+        this.load(cache, this.remote(RevalidatingCacheTest.first()));
+        MatcherAssert.assertThat(
+            "Should serve cached file",
+            this.load(cache, this.remote(new RsWithStatus(RsStatus.INTERNAL_ERROR))),
+            Matchers.equalTo(Optional.of("one"))
+        );
+        MatcherAssert.assertThat(
+            "Should not contact remote",
+            this.requests,
+            Matchers.hasSize(1)
+        );
+    }
+
+    @Test
+    void revalidatesStaleFile() {
+        final ProxyCache cache = new RevalidatingCache(
+            this.storage, new Freshness.MaxAge(Duration.ZERO)
+        );
+        this.load(cache, this.remote(RevalidatingCacheTest.first()));
+        MatcherAssert.assertThat(
+            "Should serve cached file",
+            this.load(cache, this.remote(new RsWithStatus(RsStatus.NOT_MODIFIED))),
+            Matchers.equalTo(Optional.of("one"))
+        );
+        MatcherAssert.assertThat(
+            "Should send conditional request",
+            new RqHeaders(this.requests.get(1), "If-None-Match"),
+            Matchers.contains(RevalidatingCacheTest.TAG)
+        );
+    }
+
+    @Test
+    void replacesModifiedFile() {
+        final ProxyCache cache = new RevalidatingCache(
+            this.storage, new Freshness.MaxAge(Duration.ZERO)
+        );
+        this.load(cache, this.remote(RevalidatingCacheTest.first()));
+        MatcherAssert.assertThat(
+            "Should serve new file",
+            this.load(
+                cache,
+                this.remote(
+                    new RsFull(RsStatus.OK, Headers.EMPTY, new Content.From("two".getBytes()))
+                )
+            ),
+            Matchers.equalTo(Optional.of("two"))
+        );
+        MatcherAssert.assertThat(
+            "Should cache new file",
+            new PublisherAs(this.storage.value(RevalidatingCacheTest.KEY).join())
+                .asciiString().toCompletableFuture().join(),
+            Matchers.equalTo("two")
+        );
+    }
+
+    @Test
+    void doesNotCacheCorruptedFile() {
+        final ProxyCache cache = new RevalidatingCache(
+            this.storage, new Freshness.MaxAge(Duration.ofMinutes(1))
+        );
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> this.load(
+                cache,
+                this.remote(
+                    new RsFull(
+                        RsStatus.OK,
+                        new Headers.From("X-Checksum-Md5", "e2fc714c4727ee9395f324cd2e7f331f"),
+                        new Content.From("one".getBytes())
+                    )
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            this.storage.exists(RevalidatingCacheTest.KEY).join(),
+            Matchers.is(false)
+        );
+    }
+
+    @Test
+    void servesStaleFileWhileRevalidating() {
+        final ProxyCache cache = new RevalidatingCache(
+            this.storage, new Freshness.MaxAge(Duration.ZERO), Duration.ofHours(1)
+        );
+        this.load(cache, this.remote(RevalidatingCacheTest.first()));
+        MatcherAssert.assertThat(
+            "Should serve stale file",
+            this.load(
+                cache,
+                this.remote(
+                    new RsFull(RsStatus.OK, Headers.EMPTY, new Content.From("two".getBytes()))
+                )
+            ),
+            Matchers.equalTo(Optional.of("one"))
+        );
+        MatcherAssert.assertThat(
+            "Should update file in background",
+            Flowable.interval(10, TimeUnit.MILLISECONDS)
+                .map(
+                    num -> new PublisherAs(this.storage.value(RevalidatingCacheTest.KEY).join())
+                        .asciiString().toCompletableFuture().join()
+                )
+                .filter("two"::equals)
+                .firstOrError()
+                .timeout(1, TimeUnit.MINUTES)
+                .blockingGet(),
+            Matchers.equalTo("two")
+        );
+        MatcherAssert.assertThat(
+            "Should send conditional request",
+            new RqHeaders(this.requests.get(1), "If-None-Match"),
+            Matchers.contains(RevalidatingCacheTest.TAG)
+        );
+    }
+
+    @Test
+    void doesNotWaitForBackgroundRevalidation() throws Exception {
+        final ProxyCache cache = new RevalidatingCache(
+            this.storage, new Freshness.MaxAge(Duration.ZERO), Duration.ofHours(1)
+        );
+        this.load(cache, this.remote(RevalidatingCacheTest.first()));
+        final UnicastProcessor<ByteBuffer> body = UnicastProcessor.create();
+        this.load(cache, this.remote(new RsFull(RsStatus.OK, Headers.EMPTY, body)));
+        body.onNext(ByteBuffer.wrap("tw".getBytes()));
+        MatcherAssert.assertThat(
+            "Should serve stale file while new one is written",
+            cache.load(RevalidatingCacheTest.KEY, this.remote(RevalidatingCacheTest.first()))
+                .toCompletableFuture().get(1, TimeUnit.MINUTES).map(
+                    file -> new PublisherAs(file.content()).asciiString()
+                        .toCompletableFuture().join()
+                ),
+            Matchers.equalTo(Optional.of("one"))
+        );
+        MatcherAssert.assertThat(
+            "Should read cached file while new one is written",
+            cache.cached(RevalidatingCacheTest.KEY).toCompletableFuture()
+                .get(1, TimeUnit.MINUTES).isPresent(),
+            Matchers.is(true)
+        );
+        body.onNext(ByteBuffer.wrap("o".getBytes()));
+        body.onComplete();
+        MatcherAssert.assertThat(
+            "Should replace file when it's written",
+            Flowable.interval(10, TimeUnit.MILLISECONDS)
+                .map(
+                    num -> new PublisherAs(this.storage.value(RevalidatingCacheTest.KEY).join())
+                        .asciiString().toCompletableFuture().join()
+                )
+                .filter("two"::equals)
+                .firstOrError()
+                .timeout(1, TimeUnit.MINUTES)
+                .blockingGet(),
+            Matchers.equalTo("two")
+        );
+    }
+
+    @Test
+    void servesStaleFileWhenRemoteFails() {
+        final ProxyCache cache = new RevalidatingCache(
+            this.storage, new Freshness.MaxAge(Duration.ZERO)
+        );
+        this.load(cache, this.remote(RevalidatingCacheTest.first()));
+        MatcherAssert.assertThat(
+            "Should serve stale file on remote error",
+            this.load(cache, this.remote(new RsWithStatus(RsStatus.INTERNAL_ERROR))),
+            Matchers.equalTo(Optional.of("one"))
+        );
+        MatcherAssert.assertThat(
+            "Should serve stale file on remote failure",
+            this.load(
+                cache,
+                headers -> {
+                    throw new IllegalStateException("Connection refused");
+                }
+            ),
+            Matchers.equalTo(Optional.of("one"))
+        );
+    }
+
+    @Test
+    void streamsFileBeforeRemoteCompletes() {
+        final UnicastProcessor<ByteBuffer> body = UnicastProcessor.create();
+        final Optional<ProxiedFile> file = new RevalidatingCache(
+            this.storage, new Freshness.MaxAge(Duration.ofHours(1))
+        ).load(
+            RevalidatingCacheTest.KEY,
+            this.remote(new RsFull(RsStatus.OK, Headers.EMPTY, body))
+        ).toCompletableFuture().join();
+        final TestSubscriber<ByteBuffer> client = Flowable.fromPublisher(file.get().content())
+            .test();
+        body.onNext(ByteBuffer.wrap("first".getBytes()));
+        client.assertValueCount(1).assertNotComplete();
+        MatcherAssert.assertThat(
+            "Should not cache file until it's received",
+            this.storage.exists(RevalidatingCacheTest.KEY).join(),
+            Matchers.is(false)
+        );
+        body.onComplete();
+        client.awaitDone(1, TimeUnit.MINUTES).assertComplete();
+        MatcherAssert.assertThat(
+            "Should cache received file",
+            this.storage.exists(RevalidatingCacheTest.KEY).join(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void returnsEmptyWhenNotFound() {
+        MatcherAssert.assertThat(
+            this.load(
+                new RevalidatingCache(this.storage, new Freshness.MaxAge(Duration.ofHours(1))),
+                this.remote(new RsWithStatus(RsStatus.NOT_FOUND))
+            ),
+            Matchers.equalTo(Optional.empty())
+        );
+    }
+
+    /**
+     * Load file content.
+     * @param cache Cache
+     * @param remote Remote
+     * @return Content string if found
+     */
+    private Optional<String> load(final ProxyCache cache,
+        final Function<Headers, Response> remote) {
+        return cache.load(RevalidatingCacheTest.KEY, remote).toCompletableFuture().join().map(
+            file -> new PublisherAs(file.content()).asciiString()
+                .toCompletableFuture().join()
+        );
+    }
+
+    /**
+     * Remote which records request headers.
+     * @param response Response to return
+     * @return Remote
+     */
+    private Function<Headers, Response> remote(final Response response) {
+        return headers -> {
+            this.requests.add(headers);
+            return response;
+        };
+    }
+
+    /**
+     * First version of file.
+     * @return Response
+     */
+    private static Response first() {
+        return new RsWithHeaders(
+            new RsFull(RsStatus.OK, Headers.EMPTY, new Content.From("one".getBytes())),
+            new Headers.From(new Header("ETag", RevalidatingCacheTest.TAG))
+        );
+    }
+}
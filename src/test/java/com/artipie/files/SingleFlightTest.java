@@ -0,0 +1,95 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link SingleFlight}.
+ * @since 1.0
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class SingleFlightTest {
+
+    @Test
+    void coalescesActionsInFlight() {
+        final SingleFlight<String, String> flights = new SingleFlight<>();
+        final CompletableFuture<String> action = new CompletableFuture<>();
+        final AtomicInteger runs = new AtomicInteger();
+        final CompletionStage<String> first = flights.run(
+            "key",
+            () -> {
+                runs.incrementAndGet();
+                return action;
+            },
+            val -> CompletableFuture.completedFuture("shared")
+        );
+        final CompletionStage<String> second = flights.run(
+            "key",
+            () -> {
+                runs.incrementAndGet();
+                return action;
+            },
+            val -> CompletableFuture.completedFuture(String.format("shared %s", val))
+        );
+        action.complete("value");
+        MatcherAssert.assertThat(
+            "First caller should get result of action",
+            first.toCompletableFuture().join(),
+            Matchers.equalTo("value")
+        );
+        MatcherAssert.assertThat(
+            "Waiting caller should get shared result",
+            second.toCompletableFuture().join(),
+            Matchers.equalTo("shared value")
+        );
+        MatcherAssert.assertThat(
+            "Action should run once",
+            runs.get(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    @Test
+    void runsActionAgainWhenCompleted() {
+        final SingleFlight<String, Integer> flights = new SingleFlight<>();
+        final AtomicInteger runs = new AtomicInteger();
+        flights.run(
+            "one",
+            () -> CompletableFuture.completedFuture(runs.incrementAndGet()),
+            CompletableFuture::completedFuture
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            flights.run(
+                "one",
+                () -> CompletableFuture.completedFuture(runs.incrementAndGet()),
+                CompletableFuture::completedFuture
+            ).toCompletableFuture().join(),
+            Matchers.equalTo(2)
+        );
+    }
+
+    @Test
+    void sharesFailure() {
+        final SingleFlight<String, String> flights = new SingleFlight<>();
+        final CompletableFuture<String> action = new CompletableFuture<>();
+        flights.run("two", () -> action, CompletableFuture::completedFuture);
+        final CompletionStage<String> waiting = flights.run(
+            "two", () -> action, CompletableFuture::completedFuture
+        );
+        action.completeExceptionally(new IllegalStateException("failed"));
+        Assertions.assertThrows(
+            CompletionException.class,
+            () -> waiting.toCompletableFuture().join()
+        );
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Content;
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.ext.PublisherAs;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Headers;
+import io.reactivex.Flowable;
+import io.reactivex.subscribers.TestSubscriber;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link TeeContent}.
+ * @since 1.0
+ * @checkstyle MagicNumberCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class TeeContentTest {
+
+    /**
+     * Target key.
+     */
+    private static final Key KEY = new Key.From("a", "b.txt");
+
+    /**
+     * Storage.
+     */
+    private Storage storage;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+    }
+
+    @Test
+    void savesContentWhileReading() {
+        final CompletableFuture<Void> stored = new CompletableFuture<>();
+        MatcherAssert.assertThat(
+            "Should pass content to reader",
+            new PublisherAs(
+                new TeeContent(this.storage, TeeContentTest.KEY).content(
+                    TeeContentTest.chunks("ab", "cd"), Optional.of(4L), stored
+                )
+            ).asciiString().toCompletableFuture().join(),
+            Matchers.equalTo("abcd")
+        );
+        stored.join();
+        MatcherAssert.assertThat(
+            "Should save content to storage",
+            new PublisherAs(this.storage.value(TeeContentTest.KEY).join())
+                .asciiString().toCompletableFuture().join(),
+            Matchers.equalTo("abcd")
+        );
+        MatcherAssert.assertThat(
+            "Should not keep temporary content",
+            this.storage.list(Key.ROOT).join(),
+            Matchers.contains(TeeContentTest.KEY)
+        );
+    }
+
+    @Test
+    void discardsTruncatedContent() {
+        final CompletableFuture<Void> stored = new CompletableFuture<>();
+        Flowable.fromPublisher(
+            new TeeContent(this.storage, TeeContentTest.KEY).content(
+                TeeContentTest.chunks("ab"), Optional.of(4L), stored
+            )
+        ).ignoreElements().onErrorComplete().blockingAwait();
+        this.assertDiscarded(stored);
+    }
+
+    @Test
+    void discardsCancelledContent() {
+        final CompletableFuture<Void> stored = new CompletableFuture<>();
+        Flowable.fromPublisher(
+            new TeeContent(this.storage, TeeContentTest.KEY).content(
+                TeeContentTest.chunks("ab", "cd"), Optional.empty(), stored
+            )
+        ).take(1).blockingSubscribe();
+        this.assertDiscarded(stored);
+    }
+
+    @Test
+    void savesContentWithMatchingChecksum() {
+        final CompletableFuture<Void> stored = new CompletableFuture<>();
+        new PublisherAs(
+            new TeeContent(this.storage, TeeContentTest.KEY).content(
+                TeeContentTest.chunks("ab", "cd"), Optional.of(4L),
+                new Checksums(
+                    new Headers.From(
+                        "X-Checksum-Sha256",
+                        "88d4266fd4e6338d13b845fcf289579d209c897823b9217da3e161936f031589"
+                    )
+                ),
+                stored
+            )
+        ).asciiString().toCompletableFuture().join();
+        stored.join();
+        MatcherAssert.assertThat(
+            this.storage.exists(TeeContentTest.KEY).join(),
+            Matchers.is(true)
+        );
+    }
+
+    @Test
+    void discardsCorruptedContent() {
+        final CompletableFuture<Void> stored = new CompletableFuture<>();
+        Flowable.fromPublisher(
+            new TeeContent(this.storage, TeeContentTest.KEY).content(
+                TeeContentTest.chunks("ab", "cx"), Optional.of(4L),
+                new Checksums(
+                    new Headers.From("X-Checksum-Sha1", "81fe8bfe87576c3ecb22426f8e57847382917acf")
+                ),
+                stored
+            )
+        ).ignoreElements().onErrorComplete().blockingAwait();
+        this.assertDiscarded(stored);
+    }
+
+    @Test
+    void abandonsWriteWhichFallsBehind() {
+        final CompletableFuture<Void> stored = new CompletableFuture<>();
+        final TestSubscriber<ByteBuffer> writer = new TestSubscriber<>(0L);
+        final Storage stalled = new Storage.Wrap(this.storage) {
+            @Override
+            public CompletableFuture<Void> save(final Key key, final Content content) {
+                content.subscribe(writer);
+                return CompletableFuture.runAsync(writer::awaitTerminalEvent).thenRun(
+                    () -> writer.assertNoErrors()
+                );
+            }
+        };
+        MatcherAssert.assertThat(
+            "Should pass content to reader",
+            new PublisherAs(
+                new TeeContent(stalled, TeeContentTest.KEY, 3L).content(
+                    TeeContentTest.chunks("ab", "cd", "ef"), Optional.of(6L), stored
+                )
+            ).asciiString().toCompletableFuture().join(),
+            Matchers.equalTo("abcdef")
+        );
+        this.assertDiscarded(stored);
+    }
+
+    /**
+     * Check that content was discarded.
+     * @param stored Completion of the write
+     */
+    private void assertDiscarded(final CompletableFuture<Void> stored) {
+        MatcherAssert.assertThat(
+            "Should fail the write",
+            stored.handle((nothing, err) -> err != null).join(),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            "Should not keep any content",
+            this.storage.list(Key.ROOT).join(),
+            Matchers.empty()
+        );
+    }
+
+    /**
+     * Publisher of chunks.
+     * @param chunks Chunks
+     * @return Publisher
+     */
+    private static Flowable<ByteBuffer> chunks(final String... chunks) {
+        return Flowable.fromArray(chunks).map(chunk -> ByteBuffer.wrap(chunk.getBytes()));
+    }
+}
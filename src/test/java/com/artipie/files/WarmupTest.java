@@ -0,0 +1,176 @@
+/*
+ * The MIT License (MIT) Copyright (c) 2020-2022 artipie.com
+ * https://github.com/artipie/files-adapter/blob/master/LICENSE.txt
+ */
+package com.artipie.files;
+
+import com.artipie.asto.Key;
+import com.artipie.asto.Storage;
+import com.artipie.asto.memory.InMemoryStorage;
+import com.artipie.http.Response;
+import com.artipie.http.Slice;
+import com.artipie.http.rq.RequestLineFrom;
+import com.artipie.http.rs.RsStatus;
+import com.artipie.http.rs.RsWithBody;
+import com.artipie.http.rs.RsWithStatus;
+import com.artipie.http.rs.StandardRs;
+import io.reactivex.Completable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Warmup}.
+ * @since 1.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+@SuppressWarnings("PMD.AvoidDuplicateLiterals")
+final class WarmupTest {
+
+    /**
+     * Cache storage.
+     */
+    private Storage storage;
+
+    /**
+     * Requests in flight to remote.
+     */
+    private AtomicInteger running;
+
+    /**
+     * Max requests in flight to remote.
+     */
+    private AtomicInteger max;
+
+    @BeforeEach
+    void setUp() {
+        this.storage = new InMemoryStorage();
+        this.running = new AtomicInteger();
+        this.max = new AtomicInteger();
+    }
+
+    @Test
+    void fetchesFilesToCache() {
+        final Warmup.Report report = new Warmup(this.proxy(), 2).fetch(
+            Arrays.asList("one.jar", "/two.jar", "missing.jar")
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should cache found files",
+            Arrays.asList(
+                this.storage.exists(new Key.From("one.jar")).join(),
+                this.storage.exists(new Key.From("two.jar")).join(),
+                this.storage.exists(new Key.From("missing.jar")).join()
+            ),
+            Matchers.contains(true, true, false)
+        );
+        MatcherAssert.assertThat(
+            "Should report fetched and failed files",
+            Arrays.asList(report.fetched(), report.failed()),
+            Matchers.contains(2, 1)
+        );
+    }
+
+    @Test
+    void limitsConcurrency() {
+        final List<String> paths = new ArrayList<>(10);
+        for (int num = 0; num < 10; num += 1) {
+            paths.add(String.format("file%d.jar", num));
+        }
+        final Warmup.Report report = new Warmup(this.proxy(), 3).fetch(paths)
+            .toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            "Should fetch all files",
+            report.fetched(),
+            Matchers.equalTo(10)
+        );
+        MatcherAssert.assertThat(
+            "Should not exceed concurrency",
+            this.max.get(),
+            Matchers.allOf(Matchers.greaterThan(0), Matchers.lessThanOrEqualTo(3))
+        );
+    }
+
+    @Test
+    void reportsProgress() {
+        final List<String> done = Collections.synchronizedList(new ArrayList<>(2));
+        new Warmup(this.proxy(), 1).fetch(
+            Arrays.asList("a.jar", "missing.jar"),
+            (path, success) -> done.add(String.format("%s:%b", path, success))
+        ).toCompletableFuture().join();
+        MatcherAssert.assertThat(
+            done,
+            Matchers.contains("a.jar:true", "missing.jar:false")
+        );
+    }
+
+    @Test
+    void failsWhenProgressListenerFails() {
+        final CompletableFuture<Warmup.Report> res = new Warmup(this.proxy(), 1).fetch(
+            Collections.singletonList("a.jar"),
+            (path, success) -> {
+                throw new IllegalStateException(path);
+            }
+        ).toCompletableFuture();
+        MatcherAssert.assertThat(
+            Assertions.assertThrows(CompletionException.class, res::join).getCause(),
+            Matchers.instanceOf(IllegalStateException.class)
+        );
+    }
+
+    @Test
+    void readsPathsFromAccessLog() {
+        MatcherAssert.assertThat(
+            new Warmup.AccessLog(
+                Arrays.asList(
+                    "10.0.0.1 - - [10/Oct/2022:13:55:36 +0000] \"GET /a/b.jar HTTP/1.1\" 200 12",
+                    "10.0.0.2 - - [10/Oct/2022:13:55:37 +0000] \"PUT /c.jar HTTP/1.1\" 201 0",
+                    "garbage",
+                    "10.0.0.3 - - [10/Oct/2022:13:55:38 +0000] \"GET /d.pom HTTP/1.1\" 200 5",
+                    "10.0.0.4 - - [10/Oct/2022:13:55:39 +0000] \"GET /a/b.jar HTTP/1.1\" 200 12"
+                )
+            ),
+            Matchers.contains("/a/b.jar", "/d.pom")
+        );
+    }
+
+    /**
+     * Proxy over slow remote which has all files except missing ones.
+     * @return Proxy slice
+     */
+    private Slice proxy() {
+        return new FileProxySlice(
+            (line, headers, body) -> connection -> {
+                final String path = new RequestLineFrom(line).uri().getPath();
+                this.max.accumulateAndGet(this.running.incrementAndGet(), Math::max);
+                final CompletableFuture<Void> res = new CompletableFuture<>();
+                Completable.timer(20, TimeUnit.MILLISECONDS).subscribe(
+                    () -> {
+                        this.running.decrementAndGet();
+                        final Response rsp;
+                        if (path.contains("missing")) {
+                            rsp = new RsWithStatus(RsStatus.NOT_FOUND);
+                        } else {
+                            rsp = new RsWithBody(StandardRs.OK, path, StandardCharsets.UTF_8);
+                        }
+                        rsp.send(connection).thenRun(() -> res.complete(null));
+                    }
+                );
+                return res;
+            },
+            new RevalidatingCache(this.storage, new Freshness.MaxAge(Duration.ZERO))
+        );
+    }
+}